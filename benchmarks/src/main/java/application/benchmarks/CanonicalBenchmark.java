@@ -0,0 +1,72 @@
+package application.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import application.Board;
+import application.Canonicalizer;
+import application.Puzzle;
+import application.PuzzleIndex;
+import application.Sudoku;
+import application.Symmetry;
+
+/**
+ * Benchmarks of the duplicate detection of puzzles: the fingerprint, the
+ * canonical form and the duplicate check of a PuzzleIndex of 1000 puzzles, each on a
+ * random variant of a generated puzzle.
+ * 
+ * @author Benoît
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class CanonicalBenchmark {
+
+	@State(Scope.Thread)
+	public static class Puzzles {
+		Sudoku sudoku = new Sudoku();
+		Puzzle[] puzzles = new Puzzle[1000];
+		PuzzleIndex index = new PuzzleIndex();
+		Canonicalizer canonicalizer = new Canonicalizer();
+		Symmetry symmetry = new Symmetry();
+		SplittableRandom random = new SplittableRandom();
+		Board player = new Board(), board = new Board();
+
+		{
+			for (int i = 0; i < puzzles.length; i++) {
+				puzzles[i] = sudoku.generate();
+				index.add(puzzles[i]);
+			}
+		}
+
+		Puzzle variant() {
+			symmetry.random(random);
+			return symmetry.apply(puzzles[random.nextInt(puzzles.length)]);
+		}
+	}
+
+	@Benchmark
+	public long fingerprint(Puzzles state) {
+		return state.canonicalizer.fingerprint(state.variant());
+	}
+
+	@Benchmark
+	public Board canonicalize(Puzzles state) {
+		state.canonicalizer.canonicalize(state.variant(), state.player, state.board);
+		return state.player;
+	}
+
+	@Benchmark
+	public boolean containsDuplicate(Puzzles state) {
+		return state.index.contains(state.variant());
+	}
+}
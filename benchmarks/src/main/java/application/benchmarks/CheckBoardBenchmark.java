@@ -0,0 +1,64 @@
+package application.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import application.Sudoku;
+
+/**
+ * Benchmarks of checkBoard on a full (valid) and a partial board, against the
+ * original ArrayList implementation.
+ * 
+ * @author Benoît
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+@State(Scope.Thread)
+public class CheckBoardBenchmark {
+
+	@Param({ "full", "partial" })
+	public String grid;
+
+	private Sudoku sudoku;
+	private LegacySudoku legacy;
+	private ArrayList<Integer> board;
+
+	@Setup
+	public void setup() {
+		sudoku = new Sudoku();
+		legacy = new LegacySudoku();
+		sudoku.generateBoard();
+		sudoku.generatePlayer();
+
+		if (grid.equals("full")) {
+			board = new ArrayList<Integer>();
+			for (int i = 0; i < 81; i++) {
+				board.add(sudoku.getPuzzle().getSolution(i));
+			}
+		} else {
+			board = new ArrayList<Integer>(sudoku.getPlayer());
+		}
+	}
+
+	@Benchmark
+	public boolean checkBoard() {
+		return sudoku.checkBoard(board);
+	}
+
+	@Benchmark
+	public boolean legacyCheckBoard() {
+		return legacy.checkBoard(board);
+	}
+}
@@ -0,0 +1,84 @@
+package application.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import application.Sudoku;
+
+/**
+ * Benchmarks of the generation of the uncovered board (generateBoard) and of
+ * the player's board (generatePlayer), against the original ArrayList
+ * implementation. The allocations reported by -prof gc for generatePlayer
+ * include the generation of the board done before every invocation.
+ * 
+ * @author Benoît
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class GenerationBenchmark {
+
+	@State(Scope.Thread)
+	public static class Empty {
+		Sudoku sudoku = new Sudoku();
+		LegacySudoku legacy = new LegacySudoku();
+	}
+
+	@State(Scope.Thread)
+	public static class Generated {
+		Sudoku sudoku = new Sudoku();
+
+		@Setup(Level.Invocation)
+		public void generate() {
+			sudoku.clear();
+			sudoku.generateBoard();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class LegacyGenerated {
+		LegacySudoku legacy = new LegacySudoku();
+
+		@Setup(Level.Invocation)
+		public void generate() {
+			legacy.clear();
+			legacy.generateBoard();
+		}
+	}
+
+	@Benchmark
+	public Sudoku generateBoard(Empty state) {
+		state.sudoku.clear();
+		state.sudoku.generateBoard();
+		return state.sudoku;
+	}
+
+	@Benchmark
+	public LegacySudoku legacyGenerateBoard(Empty state) {
+		state.legacy.clear();
+		state.legacy.generateBoard();
+		return state.legacy;
+	}
+
+	@Benchmark
+	public Sudoku generatePlayer(Generated state) {
+		state.sudoku.generatePlayer();
+		return state.sudoku;
+	}
+
+	@Benchmark
+	public LegacySudoku legacyGeneratePlayer(LegacyGenerated state) {
+		state.legacy.generatePlayer();
+		return state.legacy;
+	}
+}
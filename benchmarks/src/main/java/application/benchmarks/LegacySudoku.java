@@ -1,22 +1,22 @@
+package application.benchmarks;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.Scanner;
 
 /**
- * The class <b>Sudoku</b> builds playable Sudoku game board using a
- * backtracking recursive algorithm. It possess many useful methods for the
- * manipulation of that board. You can also play the game in the command
- * line/terminal by calling the method start(), but I mostly focused on an GUI
- * integration of this game in the Main class.
+ * The class <b>LegacySudoku</b> is a copy of the original Sudoku class, which
+ * represents the boards as ArrayLists of Integer and generates them with a
+ * recursive backtracking algorithm. It is only kept as the baseline of the
+ * benchmarks.
  * 
  * @author Benoît
  *
  */
-public class Sudoku {
+public class LegacySudoku {
 
 	/**
 	 * Keeps track of the values already tried at the specified location in the
@@ -35,9 +35,9 @@ public class Sudoku {
 	private ArrayList<Integer> player;
 
 	/**
-	 * Constructor for Sudoku
+	 * Constructor for LegacySudoku
 	 */
-	public Sudoku() {
+	public LegacySudoku() {
 		clear();
 	}
 
@@ -49,37 +49,12 @@ public class Sudoku {
 	}
 
 	/**
-	 * Command line Sudoku game
+	 * Getter method for the uncovered Sudoku board
+	 * 
+	 * @return an ArrayList containing the uncovered Sudoku board
 	 */
-	public void start() {
-		generateBoard();
-		generatePlayer();
-
-		System.out.println(toString());
-		Scanner sc = new Scanner(System.in);
-
-		while (!checkBoard(player)) {
-			System.out.println(printBoard(player));
-
-			System.out.println("\nPlease enter the row of the number");
-			int row = sc.nextInt();
-			System.out.println("Please enter the column of the number");
-			int col = sc.nextInt();
-			System.out.println("What is the value?");
-			int value = sc.nextInt();
-
-			while (value <= 0 || value > 9) {
-				System.out.println("Invalid value");
-				System.out.println("What is the value?");
-				value = sc.nextInt();
-			}
-
-			player.set(value, (row - 1) * 9 + col - 1);
-		}
-
-		sc.close();
-
-		System.out.println("Sudoku solved!");
+	public ArrayList<Integer> getBoard() {
+		return board;
 	}
 
 	/**
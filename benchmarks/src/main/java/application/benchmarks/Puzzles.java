@@ -0,0 +1,60 @@
+package application.benchmarks;
+
+import application.Board;
+
+/**
+ * The class <b>Puzzles</b> is the fixed corpus of puzzles solved by the
+ * benchmarks.
+ * 
+ * @author Benoît
+ *
+ */
+public final class Puzzles {
+
+	/**
+	 * Solved with singles only (Project Euler problem 96, grid 01)
+	 */
+	public static final String EASY = "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+
+	/**
+	 * Needs a lot of guessing (Arto Inkala, 2012)
+	 */
+	public static final String HARD = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+	/**
+	 * 17 clues, the minimum for a unique solution
+	 */
+	public static final String SEVENTEEN = "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+
+	private Puzzles() {
+	}
+
+	/**
+	 * Returns the puzzle of the corpus with the specified name
+	 * 
+	 * @param name easy, hard or seventeen
+	 * @return the puzzle, in the format of Sudoku.sudokuString
+	 */
+	public static String get(String name) {
+		switch (name) {
+		case "easy":
+			return EASY;
+		case "hard":
+			return HARD;
+		case "seventeen":
+			return SEVENTEEN;
+		default:
+			throw new IllegalArgumentException("Unknown puzzle " + name);
+		}
+	}
+
+	/**
+	 * Returns the board of the puzzle of the corpus with the specified name
+	 * 
+	 * @param name easy, hard or seventeen
+	 * @return the board
+	 */
+	public static Board board(String name) {
+		return Board.parse(get(name));
+	}
+}
@@ -0,0 +1,53 @@
+package application.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import application.BacktrackingSolver;
+import application.Board;
+import application.DancingLinksSolver;
+import application.Solver;
+
+/**
+ * Benchmarks of the uniqueness check (counting up to two solutions) of the
+ * puzzles of the corpus with every solving engine. The original recursive
+ * solve method never worked (StackOverflowError), so it has no baseline.
+ * 
+ * @author Benoît
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+	@Param({ "easy", "hard", "seventeen" })
+	public String puzzle;
+
+	@Param({ "backtracking", "dancingLinks" })
+	public String engine;
+
+	private Solver solver;
+	private Board board;
+
+	@Setup
+	public void setup() {
+		solver = engine.equals("backtracking") ? new BacktrackingSolver() : new DancingLinksSolver();
+		board = Puzzles.board(puzzle);
+	}
+
+	@Benchmark
+	public int countSolutions() {
+		return solver.countSolutions(board, 2);
+	}
+}
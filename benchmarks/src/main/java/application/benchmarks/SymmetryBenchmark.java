@@ -0,0 +1,65 @@
+package application.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import application.Board;
+import application.Puzzle;
+import application.Sudoku;
+import application.Symmetry;
+
+/**
+ * Benchmarks of the making of a new puzzle by a random symmetry of a generated
+ * puzzle, against the generation of a new puzzle.
+ * 
+ * @author Benoît
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class SymmetryBenchmark {
+
+	@State(Scope.Thread)
+	public static class Variants {
+		Sudoku sudoku = new Sudoku();
+		Puzzle puzzle = sudoku.generate();
+		Board player = Board.parse(puzzle.toString()), board = new Board(), variant = new Board(),
+				solution = new Board();
+		Symmetry symmetry = new Symmetry();
+		SplittableRandom random = new SplittableRandom();
+
+		{
+			for (int i = 0; i < Board.SIZE; i++) {
+				board.set(i, puzzle.getSolution(i));
+			}
+		}
+	}
+
+	@Benchmark
+	public Board variant(Variants state) {
+		state.symmetry.random(state.random);
+		state.symmetry.apply(state.player, state.variant);
+		state.symmetry.apply(state.board, state.solution);
+		return state.variant;
+	}
+
+	@Benchmark
+	public Puzzle variantPuzzle(Variants state) {
+		state.symmetry.random(state.random);
+		return state.symmetry.apply(state.puzzle);
+	}
+
+	@Benchmark
+	public Puzzle generate(Variants state) {
+		return state.sudoku.generate();
+	}
+}
@@ -0,0 +1,190 @@
+package application.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import application.Board;
+import application.Puzzle;
+import application.Sudoku;
+
+/**
+ * The class <b>BulkGenerator</b> generates many Sudoku boards in parallel, every
+ * worker having its own Sudoku (and so its own Generator and random values).
+ * The boards are written one per line in the format of sudokuString, so they
+ * can be read back by the other tools. Their ids (see PuzzleId) can be written
+ * to a second output, one per line in the same order, to generate the boards
+ * again instead of storing them.
+ *
+ * The puzzle number n is generated from the seed base + n, so the same base
+ * gives the same puzzles whatever the number of workers, possibly in another
+ * order.
+ *
+ * Usage: <code>java application.cli.BulkGenerator count output [threads] [seed] [ids]</code>
+ *
+ * @author Benoît
+ *
+ */
+public class BulkGenerator {
+
+	/**
+	 * Number of boards generated by a worker before writing them to the output
+	 */
+	private static final int BATCH = 256;
+
+	/**
+	 * Number of workers
+	 */
+	private final int threads;
+
+	/**
+	 * Constructor for BulkGenerator using every available processor
+	 */
+	public BulkGenerator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor for BulkGenerator
+	 *
+	 * @param threads the number of workers
+	 */
+	public BulkGenerator(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Generates the specified number of boards from a random base seed and writes
+	 * them to the output
+	 *
+	 * @param count the number of boards generated
+	 * @param out   where the boards are written, one per line
+	 */
+	public void generate(long count, Writer out) {
+		generate(count, new SplittableRandom().nextLong(), out);
+	}
+
+	/**
+	 * Generates the specified number of boards and writes them to the output
+	 *
+	 * @param count the number of boards generated
+	 * @param base  the seed of the first board, the next ones being base + 1,
+	 *              base + 2...
+	 * @param out   where the boards are written, one per line
+	 */
+	public void generate(long count, long base, Writer out) {
+		generate(count, base, out, null);
+	}
+
+	/**
+	 * Generates the specified number of boards and writes them and their ids to
+	 * the outputs
+	 *
+	 * @param count the number of boards generated
+	 * @param base  the seed of the first board, the next ones being base + 1,
+	 *              base + 2...
+	 * @param out   where the boards are written, one per line
+	 * @param ids   where the ids are written, one per line in the order of the
+	 *              boards, null to write no id
+	 */
+	public void generate(long count, long base, Writer out, Writer ids) {
+		AtomicLong next = new AtomicLong();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+
+		try {
+			ForkJoinTask<?>[] workers = new ForkJoinTask<?>[threads];
+
+			for (int i = 0; i < threads; i++) {
+				workers[i] = pool.submit(() -> work(count, base, next, out, ids));
+			}
+
+			for (ForkJoinTask<?> worker : workers) {
+				worker.join();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Generates batches of boards until the specified number of boards is reached
+	 *
+	 * @param count the total number of boards generated
+	 * @param base  the seed of the first board
+	 * @param next  the number of boards already claimed by the workers
+	 * @param out   where the boards are written, one per line
+	 * @param ids   where the ids are written, null to write no id
+	 */
+	private void work(long count, long base, AtomicLong next, Writer out, Writer ids) {
+		Sudoku sudoku = new Sudoku();
+		StringBuilder sb = new StringBuilder(BATCH * (Board.SIZE + 1));
+		StringBuilder names = new StringBuilder(ids == null ? 0 : BATCH * 24);
+
+		long start;
+		while ((start = next.getAndAdd(BATCH)) < count) {
+			long end = Math.min(count, start + BATCH);
+
+			for (long i = start; i < end; i++) {
+				sudoku.setSeed(base + i);
+				Puzzle puzzle = sudoku.generate();
+
+				sb.append(puzzle).append('\n');
+				if (ids != null) {
+					names.append(puzzle.getId()).append('\n');
+				}
+			}
+
+			// The boards and their ids are written together, in the same order
+			try {
+				synchronized (out) {
+					out.write(sb.toString());
+					if (ids != null) {
+						ids.write(names.toString());
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			sb.setLength(0);
+			names.setLength(0);
+		}
+	}
+
+	/**
+	 * Command line entry point generating boards to a file
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: java application.cli.BulkGenerator count output [threads] [seed] [ids]");
+			System.exit(1);
+		}
+
+		long count = Long.parseLong(args[0]);
+		BulkGenerator generator = args.length > 2 ? new BulkGenerator(Integer.parseInt(args[2]))
+				: new BulkGenerator();
+
+		long start = System.nanoTime();
+
+		long base = args.length > 3 ? Long.parseLong(args[3]) : new SplittableRandom().nextLong();
+
+		try (BufferedWriter out = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.US_ASCII);
+				BufferedWriter ids = args.length > 4
+						? Files.newBufferedWriter(Paths.get(args[4]), StandardCharsets.US_ASCII)
+						: null) {
+			generator.generate(count, base, out, ids);
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Generated %d puzzles in %.2f s (%.0f puzzles/s, %d threads)%n", count, seconds,
+				count / seconds, generator.threads);
+	}
+}
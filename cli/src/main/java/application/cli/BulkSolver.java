@@ -0,0 +1,385 @@
+package application.cli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import application.BacktrackingSolver;
+import application.Board;
+import application.LatencyHistogram;
+
+/**
+ * The class <b>BulkSolver</b> solves a stream of boards, one per line in the
+ * format of sudokuString, and writes one line per board in the same order:
+ * its solution, or <code>invalid</code>, <code>unsolvable</code> or
+ * <code>multiple</code>. Blank lines are skipped.
+ *
+ * The boards are read through a channel in batches, every batch is solved by
+ * a worker with its own solver, and the batches are written back in input
+ * order. At most two batches per worker are in memory, whatever the size of
+ * the input, and the batches are reused once written.
+ *
+ * Usage: <code>java application.cli.BulkSolver input output [threads]</code>,
+ * <code>-</code> standing for the standard input or output
+ *
+ * @author Benoît
+ *
+ */
+public class BulkSolver {
+
+	/**
+	 * Results of a board
+	 */
+	public static final int SOLVED = 0, MULTIPLE = 1, UNSOLVABLE = 2, INVALID = 3;
+
+	/**
+	 * Lines written for every result
+	 */
+	private static final byte[][] RESULTS = { null, bytes("multiple"), bytes("unsolvable"), bytes("invalid") };
+
+	/**
+	 * Number of boards of a batch
+	 */
+	private static final int BATCH = 1024;
+
+	/**
+	 * Size of the read buffer
+	 */
+	private static final int BUFFER = 1 << 16;
+
+	/**
+	 * Solver and board of every worker thread
+	 */
+	private static final ThreadLocal<BacktrackingSolver> SOLVER = ThreadLocal.withInitial(BacktrackingSolver::new);
+	private static final ThreadLocal<Board> BOARD = ThreadLocal.withInitial(Board::new);
+
+	/**
+	 * Number of workers
+	 */
+	private final int threads;
+
+	/**
+	 * Number of boards of every result of the last run
+	 */
+	private final long[] counts = new long[RESULTS.length];
+
+	/**
+	 * Durations of the solves of the last run
+	 */
+	private final LatencyHistogram latencies = new LatencyHistogram();
+
+	/**
+	 * Constructor for BulkSolver using every available processor
+	 */
+	public BulkSolver() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor for BulkSolver
+	 *
+	 * @param threads the number of workers
+	 */
+	public BulkSolver(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Solves every board of the input and writes the results to the output
+	 *
+	 * @param in  where the boards are read, one per line
+	 * @param out where the results are written, one per line
+	 * @throws IOException if the input cannot be read or the output written
+	 */
+	public void solve(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		latencies.clear();
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		ArrayDeque<Batch> free = new ArrayDeque<>();
+		ArrayDeque<Future<Batch>> pending = new ArrayDeque<>();
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+		buffer.flip();
+
+		try {
+			for (int i = 0; i < 2 * threads; i++) {
+				free.add(new Batch());
+			}
+
+			while (true) {
+				Batch batch = free.isEmpty() ? write(pending.poll(), out) : free.poll();
+
+				if (!batch.read(in, buffer)) {
+					free.add(batch);
+					break;
+				}
+				pending.add(pool.submit(batch::solve, batch));
+			}
+
+			while (!pending.isEmpty()) {
+				write(pending.poll(), out);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Waits for a batch to be solved, then writes its results
+	 *
+	 * @param future the batch being solved
+	 * @param out    where the results are written
+	 * @return the batch, ready to be reused
+	 * @throws IOException if the results cannot be written
+	 */
+	private Batch write(Future<Batch> future, WritableByteChannel out) throws IOException {
+		Batch batch;
+		try {
+			batch = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while solving", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Solving failed", e.getCause());
+		}
+
+		ByteBuffer results = ByteBuffer.wrap(batch.output, 0, batch.length);
+		while (results.hasRemaining()) {
+			out.write(results);
+		}
+
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += batch.counts[i];
+		}
+		latencies.add(batch.latencies);
+
+		return batch;
+	}
+
+	/**
+	 * Returns the number of boards with the specified result in the last run
+	 *
+	 * @param result SOLVED, MULTIPLE, UNSOLVABLE or INVALID
+	 * @return the number of boards
+	 */
+	public long count(int result) {
+		return counts[result];
+	}
+
+	/**
+	 * Returns the number of boards of the last run
+	 *
+	 * @return the number of boards
+	 */
+	public long total() {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Getter method for the durations of the solves of the last run
+	 *
+	 * @return the durations, including the parsing of every board
+	 */
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+
+	/**
+	 * Encodes a String in ASCII
+	 *
+	 * @param s the String
+	 * @return its bytes
+	 */
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * The class <b>Batch</b> is a group of boards read, solved and written
+	 * together.
+	 */
+	private static class Batch {
+
+		/**
+		 * The boards, Board.SIZE characters each, and their number
+		 */
+		private final byte[] input = new byte[BATCH * Board.SIZE];
+		private int size;
+
+		/**
+		 * Boards whose line has not the right length
+		 */
+		private final boolean[] malformed = new boolean[BATCH];
+
+		/**
+		 * The lines written and their length
+		 */
+		private final byte[] output = new byte[BATCH * (Board.SIZE + 1)];
+		private int length;
+
+		private final long[] counts = new long[RESULTS.length];
+		private final LatencyHistogram latencies = new LatencyHistogram();
+
+		/**
+		 * Reads the next boards
+		 *
+		 * @param in     where the boards are read
+		 * @param buffer the bytes read but not consumed yet
+		 * @return false if there are no more boards, true otherwise
+		 * @throws IOException if the input cannot be read
+		 */
+		private boolean read(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+			size = 0;
+			int column = 0;
+
+			while (size < BATCH) {
+				if (!buffer.hasRemaining()) {
+					buffer.clear();
+					int read = in.read(buffer);
+					buffer.flip();
+
+					if (read < 0) {
+						// Last line without a line break
+						if (column > 0) {
+							malformed[size++] = column != Board.SIZE;
+						}
+						break;
+					}
+					continue;
+				}
+
+				byte c = buffer.get();
+				if (c == '\n') {
+					if (column > 0) {
+						malformed[size++] = column != Board.SIZE;
+					}
+					column = 0;
+				} else if (c != '\r' && c != ' ' && c != '\t') {
+					if (column < Board.SIZE) {
+						input[size * Board.SIZE + column] = c;
+					}
+					column++;
+				}
+			}
+
+			return size > 0;
+		}
+
+		/**
+		 * Solves the boards and builds the lines written
+		 */
+		private void solve() {
+			BacktrackingSolver solver = SOLVER.get();
+			Board board = BOARD.get();
+
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = 0;
+			}
+			latencies.clear();
+			length = 0;
+
+			for (int n = 0; n < size; n++) {
+				long start = System.nanoTime();
+				int result = solve(solver, board, n);
+				latencies.record(System.nanoTime() - start);
+				counts[result]++;
+
+				if (result == SOLVED) {
+					for (int i = 0; i < Board.SIZE; i++) {
+						output[length++] = (byte) ('0' + solver.getSolution(i));
+					}
+				} else {
+					System.arraycopy(RESULTS[result], 0, output, length, RESULTS[result].length);
+					length += RESULTS[result].length;
+				}
+				output[length++] = '\n';
+			}
+		}
+
+		/**
+		 * Parses and solves a board
+		 *
+		 * @param solver the solver of the worker
+		 * @param board  the board of the worker
+		 * @param n      the number of the board in the batch
+		 * @return the result of the board
+		 */
+		private int solve(BacktrackingSolver solver, Board board, int n) {
+			if (malformed[n]) {
+				return INVALID;
+			}
+
+			int base = n * Board.SIZE;
+			for (int i = 0; i < Board.SIZE; i++) {
+				byte c = input[base + i];
+
+				if (c == '.' || c == '0') {
+					board.set(i, 0);
+				} else if (c >= '1' && c <= '9') {
+					board.set(i, c - '0');
+				} else {
+					return INVALID;
+				}
+			}
+
+			if (!board.isValid()) {
+				return INVALID;
+			}
+
+			switch (solver.countSolutions(board, 2)) {
+			case 0:
+				return UNSOLVABLE;
+			case 1:
+				return SOLVED;
+			default:
+				return MULTIPLE;
+			}
+		}
+	}
+
+	/**
+	 * Command line entry point solving the boards of a file
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: java application.cli.BulkSolver input output [threads]");
+			System.exit(1);
+		}
+
+		BulkSolver solver = args.length > 2 ? new BulkSolver(Integer.parseInt(args[2])) : new BulkSolver();
+
+		long start = System.nanoTime();
+
+		try (ReadableByteChannel in = args[0].equals("-") ? Channels.newChannel(System.in)
+				: FileChannel.open(Paths.get(args[0]), StandardOpenOption.READ);
+				WritableByteChannel out = args[1].equals("-") ? Channels.newChannel(System.out)
+						: FileChannel.open(Paths.get(args[1]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+								StandardOpenOption.TRUNCATE_EXISTING)) {
+			solver.solve(in, out);
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long total = solver.total();
+		System.err.printf("Solved %d puzzles in %.2f s (%.0f puzzles/s, %d threads)%n", total, seconds,
+				total / seconds, solver.threads);
+		System.err.printf("%d solved, %d multiple, %d unsolvable, %d invalid%n", solver.count(SOLVED),
+				solver.count(MULTIPLE), solver.count(UNSOLVABLE), solver.count(INVALID));
+		System.err.println("Latency " + solver.getLatencies());
+	}
+}
@@ -0,0 +1,448 @@
+package application.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import application.Board;
+import application.Difficulty;
+import application.GameState;
+import application.Grid;
+import application.GridGenerator;
+import application.MoveLog;
+import application.Puzzle;
+import application.PuzzleFile;
+import application.PuzzleFileWriter;
+import application.PuzzleId;
+import application.PuzzleIndex;
+import application.Reducer;
+import application.SudokuEngine;
+import application.Symmetry;
+import application.Technique;
+
+/**
+ * The class <b>Cli</b> is the command line interface of the headless engine.
+ * The boards are read from the standard input, one per line in the format of
+ * Sudoku.sudokuString, and the results are written to the standard output.
+ *
+ * <pre>
+ * generate count output [threads] [seed] [ids]
+ *                                  generates puzzles to a file, and their ids to
+ *                                  another one (BulkGenerator)
+ * grid box [count]                 generates puzzles of another block size (4 for
+ *                                  16x16, 5 for 25x25) with their id and solution
+ * regenerate                       prints the puzzle and the solution of every id
+ * rated difficulty [count]         generates puzzles of a difficulty (easy,
+ *                                  medium, hard or expert)
+ * minimal [clues] [pattern] [count] generates puzzles by removing clues while the
+ *                                  solution stays unique, down to the number of
+ *                                  clues (default minimal) with the pattern (none,
+ *                                  rotational, mirror or quarter)
+ * solve                            prints the solution of every board
+ * bulksolve input output [threads] solves the boards of a file in parallel (BulkSolver)
+ * count [limit]                    prints the number of solutions (default limit 2)
+ * rate                             prints the number of boards visited to solve it
+ * difficulty                       prints the difficulty of every board and the
+ *                                  hardest technique it needs
+ * validate                         prints true if the board is a valid puzzle
+ * variants [count]                 prints variants of every valid puzzle made by
+ *                                  random symmetries (default count 10)
+ * dedup index                      prints the valid puzzles that are not in the
+ *                                  index file, even as a variant, and adds them
+ * pack output [solution]           writes the boards to a packed binary file,
+ *                                  solving them to store their solution
+ * unpack input [first] [count]     prints the boards of a packed binary file
+ * replay game                      prints the moves of a saved game with their
+ *                                  time, then its board
+ * </pre>
+ *
+ * @author Benoît
+ *
+ */
+public class Cli {
+
+	/**
+	 * Main method of the command line interface
+	 */
+	public static void main(String[] args) throws IOException {
+		// Rejected before the standard input is read
+		if (!accepts(args)) {
+			usage();
+		}
+
+		if (args[0].equals("generate")) {
+			BulkGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		} else if (args[0].equals("grid")) {
+			grid(args);
+			return;
+		} else if (args[0].equals("regenerate")) {
+			regenerate();
+			return;
+		} else if (args[0].equals("rated")) {
+			rated(args);
+			return;
+		} else if (args[0].equals("minimal")) {
+			minimal(args);
+			return;
+		} else if (args[0].equals("bulksolve")) {
+			BulkSolver.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		} else if (args[0].equals("unpack")) {
+			unpack(args);
+			return;
+		} else if (args[0].equals("replay")) {
+			replay(args);
+			return;
+		}
+
+		SudokuEngine engine = new SudokuEngine();
+		int limit = args[0].equals("count") && args.length > 1 ? Integer.parseInt(args[1]) : 2;
+		long variants = args[0].equals("variants") && args.length > 1 ? Long.parseLong(args[1]) : 10;
+		SplittableRandom random = new SplittableRandom();
+
+		PuzzleFileWriter writer = null;
+		if (args[0].equals("pack")) {
+			writer = new PuzzleFileWriter(Paths.get(args[1]), args.length > 2 && args[2].equals("solution"));
+		}
+
+		Path path = null;
+		PuzzleIndex index = null;
+		if (args[0].equals("dedup")) {
+			path = Paths.get(args[1]);
+			index = Files.exists(path) ? PuzzleIndex.load(path) : new PuzzleIndex();
+		}
+
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+		PrintWriter out = new PrintWriter(
+				new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII)));
+
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+
+			Board board;
+			try {
+				board = Board.parse(line);
+			} catch (IllegalArgumentException e) {
+				out.println("invalid: " + e.getMessage());
+				continue;
+			}
+
+			switch (args[0]) {
+			case "solve":
+				Board solution = engine.solve(board);
+				out.println(solution == null ? "unsolvable" : solution.toString());
+				break;
+			case "count":
+				out.println(engine.count(board, limit));
+				break;
+			case "rate":
+				out.println(engine.rate(board));
+				break;
+			case "difficulty":
+				Difficulty difficulty = engine.difficulty(board);
+				Technique technique = engine.hardestTechnique();
+				if (technique != null) {
+					out.println(difficulty.getName() + " " + technique.getName());
+				} else {
+					out.println(difficulty.getName() + (difficulty == Difficulty.EXPERT ? " guessing" : " none"));
+				}
+				break;
+			case "validate":
+				out.println(engine.validate(board));
+				break;
+			case "variants":
+				if (!engine.validate(board)) {
+					out.println("invalid: not a puzzle with a unique solution");
+					break;
+				}
+				Symmetry.variants(new Puzzle(board, engine.solve(board)), random).limit(variants)
+						.forEach(out::println);
+				break;
+			case "dedup":
+				if (!engine.validate(board)) {
+					out.println("invalid: not a puzzle with a unique solution");
+				} else if (index.add(new Puzzle(board, engine.solve(board)))) {
+					out.println(board);
+				}
+				break;
+			case "pack":
+				pack(engine, writer, board, out);
+				break;
+			default:
+				usage();
+			}
+		}
+
+		if (writer != null) {
+			writer.close();
+			out.println("Packed " + writer.count() + " boards");
+		}
+
+		if (index != null) {
+			index.save(path);
+			System.err.println(index.size() + " puzzles in " + path);
+		}
+
+		out.flush();
+	}
+
+	/**
+	 * Checks the subcommand and its required arguments
+	 * 
+	 * @param args the arguments of the command line
+	 * @return true if the subcommand is known and has its required arguments,
+	 *         false otherwise
+	 */
+	static boolean accepts(String[] args) {
+		if (args.length == 0) {
+			return false;
+		}
+
+		switch (args[0]) {
+		case "regenerate":
+		case "minimal":
+		case "solve":
+		case "count":
+		case "rate":
+		case "difficulty":
+		case "validate":
+		case "variants":
+			return true;
+		case "grid":
+		case "rated":
+		case "dedup":
+		case "pack":
+		case "unpack":
+		case "replay":
+			return args.length > 1;
+		case "generate":
+		case "bulksolve":
+			return args.length > 2;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Writes a board to a packed binary file
+	 * 
+	 * @param engine the engine solving the board if its solution is stored
+	 * @param writer the packed binary file
+	 * @param board  the board written
+	 * @param out    where the unsolvable boards are reported
+	 */
+	private static void pack(SudokuEngine engine, PuzzleFileWriter writer, Board board, PrintWriter out)
+			throws IOException {
+		if (!writer.hasSolution()) {
+			writer.write(board);
+			return;
+		}
+
+		Board solution = engine.solve(board);
+		if (solution == null) {
+			out.println("unsolvable: " + board);
+		} else {
+			writer.write(new Puzzle(board, solution));
+		}
+	}
+
+	/**
+	 * Prints puzzles of any block size, one per line with their id and solution
+	 * 
+	 * @param args grid, the block size and the number of puzzles
+	 */
+	private static void grid(String[] args) {
+		int box = Integer.parseInt(args[1]);
+		long count = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		GridGenerator generator = new GridGenerator(box);
+		Grid grid = new Grid(box), player = new Grid(box);
+		SplittableRandom seeds = new SplittableRandom();
+
+		for (long n = 0; n < count; n++) {
+			PuzzleId id = new PuzzleId(seeds.nextLong(), box, 0);
+			generator.generate(id, grid, player);
+			System.out.println(id + " " + player + " " + grid);
+		}
+	}
+
+	/**
+	 * Prints puzzles of a difficulty, one per line with their solution
+	 * 
+	 * @param args rated, the difficulty and the number of puzzles
+	 */
+	private static void rated(String[] args) {
+		Difficulty difficulty = Difficulty.parse(args[1]);
+		long count = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		SudokuEngine engine = new SudokuEngine();
+
+		for (long n = 0; n < count; n++) {
+			Puzzle puzzle = engine.generate(difficulty);
+			StringBuilder solution = new StringBuilder(Board.SIZE);
+			for (int i = 0; i < Board.SIZE; i++) {
+				solution.append(puzzle.getSolution(i));
+			}
+			System.out.println(puzzle + " " + solution);
+		}
+	}
+
+	/**
+	 * Prints puzzles made by removing clues, one per line with their number of
+	 * clues
+	 * 
+	 * @param args minimal, the number of clues, the pattern and the number of
+	 *             puzzles
+	 */
+	private static void minimal(String[] args) {
+		int clues = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+		Reducer.Pattern pattern = args.length > 2 ? Reducer.Pattern.parse(args[2]) : Reducer.Pattern.NONE;
+		long count = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+		SudokuEngine engine = new SudokuEngine();
+
+		for (long n = 0; n < count; n++) {
+			Puzzle puzzle = engine.generateMinimal(clues, pattern);
+			System.out.println(puzzle + " " + puzzle.getClues());
+		}
+	}
+
+	/**
+	 * Generates again the puzzles of the ids read from the standard input, and
+	 * prints them one per line followed by their solution
+	 */
+	private static void regenerate() throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+		PrintWriter out = new PrintWriter(
+				new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII)));
+
+		SudokuEngine engine = new SudokuEngine();
+		GridGenerator[] generators = new GridGenerator[Grid.MAX_BOX + 1];
+
+		String line;
+		while ((line = in.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+
+			try {
+				PuzzleId id = PuzzleId.parse(line);
+
+				if (id.getBox() == 3) {
+					Puzzle puzzle = engine.generate(id);
+					out.print(puzzle + " ");
+					for (int i = 0; i < Board.SIZE; i++) {
+						out.print(puzzle.getSolution(i));
+					}
+					out.println();
+				} else {
+					if (generators[id.getBox()] == null) {
+						generators[id.getBox()] = new GridGenerator(id.getBox());
+					}
+
+					Grid grid = new Grid(id.getBox()), player = new Grid(id.getBox());
+					generators[id.getBox()].generate(id, grid, player);
+					out.println(player + " " + grid);
+				}
+			} catch (IllegalArgumentException e) {
+				out.println("invalid: " + e.getMessage());
+			}
+		}
+
+		out.flush();
+	}
+
+	/**
+	 * Prints the boards of a packed binary file, one per line
+	 * 
+	 * @param args unpack, the file, the number of the first board and the number
+	 *             of boards printed
+	 */
+	private static void unpack(String[] args) throws IOException {
+		PrintWriter out = new PrintWriter(
+				new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII)));
+
+		try (PuzzleFile file = new PuzzleFile(Paths.get(args[1]))) {
+			long first = args.length > 2 ? Long.parseLong(args[2]) : 0;
+			long end = args.length > 3 ? Math.min(file.size(), first + Long.parseLong(args[3])) : file.size();
+			Board board = new Board();
+
+			for (long n = first; n < end; n++) {
+				file.read(n, board);
+				out.println(board);
+			}
+		}
+
+		out.flush();
+	}
+
+	/**
+	 * Prints the moves of a saved game, one per line with the time of the game in
+	 * seconds, the location and the previous and new values, then the board at
+	 * the move where the game was saved
+	 * 
+	 * @param args replay and the file of the saved game
+	 */
+	private static void replay(String[] args) throws IOException {
+		PrintWriter out = new PrintWriter(
+				new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII)));
+
+		GameState game = GameState.load(Paths.get(args[1]));
+		MoveLog moves = game.getMoves();
+		long time = 0;
+
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			int num = MoveLog.cell(move);
+			time += MoveLog.delay(move);
+
+			out.printf("%d.%02d r%dc%d %d -> %d%s%s%n", time / 1000, time % 1000 / 10, num / 9 + 1, num % 9 + 1,
+					MoveLog.oldValue(move), MoveLog.newValue(move), MoveLog.isLinked(move) ? " linked" : "",
+					i < moves.position() ? "" : " undone");
+		}
+
+		Board board = new Board();
+		for (int i = 0; i < Board.SIZE; i++) {
+			board.set(i, game.get(i));
+		}
+		out.println(board);
+		out.println("Time: " + game.getElapsed() / 1000 + " s, " + moves.position() + " of " + moves.size()
+				+ " moves played" + (game.isSolved() ? ", solved" : ""));
+
+		out.flush();
+	}
+
+	/**
+	 * Prints the usage and exits
+	 */
+	private static void usage() {
+		System.err.println("Usage: java -jar sudoku-cli.jar generate count output [threads] [seed] [ids]");
+		System.err.println("       java -jar sudoku-cli.jar grid box [count]");
+		System.err.println("       java -jar sudoku-cli.jar regenerate < ids");
+		System.err.println("       java -jar sudoku-cli.jar rated difficulty [count]");
+		System.err.println("       java -jar sudoku-cli.jar minimal [clues] [pattern] [count]");
+		System.err.println("       java -jar sudoku-cli.jar bulksolve input output [threads]");
+		System.err.println("       java -jar sudoku-cli.jar solve|count [limit]|rate|difficulty|validate < boards");
+		System.err.println("       java -jar sudoku-cli.jar variants [count] < boards");
+		System.err.println("       java -jar sudoku-cli.jar dedup index < boards");
+		System.err.println("       java -jar sudoku-cli.jar pack output [solution] < boards");
+		System.err.println("       java -jar sudoku-cli.jar unpack input [first] [count]");
+		System.err.println("       java -jar sudoku-cli.jar replay game");
+		System.exit(1);
+	}
+}
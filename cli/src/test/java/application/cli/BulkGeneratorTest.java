@@ -0,0 +1,93 @@
+package application.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import application.BacktrackingSolver;
+import application.Board;
+import application.PuzzleId;
+import application.Sudoku;
+
+/**
+ * Tests of the puzzles and ids written by the BulkGenerator.
+ *
+ * @author Benoît
+ *
+ */
+class BulkGeneratorTest {
+
+	@Test
+	void writesTheCountOfUniquePuzzles() {
+		StringWriter out = new StringWriter();
+		new BulkGenerator(4).generate(600, out);
+
+		String[] lines = out.toString().split("\n");
+		BacktrackingSolver solver = new BacktrackingSolver();
+
+		// More than two batches, split over the workers
+		assertEquals(600, lines.length);
+		for (String line : lines) {
+			assertEquals(Board.SIZE, line.length(), line);
+			assertEquals(1, solver.countSolutions(Board.parse(line), 2), line);
+		}
+	}
+
+	@Test
+	void idsGenerateThePuzzlesAgain() {
+		StringWriter out = new StringWriter(), ids = new StringWriter();
+		new BulkGenerator(3).generate(300, 42, out, ids);
+
+		String[] lines = out.toString().split("\n"), names = ids.toString().split("\n");
+		Sudoku sudoku = new Sudoku();
+
+		// The ids are in the order of the puzzles
+		assertEquals(300, names.length);
+		for (int i = 0; i < lines.length; i++) {
+			assertEquals(lines[i], sudoku.generate(PuzzleId.parse(names[i])).toString());
+		}
+	}
+
+	@Test
+	void puzzlesAreReadByTheBulkSolver() throws IOException {
+		StringWriter out = new StringWriter();
+		new BulkGenerator(2).generate(300, 3, out);
+
+		BulkSolver solver = new BulkSolver(2);
+		solver.solve(Channels.newChannel(new ByteArrayInputStream(out.toString().getBytes(StandardCharsets.US_ASCII))),
+				Channels.newChannel(new ByteArrayOutputStream()));
+
+		assertEquals(300, solver.total());
+		assertEquals(300, solver.count(BulkSolver.SOLVED));
+	}
+
+	@Test
+	void sameBaseGivesSamePuzzles() {
+		StringWriter one = new StringWriter(), four = new StringWriter();
+		new BulkGenerator(1).generate(600, 7, one);
+		new BulkGenerator(4).generate(600, 7, four);
+
+		// The batches of the workers are written in the order they end
+		String[] a = one.toString().split("\n"), b = four.toString().split("\n");
+		Arrays.sort(a);
+		Arrays.sort(b);
+		assertArrayEquals(a, b);
+	}
+
+	@Test
+	void writesNothingForNoPuzzle() {
+		StringWriter out = new StringWriter();
+		new BulkGenerator(2).generate(0, out);
+
+		assertEquals("", out.toString());
+	}
+}
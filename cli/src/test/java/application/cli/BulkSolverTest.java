@@ -0,0 +1,75 @@
+package application.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the lines written by the BulkSolver.
+ *
+ * @author Benoît
+ *
+ */
+class BulkSolverTest {
+
+	private static final String EASY = "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+	private static final String EASY_SOLUTION = "483921657967345821251876493548132976729564138136798245372689514814253769695417382";
+	private static final String TWO = "4.3921.579.7345.21251876493548132976729564138136798245372689514814253769695417382";
+	private static final String UNSOLVABLE = "503020600900305001001806400008102900700000008006708200002609500800203009005010300";
+	private static final String DUPLICATE = "33.020600900305001001806400008102900700000008006708200002609500800203009005010300";
+
+	/**
+	 * Solves lines with a BulkSolver
+	 *
+	 * @param solver the solver
+	 * @param input  the lines read
+	 * @return the lines written
+	 * @throws IOException never, the channels are in memory
+	 */
+	private static String solve(BulkSolver solver, String input) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		solver.solve(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+				Channels.newChannel(out));
+		return out.toString(StandardCharsets.US_ASCII);
+	}
+
+	@Test
+	void writesOneResultPerBoard() throws IOException {
+		BulkSolver solver = new BulkSolver(2);
+		String input = EASY + "\n" + TWO + "\r\n\n" + UNSOLVABLE + "\n" + DUPLICATE + "\n" + "123\n"
+				+ EASY.replace('6', 'x') + "\n" + EASY;
+
+		String[] lines = solve(solver, input).split("\n");
+
+		assertArrayEquals(new String[] { EASY_SOLUTION, "multiple", "unsolvable", "invalid", "invalid", "invalid",
+				EASY_SOLUTION }, lines);
+		assertEquals(2, solver.count(BulkSolver.SOLVED));
+		assertEquals(1, solver.count(BulkSolver.MULTIPLE));
+		assertEquals(1, solver.count(BulkSolver.UNSOLVABLE));
+		assertEquals(3, solver.count(BulkSolver.INVALID));
+		assertEquals(7, solver.total());
+		assertEquals(7, solver.getLatencies().count());
+	}
+
+	@Test
+	void keepsTheOrderOfManyBatches() throws IOException {
+		BulkSolver solver = new BulkSolver(4);
+		StringBuilder input = new StringBuilder(), expected = new StringBuilder();
+
+		for (int i = 0; i < 5000; i++) {
+			boolean easy = i % 3 != 0;
+			input.append(easy ? EASY : TWO).append('\n');
+			expected.append(easy ? EASY_SOLUTION : "multiple").append('\n');
+		}
+
+		assertEquals(expected.toString(), solve(solver, input.toString()));
+		assertEquals(5000, solver.total());
+	}
+}
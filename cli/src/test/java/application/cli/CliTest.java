@@ -0,0 +1,44 @@
+package application.cli;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the command lines accepted by the Cli before reading its input.
+ *
+ * @author Benoît
+ *
+ */
+class CliTest {
+
+	@Test
+	void unknownSubcommandsAreRejected() {
+		assertFalse(Cli.accepts(new String[0]));
+		assertFalse(Cli.accepts(new String[] { "bogus" }));
+		assertFalse(Cli.accepts(new String[] { "Solve" }));
+	}
+
+	@Test
+	void missingArgumentsAreRejected() {
+		for (String command : new String[] { "grid", "rated", "dedup", "pack", "unpack", "replay" }) {
+			assertFalse(Cli.accepts(new String[] { command }), command);
+			assertTrue(Cli.accepts(new String[] { command, "x" }), command);
+		}
+
+		assertFalse(Cli.accepts(new String[] { "generate", "10" }));
+		assertTrue(Cli.accepts(new String[] { "generate", "10", "out.txt" }));
+		assertFalse(Cli.accepts(new String[] { "bulksolve", "-" }));
+		assertTrue(Cli.accepts(new String[] { "bulksolve", "-", "-" }));
+	}
+
+	@Test
+	void optionalArgumentsMayBeLeftOut() {
+		for (String command : new String[] { "regenerate", "minimal", "solve", "count", "rate", "difficulty",
+				"validate", "variants" }) {
+			assertTrue(Cli.accepts(new String[] { command }), command);
+		}
+		assertTrue(Cli.accepts(new String[] { "count", "5" }));
+	}
+}
@@ -0,0 +1,123 @@
+package application;
+
+/**
+ * The class <b>BacktrackingSolver</b> solves Sudoku boards by filling the
+ * naked singles (locations with a single candidate) and the hidden singles
+ * (numbers with a single location in a row, column or block), then tries the
+ * candidates of the most constrained location (see CandidateSearch, shared
+ * with GridSolver). The search is iterative and every depth has its own
+ * preallocated copy of the candidates, so solving does not allocate anything.
+ *
+ * @author Benoît
+ *
+ */
+public class BacktrackingSolver implements Solver {
+
+	/**
+	 * Search over the tables of Board
+	 */
+	private final CandidateSearch search = new CandidateSearch(Board.ALL, Board.UNITS, Board.PEERS);
+
+	/**
+	 * Number of boards visited by the last search
+	 */
+	private long nodes;
+
+	@Override
+	public int countSolutions(Board puzzle, int limit) {
+		return search(puzzle, limit, -1, 0);
+	}
+
+	@Override
+	public boolean solve(Board puzzle) {
+		if (search(puzzle, 1, -1, 0) == 0) {
+			return false;
+		}
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			puzzle.set(i, search.getSolution(i));
+		}
+
+		return true;
+	}
+
+	@Override
+	public int getSolution(int num) {
+		return search.getSolution(num);
+	}
+
+	/**
+	 * Getter method for the number of boards visited by the last search
+	 *
+	 * @return the number of boards visited
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Checks if the puzzle has a solution without a value at a location, which is
+	 * how Reducer verifies that removing a clue keeps the solution unique
+	 *
+	 * @param puzzle the Sudoku board to solve, left unchanged
+	 * @param num    the empty location of the excluded value
+	 * @param digit  the excluded value
+	 * @return true if a solution has another value at num, false otherwise
+	 */
+	boolean hasSolutionWithout(Board puzzle, int num, int digit) {
+		return search(puzzle, 1, num, digit) != 0;
+	}
+
+	/**
+	 * Iterative search counting the solutions of the puzzle
+	 *
+	 * @param puzzle   the Sudoku board to solve
+	 * @param limit    the maximum number of solutions counted
+	 * @param excluded the empty location where a value is excluded, -1 if none
+	 * @param digit    the value excluded at that location
+	 * @return the number of solutions found, at most limit
+	 */
+	private int search(Board puzzle, int limit, int excluded, int digit) {
+		int count = explore(puzzle, limit, excluded, digit);
+
+		if (EngineMetrics.ENABLED) {
+			EngineMetrics.searched(nodes);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Counts the solutions of the puzzle, see search
+	 *
+	 * @param puzzle   the Sudoku board to solve
+	 * @param limit    the maximum number of solutions counted
+	 * @param excluded the empty location where a value is excluded, -1 if none
+	 * @param digit    the value excluded at that location
+	 * @return the number of solutions found, at most limit
+	 */
+	private int explore(Board puzzle, int limit, int excluded, int digit) {
+		nodes = 0;
+
+		if (!puzzle.isValid()) {
+			return 0;
+		}
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			int value = puzzle.get(i);
+			search.set(i, value, value == 0 ? puzzle.candidates(i) : 0);
+		}
+		if (excluded != -1) {
+			int candidates = puzzle.candidates(excluded) & ~Board.bit(digit);
+			if (candidates == 0) {
+				return 0;
+			}
+			search.set(excluded, 0, candidates);
+		}
+
+		int count = search.search(limit, null, Long.MAX_VALUE);
+		nodes = search.getNodes();
+
+		return count;
+	}
+}
@@ -0,0 +1,469 @@
+package application;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The class <b>Board</b> is a compact representation of a Sudoku board. The
+ * values are stored in a byte array and every row, column and block keeps a
+ * 9-bit mask of the numbers it contains, updated on every change, so finding
+ * the candidates of an element only takes a few bit operations.
+ *
+ * Bit <code>n - 1</code> of a mask represents the number <code>n</code>.
+ *
+ * @author Benoît
+ *
+ */
+public class Board {
+
+	/**
+	 * Number of elements in a Sudoku board
+	 */
+	public static final int SIZE = 81;
+
+	/**
+	 * Mask containing every number from 1 to 9
+	 */
+	public static final int ALL = 0x1FF;
+
+	/**
+	 * Row, column and block number of every location of the board
+	 */
+	static final int[] ROW = new int[SIZE], COL = new int[SIZE], BLOCK = new int[SIZE];
+
+	/**
+	 * Locations of the elements of every unit, the rows are 0 to 8, the columns
+	 * 9 to 17 and the blocks 18 to 26
+	 */
+	static final int[][] UNITS = new int[27][9];
+
+	/**
+	 * Locations of the 20 neighbours (same row, column or block) of every location
+	 */
+	static final int[][] PEERS = new int[SIZE][20];
+
+	static {
+		int[] filled = new int[27];
+
+		for (int i = 0; i < SIZE; i++) {
+			ROW[i] = i / 9;
+			COL[i] = i % 9;
+			BLOCK[i] = ROW[i] / 3 * 3 + COL[i] / 3;
+
+			UNITS[ROW[i]][filled[ROW[i]]++] = i;
+			UNITS[9 + COL[i]][filled[9 + COL[i]]++] = i;
+			UNITS[18 + BLOCK[i]][filled[18 + BLOCK[i]]++] = i;
+		}
+
+		for (int i = 0; i < SIZE; i++) {
+			int count = 0;
+
+			for (int j = 0; j < SIZE; j++) {
+				if (i != j && (ROW[i] == ROW[j] || COL[i] == COL[j] || BLOCK[i] == BLOCK[j])) {
+					PEERS[i][count++] = j;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Values of the board, 0 being an empty location
+	 */
+	private final byte[] cells = new byte[SIZE];
+
+	/**
+	 * Number of appearance of every number in every unit (unit * 9 + number - 1)
+	 */
+	private final byte[] counts = new byte[27 * 9];
+
+	/**
+	 * Numbers present in every unit
+	 */
+	private final int[] masks = new int[27];
+
+	/**
+	 * Number of non-empty locations and of extra appearances of a number in a unit
+	 */
+	private int filled, duplicates;
+
+	/**
+	 * Constructor for an empty Board
+	 */
+	public Board() {
+	}
+
+	/**
+	 * Constructor copying the specified Board
+	 *
+	 * @param other the Board to copy
+	 */
+	public Board(Board other) {
+		copy(other);
+	}
+
+	/**
+	 * Replaces the content of this Board by the content of the specified Board
+	 *
+	 * @param other the Board to copy
+	 */
+	public void copy(Board other) {
+		System.arraycopy(other.cells, 0, cells, 0, SIZE);
+		System.arraycopy(other.counts, 0, counts, 0, counts.length);
+		System.arraycopy(other.masks, 0, masks, 0, masks.length);
+		filled = other.filled;
+		duplicates = other.duplicates;
+	}
+
+	/**
+	 * Returns the value at the specified location
+	 *
+	 * @param num the location of the element
+	 * @return the value, 0 if the location is empty
+	 */
+	public int get(int num) {
+		return cells[num];
+	}
+
+	/**
+	 * Sets the value at the specified location and updates the masks of its row,
+	 * column and block
+	 *
+	 * @param num   the location of the element
+	 * @param value the new value, 0 to empty the location
+	 */
+	public void set(int num, int value) {
+		int old = cells[num];
+
+		if (old == value) {
+			return;
+		}
+
+		if (old != 0) {
+			remove(ROW[num], old);
+			remove(9 + COL[num], old);
+			remove(18 + BLOCK[num], old);
+			filled--;
+		}
+
+		cells[num] = (byte) value;
+
+		if (value != 0) {
+			add(ROW[num], value);
+			add(9 + COL[num], value);
+			add(18 + BLOCK[num], value);
+			filled++;
+		}
+	}
+
+	/**
+	 * Adds a number to a unit
+	 *
+	 * @param unit  the unit number
+	 * @param value the number added
+	 */
+	private void add(int unit, int value) {
+		if (counts[unit * 9 + value - 1]++ == 0) {
+			masks[unit] |= bit(value);
+		} else {
+			duplicates++;
+		}
+	}
+
+	/**
+	 * Removes a number from a unit
+	 *
+	 * @param unit  the unit number
+	 * @param value the number removed
+	 */
+	private void remove(int unit, int value) {
+		if (--counts[unit * 9 + value - 1] == 0) {
+			masks[unit] &= ~bit(value);
+		} else {
+			duplicates--;
+		}
+	}
+
+	/**
+	 * Empties every location of the board
+	 */
+	public void clear() {
+		for (int i = 0; i < SIZE; i++) {
+			cells[i] = 0;
+		}
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		for (int i = 0; i < masks.length; i++) {
+			masks[i] = 0;
+		}
+		filled = 0;
+		duplicates = 0;
+	}
+
+	/**
+	 * Returns the numbers that are not in the row, column or block of the
+	 * specified location
+	 *
+	 * @param num the location of the element
+	 * @return a mask of the available numbers
+	 */
+	public int candidates(int num) {
+		return ~(masks[ROW[num]] | masks[9 + COL[num]] | masks[18 + BLOCK[num]]) & ALL;
+	}
+
+	/**
+	 * Finds the empty location with the fewest candidates
+	 *
+	 * @return the location, -1 if the board is full
+	 */
+	public int mostConstrained() {
+		int num = -1, best = 10;
+
+		for (int i = 0; i < SIZE && best > 0; i++) {
+			if (cells[i] == 0) {
+				int count = Integer.bitCount(candidates(i));
+				if (count < best) {
+					num = i;
+					best = count;
+				}
+			}
+		}
+
+		return num;
+	}
+
+	/**
+	 * Returns the numbers present in the specified unit
+	 *
+	 * @param unit the unit number (rows 0 to 8, columns 9 to 17, blocks 18 to 26)
+	 * @return a mask of the numbers in the unit
+	 */
+	public int unitMask(int unit) {
+		return masks[unit];
+	}
+
+	/**
+	 * Returns the number of appearance of a number in a unit
+	 *
+	 * @param unit  the unit number (rows 0 to 8, columns 9 to 17, blocks 18 to 26)
+	 * @param value the number researched
+	 * @return the number of elements equal to value in the unit
+	 */
+	public int count(int unit, int value) {
+		return counts[unit * 9 + value - 1];
+	}
+
+	/**
+	 * Returns the number of non-empty locations
+	 *
+	 * @return the number of non-empty locations
+	 */
+	public int filled() {
+		return filled;
+	}
+
+	/**
+	 * Returns the number of extra appearances of the numbers in their units,
+	 * every pair of equal numbers in a row, column or block counting once
+	 *
+	 * @return the number of conflicts
+	 */
+	public int duplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Checks if the value at the specified location appears again in its row,
+	 * column or block
+	 *
+	 * @param num the location of the element
+	 * @return true if the value conflicts with a neighbour, false otherwise
+	 */
+	public boolean conflicts(int num) {
+		int value = cells[num];
+
+		return value != 0 && (counts[ROW[num] * 9 + value - 1] > 1 || counts[(9 + COL[num]) * 9 + value - 1] > 1
+				|| counts[(18 + BLOCK[num]) * 9 + value - 1] > 1);
+	}
+
+	/**
+	 * Checks if the board is full, does not have any zero
+	 *
+	 * @return true if the board is full, false otherwise
+	 */
+	public boolean isFull() {
+		return filled == SIZE;
+	}
+
+	/**
+	 * Checks if no number appears twice in a row, column or block
+	 *
+	 * @return true if the board is valid, false otherwise
+	 */
+	public boolean isValid() {
+		return duplicates == 0;
+	}
+
+	/**
+	 * Checks if the board is full and conforms to the Sudoku rules
+	 *
+	 * @return true if the board is solved, false otherwise
+	 */
+	public boolean isSolved() {
+		return filled == SIZE && duplicates == 0;
+	}
+
+	/**
+	 * Returns a view of the board as a List, changes to the List are written to
+	 * the board
+	 *
+	 * @return a List backed by the board
+	 */
+	public List<Integer> asList() {
+		return new AbstractList<Integer>() {
+			@Override
+			public Integer get(int index) {
+				return Board.this.get(index);
+			}
+
+			@Override
+			public Integer set(int index, Integer element) {
+				int old = Board.this.get(index);
+				Board.this.set(index, element);
+				return old;
+			}
+
+			@Override
+			public int size() {
+				return SIZE;
+			}
+		};
+	}
+
+	/**
+	 * Returns the row of a location
+	 *
+	 * @param num the location of the element
+	 * @return the row number (unit 0 to 8)
+	 */
+	public static int row(int num) {
+		return ROW[num];
+	}
+
+	/**
+	 * Returns the column of a location
+	 *
+	 * @param num the location of the element
+	 * @return the unit number of the column (9 to 17)
+	 */
+	public static int column(int num) {
+		return 9 + COL[num];
+	}
+
+	/**
+	 * Returns the block of a location
+	 *
+	 * @param num the location of the element
+	 * @return the unit number of the block (18 to 26)
+	 */
+	public static int block(int num) {
+		return 18 + BLOCK[num];
+	}
+
+	/**
+	 * Returns a location of a unit
+	 *
+	 * @param unit the unit number (rows 0 to 8, columns 9 to 17, blocks 18 to 26)
+	 * @param i    the index of the element in the unit, from 0 to 8
+	 * @return the location of the element
+	 */
+	public static int unit(int unit, int i) {
+		return UNITS[unit][i];
+	}
+
+	/**
+	 * Returns a neighbour (same row, column or block) of a location
+	 *
+	 * @param num the location of the element
+	 * @param i   the index of the neighbour, from 0 to 19
+	 * @return the location of the neighbour
+	 */
+	public static int peer(int num, int i) {
+		return PEERS[num][i];
+	}
+
+	/**
+	 * Builds a board from a line in the format of Sudoku.sudokuString ('.' or '0'
+	 * for the empty locations)
+	 *
+	 * @param line the 81 characters of the board
+	 * @return the board
+	 * @throws IllegalArgumentException if the line is not a Sudoku board
+	 */
+	public static Board parse(CharSequence line) {
+		if (line.length() != SIZE) {
+			throw new IllegalArgumentException("A board has " + SIZE + " elements, not " + line.length());
+		}
+
+		Board board = new Board();
+		for (int i = 0; i < SIZE; i++) {
+			char c = line.charAt(i);
+
+			if (c >= '1' && c <= '9') {
+				board.set(i, c - '0');
+			} else if (c != '.' && c != '0') {
+				throw new IllegalArgumentException("Invalid element '" + c + "' at " + i);
+			}
+		}
+		return board;
+	}
+
+	/**
+	 * Builds a String representation of the board, in the format of
+	 * Sudoku.sudokuString
+	 *
+	 * @return the 81 characters of the board
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(SIZE);
+		for (byte value : cells) {
+			sb.append(value == 0 ? '.' : (char) ('0' + value));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the mask of a number
+	 *
+	 * @param value a number from 1 to 9
+	 * @return a mask containing only that number
+	 */
+	public static int bit(int value) {
+		return 1 << (value - 1);
+	}
+
+	/**
+	 * Returns the lowest number of a mask
+	 *
+	 * @param mask a non-empty mask
+	 * @return the lowest number in the mask
+	 */
+	public static int lowest(int mask) {
+		return Integer.numberOfTrailingZeros(mask) + 1;
+	}
+
+	/**
+	 * Returns the n-th lowest number of a mask
+	 *
+	 * @param mask a mask containing more than n numbers
+	 * @param n    the position of the number, starting at 0
+	 * @return the n-th lowest number in the mask
+	 */
+	public static int nth(int mask, int n) {
+		for (int i = 0; i < n; i++) {
+			mask &= mask - 1;
+		}
+		return lowest(mask);
+	}
+}
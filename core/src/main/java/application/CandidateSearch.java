@@ -0,0 +1,276 @@
+package application;
+
+import java.util.SplittableRandom;
+
+/**
+ * The class <b>CandidateSearch</b> is the search shared by BacktrackingSolver
+ * and GridSolver, for boards of any block size described by their units and
+ * the neighbours of every location. It fills the naked singles (locations with
+ * a single candidate) and the hidden singles (numbers with a single location in
+ * a unit), then tries the candidates of the most constrained location.
+ *
+ * The search is iterative and every depth has its own preallocated copy of the
+ * candidates, so searching does not allocate anything. The board searched is
+ * set location by location at depth 0.
+ *
+ * @author Benoît
+ *
+ */
+final class CandidateSearch {
+
+	/**
+	 * Number of locations and mask containing every number
+	 */
+	private final int size, all;
+
+	/**
+	 * Locations of the elements of every unit and neighbours of every location
+	 */
+	private final int[][] units, peers;
+
+	/**
+	 * Candidates (as masks, 0 if filled) of every location at every depth
+	 */
+	private final int[][] candidates;
+
+	/**
+	 * Values of the board at every depth
+	 */
+	private final byte[][] values;
+
+	/**
+	 * Location tried and candidates left to try at every depth
+	 */
+	private final int[] branch, left;
+
+	/**
+	 * First solution found by the last search
+	 */
+	private final byte[] solution;
+
+	/**
+	 * Number of boards visited by the last search
+	 */
+	private long nodes;
+
+	/**
+	 * Constructor for CandidateSearch
+	 *
+	 * @param all   the mask containing every number
+	 * @param units the locations of the elements of every unit
+	 * @param peers the neighbours of every location
+	 */
+	CandidateSearch(int all, int[][] units, int[][] peers) {
+		this.size = peers.length;
+		this.all = all;
+		this.units = units;
+		this.peers = peers;
+
+		candidates = new int[size + 1][size];
+		values = new byte[size + 1][size];
+		branch = new int[size + 1];
+		left = new int[size + 1];
+		solution = new byte[size];
+	}
+
+	/**
+	 * Sets a location of the board searched
+	 *
+	 * @param num        the location of the element
+	 * @param value      the value, 0 if the location is empty
+	 * @param candidates the candidates of an empty location, 0 if it is filled
+	 */
+	void set(int num, int value, int candidates) {
+		values[0][num] = (byte) value;
+		this.candidates[0][num] = candidates;
+	}
+
+	/**
+	 * Counts the solutions of the board set, which must be valid
+	 *
+	 * @param limit    the maximum number of solutions counted
+	 * @param random   the source of the order of the candidates, null to try them
+	 *                 in increasing order
+	 * @param maxNodes the number of boards visited after which the search gives up
+	 * @return the number of solutions found, at most limit, -1 if the search gave
+	 *         up
+	 */
+	int search(int limit, SplittableRandom random, long maxNodes) {
+		nodes = 0;
+
+		int count = 0, depth = 0;
+		boolean consistent = propagate(candidates[0], values[0]);
+
+		while (true) {
+			if (consistent) {
+				if (++nodes > maxNodes) {
+					return -1;
+				}
+
+				int num = mostConstrained(candidates[depth], values[depth]);
+
+				if (num == -1) {
+					if (count++ == 0) {
+						System.arraycopy(values[depth], 0, solution, 0, size);
+					}
+					if (count >= limit) {
+						return count;
+					}
+				} else {
+					branch[depth] = num;
+					left[depth] = candidates[depth][num];
+					depth++;
+				}
+			}
+
+			// Goes back to the last depth with candidates left to try
+			while (depth > 0 && left[depth - 1] == 0) {
+				depth--;
+			}
+
+			if (depth == 0) {
+				return count;
+			}
+
+			int mask = left[depth - 1];
+			int digit = random == null ? Board.lowest(mask) : Board.nth(mask, random.nextInt(Integer.bitCount(mask)));
+			left[depth - 1] = mask & ~Board.bit(digit);
+
+			System.arraycopy(candidates[depth - 1], 0, candidates[depth], 0, size);
+			System.arraycopy(values[depth - 1], 0, values[depth], 0, size);
+
+			consistent = assign(candidates[depth], values[depth], branch[depth - 1], digit)
+					&& propagate(candidates[depth], values[depth]);
+		}
+	}
+
+	/**
+	 * Returns a value of the first solution found by the last search
+	 *
+	 * @param num the location of the element
+	 * @return the value, undefined if the last search found no solution
+	 */
+	int getSolution(int num) {
+		return solution[num];
+	}
+
+	/**
+	 * Getter method for the number of boards visited by the last search
+	 *
+	 * @return the number of boards visited
+	 */
+	long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Places a value and removes it from the candidates of its neighbours
+	 *
+	 * @param cand  the candidates of the board
+	 * @param value the values of the board
+	 * @param num   the location of the element
+	 * @param digit the value placed
+	 * @return false if a neighbour has no candidate left, true otherwise
+	 */
+	private boolean assign(int[] cand, byte[] value, int num, int digit) {
+		int bit = Board.bit(digit);
+		value[num] = (byte) digit;
+		cand[num] = 0;
+
+		for (int peer : peers[num]) {
+			if ((cand[peer] & bit) != 0 && (cand[peer] &= ~bit) == 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Fills the naked and hidden singles until none are left
+	 *
+	 * @param cand  the candidates of the board
+	 * @param value the values of the board
+	 * @return false if the board has no solution, true otherwise
+	 */
+	private boolean propagate(int[] cand, byte[] value) {
+		boolean changed = true;
+
+		while (changed) {
+			changed = false;
+
+			// Naked singles
+			for (int i = 0; i < size; i++) {
+				if (value[i] == 0) {
+					int mask = cand[i];
+
+					if (mask == 0) {
+						return false;
+					}
+					if ((mask & (mask - 1)) == 0) {
+						if (!assign(cand, value, i, Board.lowest(mask))) {
+							return false;
+						}
+						changed = true;
+					}
+				}
+			}
+
+			// Hidden singles
+			for (int[] unit : units) {
+				int once = 0, twice = 0, placed = 0;
+
+				for (int i : unit) {
+					if (value[i] == 0) {
+						twice |= once & cand[i];
+						once |= cand[i];
+					} else {
+						placed |= Board.bit(value[i]);
+					}
+				}
+
+				if ((once | placed) != all) {
+					return false;
+				}
+
+				for (int singles = once & ~twice; singles != 0; singles &= singles - 1) {
+					int bit = singles & -singles, num = -1;
+
+					for (int i : unit) {
+						if ((cand[i] & bit) != 0) {
+							num = i;
+							break;
+						}
+					}
+
+					if (num == -1 || !assign(cand, value, num, Board.lowest(bit))) {
+						return false;
+					}
+					changed = true;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finds the empty location with the fewest candidates
+	 *
+	 * @param cand  the candidates of the board
+	 * @param value the values of the board
+	 * @return the location, -1 if the board is full
+	 */
+	private int mostConstrained(int[] cand, byte[] value) {
+		int num = -1, best = Integer.MAX_VALUE;
+
+		for (int i = 0; i < size && best > 2; i++) {
+			if (value[i] == 0 && Integer.bitCount(cand[i]) < best) {
+				num = i;
+				best = Integer.bitCount(cand[i]);
+			}
+		}
+
+		return num;
+	}
+}
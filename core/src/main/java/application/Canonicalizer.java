@@ -0,0 +1,645 @@
+package application;
+
+import java.util.Arrays;
+
+/**
+ * The class <b>Canonicalizer</b> maps a puzzle to the canonical representative
+ * of its equivalence class under the Sudoku symmetries (see Symmetry), so two
+ * puzzles are the same puzzle if and only if their canonical forms are equal.
+ *
+ * The canonical solution is the minimal lexicographic (minlex) form of the
+ * solution of the puzzle: its first row is always 123456789. Then the search
+ * tries every transposition, first row, second row and first stack whose
+ * columns of the second row refer to as few stacks of the first row as
+ * possible (which also orders the other stacks), and builds the column
+ * permutations giving the smallest second row one column at a time: the value
+ * of a column of the second row is the new position of a column of another
+ * stack, which is placed at the first free position of its stack, so only the
+ * columns not placed yet are branched on and a permutation is dropped as soon
+ * as its second row is larger than the smallest one. The other rows follow by
+ * choosing the smallest one at every step.
+ * The canonical puzzle is the smallest puzzle among the symmetries giving the
+ * canonical solution (several when the solution has automorphisms), the empty
+ * locations being 0.
+ *
+ * The fingerprint of a puzzle is much cheaper: it only depends on counts that
+ * the symmetries do not change, so equal puzzles have the same fingerprint but
+ * different puzzles can share one. It lets a PuzzleIndex compare canonical forms
+ * only when fingerprints are equal.
+ *
+ * A Canonicalizer keeps its work arrays between calls, so it must not be
+ * shared between threads.
+ *
+ * @author Benoît
+ *
+ */
+public class Canonicalizer {
+
+	/**
+	 * Maximum number of automorphisms of a Sudoku solution
+	 */
+	private static final int AUTOMORPHISMS = 648;
+
+	/**
+	 * Position of every row (or column) in every permutation of Symmetry
+	 */
+	private static final byte[][] INVERSE = new byte[Symmetry.LINES][9];
+
+	static {
+		for (int n = 0; n < Symmetry.LINES; n++) {
+			for (int i = 0; i < 9; i++) {
+				INVERSE[n][Symmetry.PERMUTATIONS[n][i]] = (byte) i;
+			}
+		}
+	}
+
+	/**
+	 * Solution and puzzle, then their transposition
+	 */
+	private final byte[][] grids = new byte[2][Board.SIZE], clues = new byte[2][Board.SIZE];
+
+	/**
+	 * Column of every digit in the first row
+	 */
+	private final int[] column = new int[10];
+
+	/**
+	 * Column in the first row of the digit of every column of the second and
+	 * third rows
+	 */
+	private final int[] second = new int[9], third = new int[9];
+
+	/**
+	 * Column permutation being built: column placed at every position and
+	 * position of every column (-1 if not placed), stack placed at every stack
+	 * position and number of columns placed in every stack position
+	 */
+	private final int[] placed = new int[9], position = new int[9], stacks = new int[3], filled = new int[3];
+
+	/**
+	 * Position of every stack in the permutation being built, its transposition
+	 * and its first three rows
+	 */
+	private final int[] stackAt = new int[3], rows = new int[3];
+	private int transposed;
+
+	/**
+	 * Stack of the first row found by the last call to refers
+	 */
+	private int referred;
+
+	/**
+	 * Smallest solution found and solution being built
+	 */
+	private final byte[] best = new byte[Board.SIZE], candidate = new byte[Board.SIZE];
+
+	/**
+	 * Rows of the last two bands once relabeled, and their order
+	 */
+	private final byte[] others = new byte[6 * 9];
+	private final int[] order = new int[9], sequence = new int[6];
+
+	/**
+	 * Symmetries giving the smallest solution: transposition, column permutation
+	 * and rows in order
+	 */
+	private final int[] minTranspose = new int[AUTOMORPHISMS], minColumns = new int[AUTOMORPHISMS];
+	private final int[][] minRows = new int[AUTOMORPHISMS][9];
+	private int count;
+	private boolean found;
+
+	/**
+	 * Smallest puzzle found and puzzle being built
+	 */
+	private final byte[] puzzle = new byte[Board.SIZE], built = new byte[Board.SIZE];
+
+	/**
+	 * Numbers of clues of every row, column, block, band, stack and digit, and
+	 * features of every clue for the fingerprint
+	 */
+	private final int[] rowClues = new int[9], columnClues = new int[9], blockClues = new int[9],
+			bandClues = new int[3], stackClues = new int[3], digitClues = new int[10], features = new int[Board.SIZE];
+
+	/**
+	 * Computes a fingerprint of a puzzle that is the same for all its variants by
+	 * symmetry
+	 *
+	 * @param source the puzzle
+	 * @return the fingerprint
+	 */
+	public long fingerprint(Puzzle source) {
+		Arrays.fill(rowClues, 0);
+		Arrays.fill(columnClues, 0);
+		Arrays.fill(blockClues, 0);
+		Arrays.fill(bandClues, 0);
+		Arrays.fill(stackClues, 0);
+		Arrays.fill(digitClues, 0);
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			int value = source.get(i);
+			if (value != 0) {
+				rowClues[Board.ROW[i]]++;
+				columnClues[Board.COL[i]]++;
+				blockClues[Board.BLOCK[i]]++;
+				bandClues[Board.ROW[i] / 3]++;
+				stackClues[Board.COL[i] / 3]++;
+				digitClues[value]++;
+			}
+		}
+
+		// Every clue is described by the counts of its units, the row and the
+		// column (and the band and the stack) being unordered for the transposition
+		int clues = 0;
+		for (int i = 0; i < Board.SIZE; i++) {
+			int value = source.get(i);
+			if (value != 0) {
+				int row = rowClues[Board.ROW[i]], col = columnClues[Board.COL[i]];
+				int band = bandClues[Board.ROW[i] / 3], stack = stackClues[Board.COL[i] / 3];
+
+				features[clues++] = Math.min(row, col) << 26 | Math.max(row, col) << 22
+						| blockClues[Board.BLOCK[i]] << 18 | Math.min(band, stack) << 13 | Math.max(band, stack) << 8
+						| digitClues[value];
+			}
+		}
+
+		Arrays.sort(features, 0, clues);
+
+		long hash = clues;
+		for (int i = 0; i < clues; i++) {
+			hash = (hash ^ features[i]) * 0x9E3779B97F4A7C15L;
+			hash ^= hash >>> 29;
+		}
+		return hash;
+	}
+
+	/**
+	 * Computes the canonical form of a puzzle
+	 *
+	 * @param source the puzzle and its solution
+	 * @return the canonical puzzle and its canonical solution
+	 * @throws IllegalArgumentException if the solution is not a solved board
+	 */
+	public Puzzle canonical(Puzzle source) {
+		Board player = new Board(), board = new Board();
+		canonicalize(source, player, board);
+		return new Puzzle(player, board);
+	}
+
+	/**
+	 * Computes the canonical form of a puzzle
+	 *
+	 * @param source the puzzle and its solution
+	 * @param player the board receiving the canonical puzzle
+	 * @param board  the board receiving the canonical solution
+	 * @throws IllegalArgumentException if the solution is not a solved board
+	 */
+	public void canonicalize(Puzzle source, Board player, Board board) {
+		for (int r = 0; r < 9; r++) {
+			for (int c = 0; c < 9; c++) {
+				grids[0][r * 9 + c] = grids[1][c * 9 + r] = (byte) source.getSolution(r * 9 + c);
+				clues[0][r * 9 + c] = clues[1][c * 9 + r] = (byte) source.get(r * 9 + c);
+			}
+		}
+
+		if (!solved(grids[0])) {
+			throw new IllegalArgumentException("The solution is not a solved board");
+		}
+
+		searchSolution();
+
+		// Smallest puzzle among the symmetries giving the smallest solution
+		for (int n = 0; n < count; n++) {
+			buildPuzzle(minTranspose[n], minColumns[n], minRows[n]);
+
+			if (n == 0 || compare(built, puzzle) < 0) {
+				System.arraycopy(built, 0, puzzle, 0, Board.SIZE);
+			}
+		}
+
+		player.clear();
+		for (int i = 0; i < Board.SIZE; i++) {
+			board.set(i, best[i]);
+			player.set(i, puzzle[i]);
+		}
+	}
+
+	/**
+	 * Checks that every unit of a board contains every number
+	 *
+	 * @param grid the values of the board
+	 * @return true if the board is solved, false otherwise
+	 */
+	private static boolean solved(byte[] grid) {
+		for (int[] unit : Board.UNITS) {
+			int mask = 0;
+			for (int i : unit) {
+				if (grid[i] < 1 || grid[i] > 9) {
+					return false;
+				}
+				mask |= Board.bit(grid[i]);
+			}
+			if (mask != Board.ALL) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the smallest solution and the symmetries giving it
+	 */
+	private void searchSolution() {
+		count = 0;
+		found = false;
+
+		for (int i = 0; i < 9; i++) {
+			candidate[i] = (byte) (i + 1);
+		}
+
+		// The second row starts with 456 if the first stack of the second row
+		// refers to a single stack of the first row, with 457 if two of its
+		// columns do, so only the choices referring the most are searched
+		int most = 0;
+		for (int t = 0; t < 2; t++) {
+			for (int r0 = 0; r0 < 9; r0++) {
+				for (int r1 = r0 / 3 * 3; r1 < r0 / 3 * 3 + 3; r1++) {
+					if (r1 != r0) {
+						prepare(t, r0, r1);
+						for (int s = 0; s < 3; s++) {
+							most = Math.max(most, refers(s));
+						}
+					}
+				}
+			}
+		}
+
+		for (int t = 0; t < 2; t++) {
+			for (int r0 = 0; r0 < 9; r0++) {
+				for (int r1 = r0 / 3 * 3; r1 < r0 / 3 * 3 + 3; r1++) {
+					if (r1 == r0) {
+						continue;
+					}
+					int r2 = prepare(t, r0, r1);
+
+					for (int s = 0; s < 3; s++) {
+						if (refers(s) == most) {
+							Arrays.fill(placed, -1);
+							Arrays.fill(position, -1);
+							Arrays.fill(filled, 0);
+							stacks[0] = s;
+							stacks[1] = referred;
+							stacks[2] = 3 - s - referred;
+							for (int k = 0; k < 3; k++) {
+								stackAt[stacks[k]] = k;
+							}
+							transposed = t;
+							rows[0] = r0;
+							rows[1] = r1;
+							rows[2] = r2;
+
+							place(0, !found);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the column in the first row of the digit of every column of the
+	 * second and third rows
+	 *
+	 * @param t  1 if the solution is transposed
+	 * @param r0 the first row
+	 * @param r1 the second row, in the band of the first row
+	 * @return the third row, the last one of the band
+	 */
+	private int prepare(int t, int r0, int r1) {
+		byte[] grid = grids[t];
+		int r2 = r0 / 3 * 3 + 3 - r0 % 3 - r1 % 3;
+
+		for (int c = 0; c < 9; c++) {
+			column[grid[r0 * 9 + c]] = c;
+		}
+		for (int c = 0; c < 9; c++) {
+			second[c] = column[grid[r1 * 9 + c]];
+			third[c] = column[grid[r2 * 9 + c]];
+		}
+
+		return r2;
+	}
+
+	/**
+	 * Finds the stack of the first row referred to by the most columns of a
+	 * stack of the second row, stored in referred
+	 *
+	 * @param s the stack of the second row
+	 * @return the number of columns referring to the stack found, 2 or 3
+	 */
+	private int refers(int s) {
+		int first = (s + 1) % 3, number = 0;
+
+		for (int c = s * 3; c < s * 3 + 3; c++) {
+			if (second[c] / 3 == first) {
+				number++;
+			}
+		}
+
+		referred = number >= 2 ? first : 3 - s - first;
+		return Math.max(number, 3 - number);
+	}
+
+	/**
+	 * Places the column at a position of the permutation being built, trying
+	 * every column of its stack not placed yet
+	 *
+	 * @param c       the position
+	 * @param smaller true if the second row before the position is smaller than
+	 *                the one of the smallest solution (or none was found)
+	 * @return true if a smaller solution was found, false otherwise
+	 */
+	private boolean place(int c, boolean smaller) {
+		if (c == 9) {
+			return visit(transposed, permutation(), rows[0], rows[1], rows[2]);
+		}
+
+		if (placed[c] != -1) {
+			return follow(c, smaller);
+		}
+
+		int stack = c / 3;
+		boolean improved = false;
+		for (int col = stacks[stack] * 3; col < stacks[stack] * 3 + 3; col++) {
+			if (position[col] == -1) {
+				placed[c] = col;
+				position[col] = c;
+				filled[stack]++;
+
+				// The smallest solution found shares the second row before c
+				if (follow(c, smaller)) {
+					smaller = false;
+					improved = true;
+				}
+
+				filled[stack]--;
+				position[col] = -1;
+				placed[c] = -1;
+			}
+		}
+		return improved;
+	}
+
+	/**
+	 * Computes the value of the second row at a position whose column is placed,
+	 * placing the column it refers to at the first free position of its stack,
+	 * then places the next positions unless the second row is already larger
+	 * than the one of the smallest solution
+	 *
+	 * @param c       the position
+	 * @param smaller true if the second row before the position is smaller than
+	 *                the one of the smallest solution (or none was found)
+	 * @return true if a smaller solution was found, false otherwise
+	 */
+	private boolean follow(int c, boolean smaller) {
+		int target = second[placed[c]], forced = -1;
+
+		// The column is in another stack, so never the one at c
+		if (position[target] == -1) {
+			int stack = stackAt[target / 3];
+			forced = stack * 3 + filled[stack]++;
+			position[target] = forced;
+			placed[forced] = target;
+		}
+
+		int value = position[target] + 1;
+		boolean improved = false;
+		if (smaller || value <= best[9 + c]) {
+			improved = place(c + 1, smaller || value < best[9 + c]);
+		}
+
+		if (forced != -1) {
+			filled[forced / 3]--;
+			position[target] = -1;
+			placed[forced] = -1;
+		}
+		return improved;
+	}
+
+	/**
+	 * Returns the number of the permutation being built
+	 *
+	 * @return the index of the permutation in Symmetry.PERMUTATIONS
+	 */
+	private int permutation() {
+		int n = rank(stacks[0], stacks[1], stacks[2]);
+
+		for (int k = 0; k < 3; k++) {
+			int base = stacks[k] * 3;
+			n = n * 6 + rank(placed[k * 3] - base, placed[k * 3 + 1] - base, placed[k * 3 + 2] - base);
+		}
+
+		return n;
+	}
+
+	/**
+	 * Returns the number of an order of 3 elements, the orders being numbered in
+	 * lexicographic order like in Symmetry
+	 *
+	 * @param a the first element
+	 * @param b the second element
+	 * @param c the third element
+	 * @return the number of the order, from 0 to 5
+	 */
+	private static int rank(int a, int b, int c) {
+		return a * 2 + (b > c ? 1 : 0);
+	}
+
+	/**
+	 * Builds the solution given by a symmetry, stopping as soon as it is larger
+	 * than the smallest one
+	 *
+	 * @param t  1 if the solution is transposed
+	 * @param p  the permutation of the columns
+	 * @param r0 the first row
+	 * @param r1 the second row
+	 * @param r2 the third row
+	 * @return true if the solution is the smallest one found so far, false
+	 *         otherwise
+	 */
+	private boolean visit(int t, int p, int r0, int r1, int r2) {
+		byte[] columns = Symmetry.PERMUTATIONS[p], inverse = INVERSE[p];
+		int cmp = found ? 0 : -1;
+
+		// Second and third rows
+		for (int c = 0; c < 9; c++) {
+			byte value = (byte) (inverse[second[columns[c]]] + 1);
+			candidate[9 + c] = value;
+
+			if (cmp == 0 && value != best[9 + c]) {
+				if (value > best[9 + c]) {
+					return false;
+				}
+				cmp = -1;
+			}
+		}
+		for (int c = 0; c < 9; c++) {
+			byte value = (byte) (inverse[third[columns[c]]] + 1);
+			candidate[18 + c] = value;
+
+			if (cmp == 0 && value != best[18 + c]) {
+				if (value > best[18 + c]) {
+					return false;
+				}
+				cmp = -1;
+			}
+		}
+
+		// Rows of the other bands, relabeled
+		byte[] grid = grids[t];
+		int band = r0 / 3, k = 0;
+		for (int b = 0; b < 3; b++) {
+			if (b == band) {
+				continue;
+			}
+			for (int r = b * 3; r < b * 3 + 3; r++) {
+				order[3 + k] = r;
+				for (int c = 0; c < 9; c++) {
+					others[k * 9 + c] = (byte) (inverse[column[grid[r * 9 + columns[c]]]] + 1);
+				}
+				k++;
+			}
+		}
+
+		// The smallest row starts the second band, the other band follows
+		int first = 0;
+		for (int i = 1; i < 6; i++) {
+			if (compareRows(i, first) < 0) {
+				first = i;
+			}
+		}
+		int group = first / 3 * 3, x = group + (first + 1) % 3, y = group + (first + 2) % 3;
+		sequence[0] = first;
+		sequence[1] = compareRows(x, y) < 0 ? x : y;
+		sequence[2] = compareRows(x, y) < 0 ? y : x;
+		sortRows(3 - group);
+
+		for (int i = 0; i < 6; i++) {
+			int from = sequence[i] * 9, to = (3 + i) * 9;
+
+			for (int j = 0; j < 9; j++) {
+				byte value = others[from + j];
+				candidate[to + j] = value;
+
+				if (cmp == 0 && value != best[to + j]) {
+					if (value > best[to + j]) {
+						return false;
+					}
+					cmp = -1;
+				}
+			}
+		}
+
+		if (cmp < 0) {
+			System.arraycopy(candidate, 0, best, 0, Board.SIZE);
+			count = 0;
+			found = true;
+		}
+
+		if (count < AUTOMORPHISMS) {
+			minTranspose[count] = t;
+			minColumns[count] = p;
+			minRows[count][0] = r0;
+			minRows[count][1] = r1;
+			minRows[count][2] = r2;
+			for (int i = 0; i < 6; i++) {
+				minRows[count][3 + i] = order[3 + sequence[i]];
+			}
+			count++;
+		}
+		return cmp < 0;
+	}
+
+	/**
+	 * Builds the puzzle given by a symmetry
+	 *
+	 * @param t       1 if the puzzle is transposed
+	 * @param p       the permutation of the columns
+	 * @param rowList the rows in order
+	 */
+	private void buildPuzzle(int t, int p, int[] rowList) {
+		byte[] grid = grids[t], given = clues[t], columns = Symmetry.PERMUTATIONS[p], inverse = INVERSE[p];
+
+		for (int c = 0; c < 9; c++) {
+			column[grid[rowList[0] * 9 + c]] = c;
+		}
+
+		for (int r = 0; r < 9; r++) {
+			for (int c = 0; c < 9; c++) {
+				int value = given[rowList[r] * 9 + columns[c]];
+				built[r * 9 + c] = value == 0 ? 0 : (byte) (inverse[column[value]] + 1);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the rows of a band of the last two bands into the end of the sequence
+	 *
+	 * @param group the first of the three rows, 0 or 3
+	 */
+	private void sortRows(int group) {
+		int a = group, b = group + 1, c = group + 2, swap;
+
+		if (compareRows(b, a) < 0) {
+			swap = a;
+			a = b;
+			b = swap;
+		}
+		if (compareRows(c, b) < 0) {
+			swap = b;
+			b = c;
+			c = swap;
+		}
+		if (compareRows(b, a) < 0) {
+			swap = a;
+			a = b;
+			b = swap;
+		}
+
+		sequence[3] = a;
+		sequence[4] = b;
+		sequence[5] = c;
+	}
+
+	/**
+	 * Compares two relabeled rows of the last two bands
+	 *
+	 * @param i the first row, from 0 to 5
+	 * @param j the second row, from 0 to 5
+	 * @return a negative number if the first row is smaller, positive if larger
+	 */
+	private int compareRows(int i, int j) {
+		for (int c = 0; c < 9; c++) {
+			int diff = others[i * 9 + c] - others[j * 9 + c];
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Compares two boards lexicographically
+	 *
+	 * @param a the first board values
+	 * @param b the second board values
+	 * @return a negative number if the first board is smaller, positive if larger
+	 */
+	private static int compare(byte[] a, byte[] b) {
+		for (int i = 0; i < Board.SIZE; i++) {
+			if (a[i] != b[i]) {
+				return a[i] - b[i];
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,97 @@
+package application;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class <b>ConcurrentHistogram</b> counts durations recorded by many
+ * threads, in the logarithmic buckets of LatencyHistogram. Every bucket is a
+ * LongAdder, striped over the threads that contend on it, so recording never
+ * locks and the threads do not share a cache line on the hot path. The buckets
+ * of a LongAdder are only allocated under contention.
+ *
+ * Reading the histogram copies it to a LatencyHistogram, which is not atomic:
+ * a duration recorded during the copy may be counted in some of the totals
+ * only.
+ *
+ * @author Benoît
+ *
+ */
+public class ConcurrentHistogram {
+
+	/**
+	 * Number of durations of every bucket
+	 */
+	private final LongAdder[] counts = new LongAdder[LatencyHistogram.BUCKETS];
+
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Constructor for ConcurrentHistogram
+	 */
+	public ConcurrentHistogram() {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a duration
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+
+		counts[LatencyHistogram.bucket(nanos)].increment();
+		total.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	/**
+	 * Returns the number of durations recorded
+	 *
+	 * @return the number of durations
+	 */
+	public long count() {
+		long count = 0;
+		for (LongAdder adder : counts) {
+			count += adder.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * Copies the durations recorded so far
+	 *
+	 * @return a histogram of the durations
+	 */
+	public LatencyHistogram snapshot() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		for (int i = 0; i < counts.length; i++) {
+			long n = counts[i].sum();
+			if (n != 0) {
+				histogram.add(i, n);
+			}
+		}
+		histogram.add(total.sum(), max.get());
+
+		return histogram;
+	}
+
+	/**
+	 * Removes every recorded duration, the durations recorded meanwhile may be
+	 * partly kept
+	 */
+	public void clear() {
+		for (LongAdder adder : counts) {
+			adder.reset();
+		}
+		total.reset();
+		max.reset();
+	}
+}
@@ -0,0 +1,336 @@
+package application;
+
+/**
+ * The class <b>DancingLinksSolver</b> solves Sudoku boards as an exact cover
+ * problem using Knuth's Algorithm X with dancing links. Every placement of a
+ * number in a location (729 rows) covers 4 of the 324 constraints: the
+ * location is filled, and the number appears in the row, the column and the
+ * block.
+ *
+ * The links are stored in arrays built once in the constructor, solving only
+ * covers and uncovers them, so a search does not allocate anything. The search
+ * is iterative and leaves the links as they were when it returns.
+ *
+ * @author Benoît
+ *
+ */
+public class DancingLinksSolver implements Solver {
+
+	/**
+	 * Number of constraints (columns of the matrix)
+	 */
+	private static final int COLUMNS = 324;
+
+	/**
+	 * Number of possible placements (rows of the matrix)
+	 */
+	private static final int ROWS = 729;
+
+	/**
+	 * Index of the first node of the rows, the root is 0 and the column headers
+	 * are 1 to 324
+	 */
+	private static final int FIRST = COLUMNS + 1;
+
+	/**
+	 * Links of every node (left, right, up, down) and column header of every node
+	 */
+	private final int[] left, right, up, down, column;
+
+	/**
+	 * Number of nodes in every column
+	 */
+	private final int[] size = new int[FIRST];
+
+	/**
+	 * Node chosen at every depth of the search (the column header when the
+	 * column was just covered)
+	 */
+	private final int[] choice = new int[Board.SIZE];
+
+	/**
+	 * Nodes of the placements of the numbers already on the board
+	 */
+	private final int[] givens = new int[Board.SIZE];
+
+	/**
+	 * First solution found by the last search
+	 */
+	private final byte[] solution = new byte[Board.SIZE];
+
+	/**
+	 * Number of columns chosen by the last search
+	 */
+	private long nodes;
+
+	/**
+	 * Constructor for DancingLinksSolver, builds the exact cover matrix
+	 */
+	public DancingLinksSolver() {
+		int total = FIRST + ROWS * 4;
+
+		left = new int[total];
+		right = new int[total];
+		up = new int[total];
+		down = new int[total];
+		column = new int[total];
+
+		// Root and column headers
+		for (int i = 0; i < FIRST; i++) {
+			left[i] = i == 0 ? COLUMNS : i - 1;
+			right[i] = i == COLUMNS ? 0 : i + 1;
+			up[i] = i;
+			down[i] = i;
+			column[i] = i;
+		}
+
+		for (int row = 0; row < ROWS; row++) {
+			int num = row / 9, digit = row % 9;
+			int[] constraints = { num, 81 + Board.ROW[num] * 9 + digit, 162 + Board.COL[num] * 9 + digit,
+					243 + Board.BLOCK[num] * 9 + digit };
+
+			for (int k = 0; k < 4; k++) {
+				int node = FIRST + row * 4 + k, header = 1 + constraints[k];
+
+				left[node] = FIRST + row * 4 + (k + 3) % 4;
+				right[node] = FIRST + row * 4 + (k + 1) % 4;
+
+				column[node] = header;
+				up[node] = up[header];
+				down[node] = header;
+				down[up[header]] = node;
+				up[header] = node;
+				size[header]++;
+			}
+		}
+	}
+
+	@Override
+	public int countSolutions(Board puzzle, int limit) {
+		return search(puzzle, limit);
+	}
+
+	@Override
+	public boolean solve(Board puzzle) {
+		if (search(puzzle, 1) == 0) {
+			return false;
+		}
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			puzzle.set(i, solution[i]);
+		}
+
+		return true;
+	}
+
+	@Override
+	public int getSolution(int num) {
+		return solution[num];
+	}
+
+	/**
+	 * Getter method for the number of columns chosen by the last search
+	 *
+	 * @return the number of columns chosen
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Counts the solutions of the puzzle and records the columns chosen in the
+	 * EngineMetrics
+	 *
+	 * @param puzzle the Sudoku board to solve
+	 * @param limit  the maximum number of solutions counted
+	 * @return the number of solutions found, at most limit
+	 */
+	private int search(Board puzzle, int limit) {
+		int count = explore(puzzle, limit);
+
+		if (EngineMetrics.ENABLED) {
+			EngineMetrics.searched(nodes);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Iterative Algorithm X counting the solutions of the puzzle
+	 *
+	 * @param puzzle the Sudoku board to solve
+	 * @param limit  the maximum number of solutions counted
+	 * @return the number of solutions found, at most limit
+	 */
+	private int explore(Board puzzle, int limit) {
+		nodes = 0;
+
+		if (!puzzle.isValid()) {
+			return 0;
+		}
+
+		// Removes the constraints satisfied by the numbers already on the board
+		int given = 0;
+		for (int i = 0; i < Board.SIZE; i++) {
+			if (puzzle.get(i) != 0) {
+				givens[given] = FIRST + (i * 9 + puzzle.get(i) - 1) * 4;
+				select(givens[given++]);
+			}
+		}
+
+		int count = 0, depth = 0;
+		boolean forward = true;
+
+		while (true) {
+			if (forward) {
+				nodes++;
+
+				if (right[0] == 0) {
+					if (count++ == 0) {
+						record(puzzle, depth);
+					}
+					if (count >= limit) {
+						break;
+					}
+					forward = false;
+					continue;
+				}
+
+				choice[depth] = smallestColumn();
+				cover(choice[depth]);
+			} else {
+				if (depth == 0) {
+					break;
+				}
+
+				depth--;
+				for (int j = left[choice[depth]]; j != choice[depth]; j = left[j]) {
+					uncover(column[j]);
+				}
+			}
+
+			// Tries the next row of the column chosen at this depth
+			int row = down[choice[depth]];
+
+			if (row < FIRST) {
+				uncover(row);
+				forward = false;
+			} else {
+				choice[depth] = row;
+				for (int j = right[row]; j != row; j = right[j]) {
+					cover(column[j]);
+				}
+				depth++;
+				forward = true;
+			}
+		}
+
+		// Restores the links when the search stopped early
+		while (depth > 0) {
+			depth--;
+			unselect(choice[depth]);
+		}
+
+		while (given > 0) {
+			unselect(givens[--given]);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Copies the puzzle and the rows chosen by the search to the solution
+	 *
+	 * @param puzzle the Sudoku board being solved
+	 * @param depth  the number of rows chosen
+	 */
+	private void record(Board puzzle, int depth) {
+		for (int i = 0; i < Board.SIZE; i++) {
+			solution[i] = (byte) puzzle.get(i);
+		}
+
+		for (int d = 0; d < depth; d++) {
+			int row = (choice[d] - FIRST) / 4;
+			solution[row / 9] = (byte) (row % 9 + 1);
+		}
+	}
+
+	/**
+	 * Finds the uncovered column with the fewest nodes
+	 *
+	 * @return the column header
+	 */
+	private int smallestColumn() {
+		int best = right[0], min = size[best];
+
+		for (int c = right[best]; c != 0 && min > 1; c = right[c]) {
+			int n = size[c];
+			if (n < min) {
+				best = c;
+				min = n;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Covers the columns of a row, starting with the column of the node
+	 *
+	 * @param node a node of the row
+	 */
+	private void select(int node) {
+		cover(column[node]);
+		for (int j = right[node]; j != node; j = right[j]) {
+			cover(column[j]);
+		}
+	}
+
+	/**
+	 * Uncovers the columns of a row in the reverse order of select
+	 *
+	 * @param node the node given to select
+	 */
+	private void unselect(int node) {
+		for (int j = left[node]; j != node; j = left[j]) {
+			uncover(column[j]);
+		}
+		uncover(column[node]);
+	}
+
+	/**
+	 * Removes a column and the rows intersecting it from the matrix
+	 *
+	 * @param header the column header
+	 */
+	private void cover(int header) {
+		right[left[header]] = right[header];
+		left[right[header]] = left[header];
+
+		for (int i = down[header]; i != header; i = down[i]) {
+			for (int j = right[i]; j != i; j = right[j]) {
+				down[up[j]] = down[j];
+				up[down[j]] = up[j];
+				size[column[j]]--;
+			}
+		}
+	}
+
+	/**
+	 * Puts back a column and the rows intersecting it in the matrix
+	 *
+	 * @param header the column header
+	 */
+	private void uncover(int header) {
+		for (int i = up[header]; i != header; i = up[i]) {
+			for (int j = left[i]; j != i; j = left[j]) {
+				size[column[j]]++;
+				down[up[j]] = j;
+				up[down[j]] = j;
+			}
+		}
+
+		right[left[header]] = header;
+		left[right[header]] = header;
+	}
+}
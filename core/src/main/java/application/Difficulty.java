@@ -0,0 +1,61 @@
+package application;
+
+import java.util.Locale;
+
+/**
+ * The enum <b>Difficulty</b> is the level of a puzzle, given by the hardest
+ * solving technique a player needs (see LogicalSolver).
+ *
+ * @author Benoît
+ *
+ */
+public enum Difficulty {
+	/**
+	 * Solved with the naked and hidden singles only
+	 */
+	EASY("Easy"),
+	/**
+	 * Needs the locked candidates or the naked and hidden pairs
+	 */
+	MEDIUM("Medium"),
+	/**
+	 * Needs the naked and hidden triples or the X-Wing
+	 */
+	HARD("Hard"),
+	/**
+	 * Needs the Swordfish, the XY-Wing or more than the techniques of
+	 * LogicalSolver
+	 */
+	EXPERT("Expert");
+
+	private final String name;
+
+	/**
+	 * Constructor for Difficulty
+	 *
+	 * @param name the name shown to the player
+	 */
+	Difficulty(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Getter method for the name shown to the player
+	 *
+	 * @return the name of the difficulty
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Parses a difficulty from its name, in any case
+	 *
+	 * @param name the name of the difficulty
+	 * @return the difficulty
+	 * @throws IllegalArgumentException if there is no such difficulty
+	 */
+	public static Difficulty parse(String name) {
+		return valueOf(name.toUpperCase(Locale.ROOT));
+	}
+}
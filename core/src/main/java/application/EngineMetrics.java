@@ -0,0 +1,328 @@
+package application;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The class <b>EngineMetrics</b> records what the engine does: the durations of
+ * the generation of the full and player's boards, of the uniqueness checks and
+ * of the checks of the boards, the backtracks of the generator and the boards
+ * visited by the solver, and gauges such as the depths of the queues of
+ * puzzles.
+ *
+ * Recording is lock-free: the counts are LongAdders and the durations
+ * ConcurrentHistograms, striped over the threads recording them. The metrics
+ * are disabled with the system property sudoku.metrics.disabled, which the JIT
+ * compiler folds so recording costs nothing.
+ *
+ * The metrics are registered on the platform MBean server (see
+ * EngineMetricsMXBean) by registerMBean(), or when first used if the system
+ * property sudoku.metrics.jmx is true, and are dumped to the standard error
+ * every sudoku.metrics.dump seconds if that system property is set. Both are
+ * opt-in, since the management classes would slow the start of every process
+ * down.
+ *
+ * @author Benoît
+ *
+ */
+public final class EngineMetrics implements EngineMetricsMXBean {
+
+	/**
+	 * True unless the metrics are disabled by the system property
+	 * sudoku.metrics.disabled
+	 */
+	public static final boolean ENABLED = !Boolean.getBoolean("sudoku.metrics.disabled");
+
+	/**
+	 * Name of the metrics on the platform MBean server
+	 */
+	public static final String NAME = "application:type=EngineMetrics";
+
+	private static final EngineMetrics INSTANCE = new EngineMetrics();
+
+	/**
+	 * Executor of the periodic dumps, null until the first dump
+	 */
+	private static ScheduledExecutorService dumper;
+
+	/**
+	 * True once the metrics are registered on the platform MBean server
+	 */
+	private static boolean registered;
+
+	static {
+		if (ENABLED) {
+			if (Boolean.getBoolean("sudoku.metrics.jmx")) {
+				registerMBean();
+			}
+
+			long period = Long.getLong("sudoku.metrics.dump", 0);
+			if (period > 0) {
+				startDump(System.err, period, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	private final ConcurrentHistogram generateBoard = new ConcurrentHistogram();
+	private final ConcurrentHistogram generatePlayer = new ConcurrentHistogram();
+	private final ConcurrentHistogram uniqueness = new ConcurrentHistogram();
+	private final ConcurrentHistogram checkBoard = new ConcurrentHistogram();
+
+	private final LongAdder backtracks = new LongAdder();
+	private final LongAdder searches = new LongAdder(), nodes = new LongAdder();
+
+	/**
+	 * Gauges by name, read when reported
+	 */
+	private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor for EngineMetrics, there is one instance per JVM
+	 */
+	private EngineMetrics() {
+	}
+
+	/**
+	 * Returns the metrics of the engine
+	 *
+	 * @return the only instance
+	 */
+	public static EngineMetrics get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Registers the metrics on the platform MBean server, once, unless they are
+	 * disabled
+	 */
+	public static synchronized void registerMBean() {
+		if (!ENABLED || registered) {
+			return;
+		}
+
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(NAME));
+			registered = true;
+		} catch (JMException | SecurityException e) {
+			System.err.println("Cannot register the engine metrics: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Records the generation of a full board
+	 *
+	 * @param nanos      the duration in nanoseconds
+	 * @param backtracks the number of backtracks of the generator
+	 */
+	static void boardGenerated(long nanos, int backtracks) {
+		INSTANCE.generateBoard.record(nanos);
+		INSTANCE.backtracks.add(backtracks);
+	}
+
+	/**
+	 * Records the generation of a player's board
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	static void playerGenerated(long nanos) {
+		INSTANCE.generatePlayer.record(nanos);
+	}
+
+	/**
+	 * Records a check of the uniqueness of a solution
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	static void uniquenessChecked(long nanos) {
+		INSTANCE.uniqueness.record(nanos);
+	}
+
+	/**
+	 * Records a check of a board against the Sudoku rules
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	static void boardChecked(long nanos) {
+		INSTANCE.checkBoard.record(nanos);
+	}
+
+	/**
+	 * Records a search of the solver
+	 *
+	 * @param nodes the number of boards visited
+	 */
+	static void searched(long nodes) {
+		INSTANCE.searches.increment();
+		INSTANCE.nodes.add(nodes);
+	}
+
+	/**
+	 * Adds a gauge, replacing the gauge of the same name
+	 *
+	 * @param name  the name of the gauge
+	 * @param gauge reads the current value, from any thread
+	 */
+	public static void gauge(String name, LongSupplier gauge) {
+		INSTANCE.gauges.put(name, gauge);
+	}
+
+	/**
+	 * Removes a gauge
+	 *
+	 * @param name the name of the gauge
+	 */
+	public static void removeGauge(String name) {
+		INSTANCE.gauges.remove(name);
+	}
+
+	/**
+	 * Prints the report of the metrics periodically, from a daemon thread shared
+	 * by every dump
+	 *
+	 * @param out    the stream the report is printed to
+	 * @param period the time between two reports
+	 * @param unit   the unit of the period
+	 * @return the task printing the report, cancelled to stop it
+	 */
+	public static ScheduledFuture<?> startDump(PrintStream out, long period, TimeUnit unit) {
+		return dumper().scheduleAtFixedRate(() -> out.print(INSTANCE.dump()), period, period, unit);
+	}
+
+	/**
+	 * Returns the executor of the dumps, started by the first dump
+	 *
+	 * @return the executor, with a single daemon thread
+	 */
+	private static synchronized ScheduledExecutorService dumper() {
+		if (dumper == null) {
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+				Thread thread = new Thread(task, "EngineMetrics-dump");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+			// A dump cancelled does not stay in the queue until its next run
+			executor.setRemoveOnCancelPolicy(true);
+			dumper = executor;
+		}
+		return dumper;
+	}
+
+	@Override
+	public long getBoardsGenerated() {
+		return generateBoard.count();
+	}
+
+	@Override
+	public long getBacktracks() {
+		return backtracks.sum();
+	}
+
+	@Override
+	public double getGenerateBoardP50() {
+		return generateBoard.snapshot().percentile(0.5) / 1e3;
+	}
+
+	@Override
+	public double getGenerateBoardP99() {
+		return generateBoard.snapshot().percentile(0.99) / 1e3;
+	}
+
+	@Override
+	public long getPlayersGenerated() {
+		return generatePlayer.count();
+	}
+
+	@Override
+	public double getGeneratePlayerP50() {
+		return generatePlayer.snapshot().percentile(0.5) / 1e3;
+	}
+
+	@Override
+	public double getGeneratePlayerP99() {
+		return generatePlayer.snapshot().percentile(0.99) / 1e3;
+	}
+
+	@Override
+	public long getUniquenessChecks() {
+		return uniqueness.count();
+	}
+
+	@Override
+	public double getUniquenessCheckP50() {
+		return uniqueness.snapshot().percentile(0.5) / 1e3;
+	}
+
+	@Override
+	public double getUniquenessCheckP99() {
+		return uniqueness.snapshot().percentile(0.99) / 1e3;
+	}
+
+	@Override
+	public long getBoardsChecked() {
+		return checkBoard.count();
+	}
+
+	@Override
+	public double getCheckBoardP99() {
+		return checkBoard.snapshot().percentile(0.99) / 1e3;
+	}
+
+	@Override
+	public long getSearches() {
+		return searches.sum();
+	}
+
+	@Override
+	public long getSearchNodes() {
+		return nodes.sum();
+	}
+
+	@Override
+	public Map<String, Long> getGauges() {
+		Map<String, Long> values = new TreeMap<>();
+		gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+		return values;
+	}
+
+	@Override
+	public String dump() {
+		StringBuilder sb = new StringBuilder();
+
+		long boards = getBoardsGenerated(), searched = getSearches();
+		sb.append(String.format("generateBoard   %d boards, %d backtracks, %s%n", boards, getBacktracks(),
+				generateBoard.snapshot()));
+		sb.append(String.format("generatePlayer  %d boards, %s%n", getPlayersGenerated(), generatePlayer.snapshot()));
+		sb.append(String.format("uniqueness      %d checks, %s%n", getUniquenessChecks(), uniqueness.snapshot()));
+		sb.append(String.format("checkBoard      %d boards, %s%n", getBoardsChecked(), checkBoard.snapshot()));
+		sb.append(String.format("solver          %d searches, %d nodes, %.1f nodes per search%n", searched,
+				getSearchNodes(), searched == 0 ? 0 : (double) getSearchNodes() / searched));
+
+		getGauges().forEach((name, value) -> sb.append(String.format("%-15s %d%n", name, value)));
+
+		return sb.toString();
+	}
+
+	@Override
+	public void reset() {
+		generateBoard.clear();
+		generatePlayer.clear();
+		uniqueness.clear();
+		checkBoard.clear();
+		backtracks.reset();
+		searches.reset();
+		nodes.reset();
+	}
+}
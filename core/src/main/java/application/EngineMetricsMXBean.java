@@ -0,0 +1,135 @@
+package application;
+
+import java.util.Map;
+
+/**
+ * The interface <b>EngineMetricsMXBean</b> is the management interface of the
+ * EngineMetrics, registered on the platform MBean server as
+ * application:type=EngineMetrics. The durations are in microseconds.
+ *
+ * @author Benoît
+ *
+ */
+public interface EngineMetricsMXBean {
+
+	/**
+	 * Returns the number of full boards generated
+	 *
+	 * @return the number of calls to generateBoard
+	 */
+	long getBoardsGenerated();
+
+	/**
+	 * Returns the number of backtracks done while generating the full boards
+	 *
+	 * @return the number of backtracks
+	 */
+	long getBacktracks();
+
+	/**
+	 * Returns the median duration of the generation of a full board
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getGenerateBoardP50();
+
+	/**
+	 * Returns the 99th percentile of the duration of the generation of a full
+	 * board
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getGenerateBoardP99();
+
+	/**
+	 * Returns the number of player's boards generated
+	 *
+	 * @return the number of calls to generatePlayer
+	 */
+	long getPlayersGenerated();
+
+	/**
+	 * Returns the median duration of the generation of a player's board
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getGeneratePlayerP50();
+
+	/**
+	 * Returns the 99th percentile of the duration of the generation of a player's
+	 * board
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getGeneratePlayerP99();
+
+	/**
+	 * Returns the number of checks of the uniqueness of a solution
+	 *
+	 * @return the number of checks
+	 */
+	long getUniquenessChecks();
+
+	/**
+	 * Returns the median duration of a check of the uniqueness of a solution
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getUniquenessCheckP50();
+
+	/**
+	 * Returns the 99th percentile of the duration of a check of the uniqueness of
+	 * a solution
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getUniquenessCheckP99();
+
+	/**
+	 * Returns the number of boards checked against the Sudoku rules
+	 *
+	 * @return the number of calls to checkBoard
+	 */
+	long getBoardsChecked();
+
+	/**
+	 * Returns the 99th percentile of the duration of a check of a board
+	 *
+	 * @return the duration in microseconds
+	 */
+	double getCheckBoardP99();
+
+	/**
+	 * Returns the number of searches of the solver
+	 *
+	 * @return the number of searches
+	 */
+	long getSearches();
+
+	/**
+	 * Returns the number of boards visited by the searches of the solver
+	 *
+	 * @return the number of search nodes
+	 */
+	long getSearchNodes();
+
+	/**
+	 * Returns the current values of the gauges, such as the depths of the queues
+	 * of puzzles
+	 *
+	 * @return the value of every gauge by name
+	 */
+	Map<String, Long> getGauges();
+
+	/**
+	 * Builds a text report of every metric
+	 *
+	 * @return the report, one metric per line
+	 */
+	String dump();
+
+	/**
+	 * Removes every count and duration recorded, the gauges are kept
+	 */
+	void reset();
+}
@@ -0,0 +1,459 @@
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The class <b>GameState</b> keeps track of the moves of the player on a
+ * puzzle. The counts of every number in every row, column and block are
+ * updated on every move, so checking if the game is solved or if an element
+ * conflicts with its neighbours does not scan the board. The locations of
+ * every number (0 for the empty ones) are also kept in lists, so the elements
+ * equal to a number are found without scanning the board.
+ *
+ * The notes of the player (the candidates written in an empty location) are
+ * 9-bit masks (see Board). Placing a value removes it from the notes of its 20
+ * neighbours only.
+ *
+ * The moves played are kept in a MoveLog, so they can be undone and redone. A
+ * game is saved to a small binary file with its puzzle, its moves and its time,
+ * and is loaded back by replaying the moves.
+ *
+ * @author Benoît
+ *
+ */
+public class GameState {
+
+	/**
+	 * Identifier of a saved game, "SDKG"
+	 */
+	private static final int MAGIC = 0x53444B47;
+
+	/**
+	 * Version of the format of a saved game
+	 */
+	private static final short VERSION = 1;
+
+	/**
+	 * Size of the header of a saved game, before the moves: magic, version,
+	 * numbers of moves, times, then the puzzle and its solution packed
+	 */
+	private static final int HEADER = 32 + 2 * PuzzleFileWriter.VALUES;
+
+	/**
+	 * Player's board
+	 */
+	private final Board board = new Board();
+
+	/**
+	 * Puzzle being played
+	 */
+	private final Puzzle puzzle;
+
+	/**
+	 * Locations of every number, the first count[n] elements of positions[n] are
+	 * the locations containing n
+	 */
+	private final int[][] positions = new int[10][Board.SIZE];
+
+	/**
+	 * Number of locations containing every number
+	 */
+	private final int[] count = new int[10];
+
+	/**
+	 * Index of every location in the list of its number
+	 */
+	private final int[] index = new int[Board.SIZE];
+
+	/**
+	 * Notes of every location, as masks of the numbers
+	 */
+	private final int[] notes = new int[Board.SIZE];
+
+	/**
+	 * Moves played, and the moves undone that can be redone
+	 */
+	private final MoveLog moves = new MoveLog();
+
+	/**
+	 * Time of the game when it was loaded, in milliseconds
+	 */
+	private long elapsed;
+
+	/**
+	 * Constructor for GameState
+	 *
+	 * @param puzzle the puzzle played
+	 */
+	public GameState(Puzzle puzzle) {
+		this.puzzle = puzzle;
+		reset();
+	}
+
+	/**
+	 * Getter method for the puzzle played
+	 *
+	 * @return the puzzle
+	 */
+	public Puzzle getPuzzle() {
+		return puzzle;
+	}
+
+	/**
+	 * Returns the value at the specified location
+	 *
+	 * @param num the location of the element
+	 * @return the value, 0 if the location is empty
+	 */
+	public int get(int num) {
+		return board.get(num);
+	}
+
+	/**
+	 * Checks if the element at the specified location was uncovered at the start
+	 * of the game
+	 *
+	 * @param num the location of the element
+	 * @return true if the element cannot be changed, false otherwise
+	 */
+	public boolean isGiven(int num) {
+		return puzzle.get(num) != 0;
+	}
+
+	/**
+	 * Sets the value of a location which was not uncovered at the start of the
+	 * game
+	 *
+	 * @param num   the location of the element
+	 * @param value the new value, 0 to empty the location
+	 * @return the previous value
+	 * @throws IllegalArgumentException if the location was uncovered at the start
+	 */
+	public int set(int num, int value) {
+		if (isGiven(num)) {
+			throw new IllegalArgumentException("The location " + num + " cannot be changed");
+		}
+
+		int old = board.get(num);
+
+		if (old != value) {
+			board.set(num, value);
+
+			// Moves the location from the list of the old number to the new one
+			int last = positions[old][--count[old]];
+			positions[old][index[num]] = last;
+			index[last] = index[num];
+
+			index[num] = count[value];
+			positions[value][count[value]++] = num;
+
+			if (value != 0) {
+				int bit = Board.bit(value);
+				notes[num] = 0;
+
+				for (int peer : Board.PEERS[num]) {
+					notes[peer] &= ~bit;
+				}
+			}
+		}
+
+		return old;
+	}
+
+	/**
+	 * Sets the value of a location and records the move, so it can be undone
+	 *
+	 * @param num     the location of the element
+	 * @param value   the new value, 0 to empty the location
+	 * @param elapsed the time of the game, in milliseconds
+	 * @return the previous value
+	 * @throws IllegalArgumentException if the location was uncovered at the start
+	 */
+	public int play(int num, int value, long elapsed) {
+		int old = set(num, value);
+
+		if (old != value) {
+			moves.record(num, old, value, false, elapsed);
+		}
+
+		return old;
+	}
+
+	/**
+	 * Empties every location filled by the player and removes the notes, the
+	 * locations emptied are recorded as a single move
+	 *
+	 * @param elapsed the time of the game, in milliseconds
+	 */
+	public void clear(long elapsed) {
+		boolean linked = false;
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			notes[i] = 0;
+
+			int old = board.get(i);
+			if (old != 0 && !isGiven(i)) {
+				set(i, 0);
+				moves.record(i, old, 0, linked, elapsed);
+				linked = true;
+			}
+		}
+	}
+
+	/**
+	 * Undoes the last move, with the moves linked to it
+	 *
+	 * @return true if a move was undone, false if no move was played
+	 */
+	public boolean undo() {
+		if (!moves.canUndo()) {
+			return false;
+		}
+
+		int move;
+		do {
+			move = moves.undo();
+			set(MoveLog.cell(move), MoveLog.oldValue(move));
+		} while (MoveLog.isLinked(move));
+
+		return true;
+	}
+
+	/**
+	 * Redoes the last move undone, with the moves linked to it
+	 *
+	 * @return true if a move was redone, false if no move was undone
+	 */
+	public boolean redo() {
+		if (!moves.canRedo()) {
+			return false;
+		}
+
+		do {
+			int move = moves.redo();
+			set(MoveLog.cell(move), MoveLog.newValue(move));
+		} while (moves.canRedo() && MoveLog.isLinked(moves.peekRedo()));
+
+		return true;
+	}
+
+	/**
+	 * Getter method for the moves of the game
+	 *
+	 * @return the move log, read only
+	 */
+	public MoveLog getMoves() {
+		return moves;
+	}
+
+	/**
+	 * Getter method for the time of the game when it was loaded
+	 *
+	 * @return the time in milliseconds, 0 for a new game
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * Writes the game to a binary file: the puzzle and its solution packed, the
+	 * moves (with the ones undone) and the time of the game. The notes are not
+	 * saved.
+	 *
+	 * @param path    the file written
+	 * @param elapsed the time of the game, in milliseconds
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path path, long elapsed) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + 4 * moves.size());
+
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putShort((short) 0);
+		buffer.putInt(moves.size());
+		buffer.putInt(moves.position());
+		buffer.putLong(elapsed);
+		buffer.putLong(moves.getLast());
+
+		Nibbles.put(buffer, puzzle::get);
+		Nibbles.put(buffer, puzzle::getSolution);
+
+		for (int i = 0; i < moves.size(); i++) {
+			buffer.putInt(moves.get(i));
+		}
+
+		Files.write(path, buffer.array());
+	}
+
+	/**
+	 * Reads a game from a binary file, replaying its moves from the start of the
+	 * puzzle
+	 *
+	 * @param path the file read
+	 * @return the game, at the same move and time as when it was saved
+	 * @throws IOException if the file cannot be read or is not a saved game
+	 */
+	public static GameState load(Path path) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+		if (buffer.remaining() < HEADER || buffer.getInt() != MAGIC) {
+			throw new IOException(path + " is not a saved game");
+		}
+		if (buffer.getShort() != VERSION) {
+			throw new IOException(path + " has an unsupported version");
+		}
+		buffer.getShort();
+
+		int count = buffer.getInt(), position = buffer.getInt();
+		long elapsed = buffer.getLong(), last = buffer.getLong();
+
+		if (count < 0 || position < 0 || position > count
+				|| buffer.remaining() != 2 * PuzzleFileWriter.VALUES + 4L * count) {
+			throw new IOException(path + " is truncated");
+		}
+
+		byte[] values = new byte[Board.SIZE], solution = new byte[Board.SIZE];
+		Nibbles.get(buffer, values);
+		Nibbles.get(buffer, solution);
+
+		int[] log = new int[count];
+		for (int i = 0; i < count; i++) {
+			log[i] = buffer.getInt();
+		}
+
+		GameState game;
+		try {
+			game = new GameState(new Puzzle(values, solution));
+			for (int i = 0; i < position; i++) {
+				game.set(MoveLog.cell(log[i]), MoveLog.newValue(log[i]));
+			}
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException(path + " is corrupted", e);
+		}
+
+		game.moves.restore(log, count, position, last);
+		game.elapsed = elapsed;
+		return game;
+	}
+
+	/**
+	 * Returns the notes of a location
+	 *
+	 * @param num the location of the element
+	 * @return the mask of the numbers noted
+	 */
+	public int getNotes(int num) {
+		return notes[num];
+	}
+
+	/**
+	 * Adds a number to the notes of an empty location, or removes it if it is
+	 * already noted
+	 *
+	 * @param num   the location of the element
+	 * @param value the number, from 1 to 9
+	 * @return true if the number is noted, false otherwise
+	 * @throws IllegalArgumentException if the location is not empty
+	 */
+	public boolean toggleNote(int num, int value) {
+		if (board.get(num) != 0) {
+			throw new IllegalArgumentException("The location " + num + " is not empty");
+		}
+
+		notes[num] ^= Board.bit(value);
+		return (notes[num] & Board.bit(value)) != 0;
+	}
+
+	/**
+	 * Notes the candidates of every empty location, the numbers not in its row,
+	 * column or block
+	 */
+	public void fillNotes() {
+		for (int i = 0; i < Board.SIZE; i++) {
+			notes[i] = board.get(i) == 0 ? board.candidates(i) : 0;
+		}
+	}
+
+	/**
+	 * Puts the board back to its state at the start of the game, without notes
+	 * nor moves
+	 */
+	public void reset() {
+		moves.clear();
+
+		for (int i = 0; i < 10; i++) {
+			count[i] = 0;
+		}
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			int value = puzzle.get(i);
+
+			board.set(i, value);
+			notes[i] = 0;
+			index[i] = count[value];
+			positions[value][count[value]++] = i;
+		}
+	}
+
+	/**
+	 * Returns the number of locations containing the specified number
+	 *
+	 * @param value the number researched, 0 for the empty locations
+	 * @return the number of elements equal to value
+	 */
+	public int count(int value) {
+		return count[value];
+	}
+
+	/**
+	 * Returns a location containing the specified number
+	 *
+	 * @param value the number researched, 0 for the empty locations
+	 * @param i     the index of the location, from 0 to count(value) - 1
+	 * @return the location of the i-th element equal to value
+	 */
+	public int position(int value, int i) {
+		return positions[value][i];
+	}
+
+	/**
+	 * Checks if the value at the specified location appears again in its row,
+	 * column or block
+	 *
+	 * @param num the location of the element
+	 * @return true if the value conflicts with a neighbour, false otherwise
+	 */
+	public boolean conflicts(int num) {
+		return board.conflicts(num);
+	}
+
+	/**
+	 * Returns the number of conflicts on the board
+	 *
+	 * @return the number of conflicts
+	 */
+	public int getConflicts() {
+		return board.duplicates();
+	}
+
+	/**
+	 * Returns the number of non-empty locations
+	 *
+	 * @return the number of non-empty locations
+	 */
+	public int filled() {
+		return board.filled();
+	}
+
+	/**
+	 * Checks if the board is full and conforms to the Sudoku rules
+	 *
+	 * @return true if the game is solved, false otherwise
+	 */
+	public boolean isSolved() {
+		return board.isSolved();
+	}
+}
@@ -0,0 +1,144 @@
+package application;
+
+import java.util.SplittableRandom;
+
+/**
+ * The class <b>Generator</b> fills a Sudoku board using an iterative
+ * backtracking algorithm. The locations are filled from the most constrained
+ * one (fewest candidates) and the state of the search is kept in an explicit
+ * stack, so the call stack never grows with the amount of backtracking.
+ *
+ * Every generator has its own SplittableRandom, so generating does not
+ * allocate or contend with other threads, and seeding it makes the generated
+ * boards reproducible.
+ *
+ * @author Benoît
+ *
+ */
+public class Generator {
+
+	/**
+	 * Number of backtracks after which the search starts over from an empty
+	 * board, keeps the generation time bounded
+	 */
+	private static final int RESTART = 100;
+
+	/**
+	 * Location filled at every depth of the search
+	 */
+	private final int[] cells = new int[Board.SIZE];
+
+	/**
+	 * Values already tried at every depth of the search (as masks)
+	 */
+	private final int[] tried = new int[Board.SIZE];
+
+	/**
+	 * Source of the random values
+	 */
+	private SplittableRandom random;
+
+	/**
+	 * Number of backtracks done while generating the last board
+	 */
+	private int backtracks;
+
+	/**
+	 * Constructor for Generator
+	 */
+	public Generator() {
+		random = new SplittableRandom();
+	}
+
+	/**
+	 * Constructor for Generator using the specified seed
+	 *
+	 * @param seed the seed of the random values
+	 */
+	public Generator(long seed) {
+		setSeed(seed);
+	}
+
+	/**
+	 * Restarts the random values from the specified seed, the same seed always
+	 * giving the same boards
+	 *
+	 * @param seed the seed of the random values
+	 */
+	public void setSeed(long seed) {
+		random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Getter method for the source of random values, shared with the generation
+	 * of the player's board
+	 *
+	 * @return the source of random values
+	 */
+	SplittableRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Clears the board and fills it with a random valid Sudoku grid
+	 *
+	 * @param board the board to fill
+	 */
+	public void generate(Board board) {
+		backtracks = 0;
+
+		int depth = restart(board), sinceRestart = 0;
+
+		while (true) {
+			int num = cells[depth];
+			board.set(num, 0);
+
+			int available = board.candidates(num) & ~tried[depth];
+
+			if (available == 0) {
+				backtracks++;
+
+				if (++sinceRestart > RESTART || depth == 0) {
+					depth = restart(board);
+					sinceRestart = 0;
+				} else {
+					depth--;
+				}
+			} else {
+				int value = Board.nth(available, random.nextInt(Integer.bitCount(available)));
+				tried[depth] |= Board.bit(value);
+				board.set(num, value);
+
+				if (board.isFull()) {
+					return;
+				}
+
+				depth++;
+				cells[depth] = board.mostConstrained();
+				tried[depth] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Empties the board and resets the search to its first location
+	 *
+	 * @param board the board being filled
+	 * @return the depth of the search (0)
+	 */
+	private int restart(Board board) {
+		board.clear();
+		cells[0] = random.nextInt(Board.SIZE);
+		tried[0] = 0;
+		return 0;
+	}
+
+	/**
+	 * Getter method for the number of backtracks of the last generated board
+	 *
+	 * @return the number of backtracks
+	 */
+	public int getBacktracks() {
+		return backtracks;
+	}
+}
@@ -0,0 +1,445 @@
+package application;
+
+/**
+ * The class <b>Grid</b> is a Sudoku board of any block size from 2 to 5, so
+ * from 4x4 to 25x25 boards. It works like Board: the values are stored in a
+ * byte array and every row, column and block keeps a mask of the numbers it
+ * contains, sized to the number of values (at most 25 bits).
+ *
+ * Board remains the representation of the 9x9 boards, its tables are static
+ * so it is faster than a Grid of block size 3.
+ *
+ * The values are written with the characters 1 to 9 then A to P, and '.' for
+ * the empty locations.
+ *
+ * @author Benoît
+ *
+ */
+public class Grid {
+
+	/**
+	 * Smallest and largest block sizes
+	 */
+	public static final int MIN_BOX = 2, MAX_BOX = 5;
+
+	/**
+	 * Characters of the values, the value n being at n - 1
+	 */
+	private static final String DIGITS = "123456789ABCDEFGHIJKLMNOP";
+
+	/**
+	 * Tables of every block size, built when first used
+	 */
+	private static final Layout[] LAYOUTS = new Layout[MAX_BOX + 1];
+
+	/**
+	 * Tables of the block size of this grid
+	 */
+	final Layout layout;
+
+	/**
+	 * Values of the grid, 0 being an empty location
+	 */
+	private final byte[] cells;
+
+	/**
+	 * Number of appearance of every number in every unit (unit * side + number - 1)
+	 */
+	private final byte[] counts;
+
+	/**
+	 * Numbers present in every unit
+	 */
+	private final int[] masks;
+
+	/**
+	 * Number of non-empty locations and of extra appearances of a number in a unit
+	 */
+	private int filled, duplicates;
+
+	/**
+	 * Constructor for an empty Grid
+	 *
+	 * @param box the block size (3 for a 9x9 grid, 4 for 16x16, 5 for 25x25)
+	 * @throws IllegalArgumentException if the block size is not supported
+	 */
+	public Grid(int box) {
+		layout = layout(box);
+		cells = new byte[layout.size];
+		counts = new byte[3 * layout.side * layout.side];
+		masks = new int[3 * layout.side];
+	}
+
+	/**
+	 * Constructor copying the specified Grid
+	 *
+	 * @param other the Grid to copy
+	 */
+	public Grid(Grid other) {
+		this(other.box());
+		copy(other);
+	}
+
+	/**
+	 * Replaces the content of this Grid by the content of the specified Grid
+	 *
+	 * @param other the Grid to copy, of the same block size
+	 * @throws IllegalArgumentException if the block sizes are different
+	 */
+	public void copy(Grid other) {
+		if (other.layout != layout) {
+			throw new IllegalArgumentException("Block size " + other.box() + " instead of " + box());
+		}
+
+		System.arraycopy(other.cells, 0, cells, 0, cells.length);
+		System.arraycopy(other.counts, 0, counts, 0, counts.length);
+		System.arraycopy(other.masks, 0, masks, 0, masks.length);
+		filled = other.filled;
+		duplicates = other.duplicates;
+	}
+
+	/**
+	 * Returns the block size
+	 *
+	 * @return the number of rows and columns of a block
+	 */
+	public int box() {
+		return layout.box;
+	}
+
+	/**
+	 * Returns the number of values, rows, columns and blocks
+	 *
+	 * @return the size of a side of the grid
+	 */
+	public int side() {
+		return layout.side;
+	}
+
+	/**
+	 * Returns the number of locations
+	 *
+	 * @return the number of elements in the grid
+	 */
+	public int size() {
+		return layout.size;
+	}
+
+	/**
+	 * Returns the mask containing every number
+	 *
+	 * @return the mask of the numbers from 1 to side()
+	 */
+	public int all() {
+		return layout.all;
+	}
+
+	/**
+	 * Returns the value at the specified location
+	 *
+	 * @param num the location of the element
+	 * @return the value, 0 if the location is empty
+	 */
+	public int get(int num) {
+		return cells[num];
+	}
+
+	/**
+	 * Sets the value at the specified location and updates the masks of its row,
+	 * column and block
+	 *
+	 * @param num   the location of the element
+	 * @param value the new value, 0 to empty the location
+	 */
+	public void set(int num, int value) {
+		int old = cells[num];
+
+		if (old == value) {
+			return;
+		}
+
+		if (old != 0) {
+			remove(layout.row[num], old);
+			remove(layout.column[num], old);
+			remove(layout.block[num], old);
+			filled--;
+		}
+
+		cells[num] = (byte) value;
+
+		if (value != 0) {
+			add(layout.row[num], value);
+			add(layout.column[num], value);
+			add(layout.block[num], value);
+			filled++;
+		}
+	}
+
+	/**
+	 * Adds a number to a unit
+	 *
+	 * @param unit  the unit number
+	 * @param value the number added
+	 */
+	private void add(int unit, int value) {
+		if (counts[unit * layout.side + value - 1]++ == 0) {
+			masks[unit] |= Board.bit(value);
+		} else {
+			duplicates++;
+		}
+	}
+
+	/**
+	 * Removes a number from a unit
+	 *
+	 * @param unit  the unit number
+	 * @param value the number removed
+	 */
+	private void remove(int unit, int value) {
+		if (--counts[unit * layout.side + value - 1] == 0) {
+			masks[unit] &= ~Board.bit(value);
+		} else {
+			duplicates--;
+		}
+	}
+
+	/**
+	 * Empties every location of the grid
+	 */
+	public void clear() {
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = 0;
+		}
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		for (int i = 0; i < masks.length; i++) {
+			masks[i] = 0;
+		}
+		filled = 0;
+		duplicates = 0;
+	}
+
+	/**
+	 * Returns the numbers that are not in the row, column or block of the
+	 * specified location
+	 *
+	 * @param num the location of the element
+	 * @return a mask of the available numbers
+	 */
+	public int candidates(int num) {
+		return ~(masks[layout.row[num]] | masks[layout.column[num]] | masks[layout.block[num]]) & layout.all;
+	}
+
+	/**
+	 * Returns the numbers present in the specified unit
+	 *
+	 * @param unit the unit number (rows, then columns, then blocks)
+	 * @return a mask of the numbers in the unit
+	 */
+	public int unitMask(int unit) {
+		return masks[unit];
+	}
+
+	/**
+	 * Returns the number of non-empty locations
+	 *
+	 * @return the number of non-empty locations
+	 */
+	public int filled() {
+		return filled;
+	}
+
+	/**
+	 * Checks if the grid is full, does not have any zero
+	 *
+	 * @return true if the grid is full, false otherwise
+	 */
+	public boolean isFull() {
+		return filled == layout.size;
+	}
+
+	/**
+	 * Checks if no number appears twice in a row, column or block
+	 *
+	 * @return true if the grid is valid, false otherwise
+	 */
+	public boolean isValid() {
+		return duplicates == 0;
+	}
+
+	/**
+	 * Checks if the grid is full and conforms to the Sudoku rules
+	 *
+	 * @return true if the grid is solved, false otherwise
+	 */
+	public boolean isSolved() {
+		return filled == layout.size && duplicates == 0;
+	}
+
+	/**
+	 * Returns the row of a location
+	 *
+	 * @param num the location of the element
+	 * @return the unit number of the row (0 to side - 1)
+	 */
+	public int row(int num) {
+		return layout.row[num];
+	}
+
+	/**
+	 * Returns the column of a location
+	 *
+	 * @param num the location of the element
+	 * @return the unit number of the column (side to 2 * side - 1)
+	 */
+	public int column(int num) {
+		return layout.column[num];
+	}
+
+	/**
+	 * Returns the block of a location
+	 *
+	 * @param num the location of the element
+	 * @return the unit number of the block (2 * side to 3 * side - 1)
+	 */
+	public int block(int num) {
+		return layout.block[num];
+	}
+
+	/**
+	 * Returns a location of a unit
+	 *
+	 * @param unit the unit number (rows, then columns, then blocks)
+	 * @param i    the index of the element in the unit, from 0 to side - 1
+	 * @return the location of the element
+	 */
+	public int unit(int unit, int i) {
+		return layout.units[unit][i];
+	}
+
+	/**
+	 * Builds a grid from a line of side * side characters ('.' or '0' for the
+	 * empty locations)
+	 *
+	 * @param box  the block size
+	 * @param line the characters of the grid
+	 * @return the grid
+	 * @throws IllegalArgumentException if the line is not a grid of that size
+	 */
+	public static Grid parse(int box, CharSequence line) {
+		Grid grid = new Grid(box);
+
+		if (line.length() != grid.size()) {
+			throw new IllegalArgumentException("A grid has " + grid.size() + " elements, not " + line.length());
+		}
+
+		for (int i = 0; i < grid.size(); i++) {
+			char c = line.charAt(i);
+			int value = DIGITS.indexOf(Character.toUpperCase(c)) + 1;
+
+			if (value > 0 && value <= grid.side()) {
+				grid.set(i, value);
+			} else if (c != '.' && c != '0') {
+				throw new IllegalArgumentException("Invalid element '" + c + "' at " + i);
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Builds a String representation of the grid, one character per location
+	 *
+	 * @return the characters of the grid
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(cells.length);
+		for (byte value : cells) {
+			sb.append(value == 0 ? '.' : DIGITS.charAt(value - 1));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the tables of a block size, building them when first used
+	 *
+	 * @param box the block size
+	 * @return the tables
+	 * @throws IllegalArgumentException if the block size is not supported
+	 */
+	private static synchronized Layout layout(int box) {
+		if (box < MIN_BOX || box > MAX_BOX) {
+			throw new IllegalArgumentException("Block size " + box + " is not between " + MIN_BOX + " and " + MAX_BOX);
+		}
+
+		if (LAYOUTS[box] == null) {
+			LAYOUTS[box] = new Layout(box);
+		}
+		return LAYOUTS[box];
+	}
+
+	/**
+	 * The class <b>Layout</b> holds the tables of a block size, shared by every
+	 * grid of that size.
+	 */
+	static final class Layout {
+
+		final int box, side, size, all;
+
+		/**
+		 * Unit number of the row, column and block of every location
+		 */
+		final int[] row, column, block;
+
+		/**
+		 * Locations of the elements of every unit
+		 */
+		final int[][] units;
+
+		/**
+		 * Locations of the neighbours (same row, column or block) of every location
+		 */
+		final int[][] peers;
+
+		/**
+		 * Constructor for Layout, builds the tables
+		 *
+		 * @param box the block size
+		 */
+		private Layout(int box) {
+			this.box = box;
+			side = box * box;
+			size = side * side;
+			all = (1 << side) - 1;
+
+			row = new int[size];
+			column = new int[size];
+			block = new int[size];
+			units = new int[3 * side][side];
+			peers = new int[size][2 * (side - 1) + (box - 1) * (box - 1)];
+
+			int[] filled = new int[3 * side];
+
+			for (int i = 0; i < size; i++) {
+				row[i] = i / side;
+				column[i] = side + i % side;
+				block[i] = 2 * side + i / side / box * box + i % side / box;
+
+				units[row[i]][filled[row[i]]++] = i;
+				units[column[i]][filled[column[i]]++] = i;
+				units[block[i]][filled[block[i]]++] = i;
+			}
+
+			for (int i = 0; i < size; i++) {
+				int count = 0;
+
+				for (int j = 0; j < size; j++) {
+					if (i != j && (row[i] == row[j] || column[i] == column[j] || block[i] == block[j])) {
+						peers[i][count++] = j;
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package application;
+
+import java.util.SplittableRandom;
+
+/**
+ * The class <b>GridSolver</b> solves grids of any block size with the search
+ * of BacktrackingSolver (see CandidateSearch) over the tables of the block
+ * size: it fills the naked and hidden singles, then tries the candidates of
+ * the most constrained location, without allocating anything.
+ *
+ * The search can also try the candidates in a random order and give up after
+ * a number of boards visited, which is how GridGenerator fills empty grids.
+ *
+ * @author Benoît
+ *
+ */
+public class GridSolver {
+
+	private final Grid.Layout layout;
+
+	/**
+	 * Search over the tables of the block size
+	 */
+	private final CandidateSearch search;
+
+	/**
+	 * Number of boards visited by the last search
+	 */
+	private long nodes;
+
+	/**
+	 * Constructor for GridSolver
+	 *
+	 * @param box the block size of the grids solved
+	 * @throws IllegalArgumentException if the block size is not supported
+	 */
+	public GridSolver(int box) {
+		layout = new Grid(box).layout;
+		search = new CandidateSearch(layout.all, layout.units, layout.peers);
+	}
+
+	/**
+	 * Counts the solutions of the puzzle, stopping as soon as the limit is reached
+	 *
+	 * @param puzzle the grid to solve, left unchanged
+	 * @param limit  the maximum number of solutions counted
+	 * @return the number of solutions found, at most limit
+	 */
+	public int countSolutions(Grid puzzle, int limit) {
+		return search(puzzle, limit, null, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Fills the puzzle with its first solution found
+	 *
+	 * @param puzzle the grid to solve
+	 * @return true if the puzzle was solved, false if it has no solution
+	 */
+	public boolean solve(Grid puzzle) {
+		if (search(puzzle, 1, null, Long.MAX_VALUE) == 0) {
+			return false;
+		}
+
+		for (int i = 0; i < layout.size; i++) {
+			puzzle.set(i, search.getSolution(i));
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns a value of the first solution found by the last search
+	 *
+	 * @param num the location of the element
+	 * @return the value, undefined if the last search found no solution
+	 */
+	public int getSolution(int num) {
+		return search.getSolution(num);
+	}
+
+	/**
+	 * Getter method for the number of boards visited by the last search
+	 *
+	 * @return the number of boards visited
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Iterative search counting the solutions of the puzzle
+	 *
+	 * @param puzzle   the grid to solve
+	 * @param limit    the maximum number of solutions counted
+	 * @param random   the source of the order of the candidates, null to try them
+	 *                 in increasing order
+	 * @param maxNodes the number of boards visited after which the search gives up
+	 * @return the number of solutions found, at most limit, -1 if the search gave
+	 *         up
+	 * @throws IllegalArgumentException if the block size of the puzzle is not the
+	 *                                  one of the solver
+	 */
+	int search(Grid puzzle, int limit, SplittableRandom random, long maxNodes) {
+		if (!load(puzzle)) {
+			return 0;
+		}
+
+		int count = search.search(limit, random, maxNodes);
+		nodes = search.getNodes();
+
+		return count;
+	}
+
+	/**
+	 * Searches a solution of the puzzle without a value at a location, which is
+	 * how GridGenerator verifies that removing a value keeps the solution unique
+	 *
+	 * @param puzzle   the grid to solve, left unchanged
+	 * @param num      the empty location of the excluded value
+	 * @param digit    the excluded value
+	 * @param maxNodes the number of boards visited after which the search gives up
+	 * @return 1 if a solution has another value at num, 0 if none has, -1 if the
+	 *         search gave up
+	 * @throws IllegalArgumentException if the block size of the puzzle is not the
+	 *                                  one of the solver
+	 */
+	int searchWithout(Grid puzzle, int num, int digit, long maxNodes) {
+		if (!load(puzzle)) {
+			return 0;
+		}
+
+		int candidates = puzzle.candidates(num) & ~Board.bit(digit);
+		if (candidates == 0) {
+			return 0;
+		}
+		search.set(num, 0, candidates);
+
+		int count = search.search(1, null, maxNodes);
+		nodes = search.getNodes();
+
+		return count;
+	}
+
+	/**
+	 * Sets the puzzle as the grid searched
+	 *
+	 * @param puzzle the grid to solve
+	 * @return false if the puzzle breaks the Sudoku rules, true otherwise
+	 * @throws IllegalArgumentException if the block size of the puzzle is not the
+	 *                                  one of the solver
+	 */
+	private boolean load(Grid puzzle) {
+		if (puzzle.layout != layout) {
+			throw new IllegalArgumentException("Block size " + puzzle.box() + " instead of " + layout.box);
+		}
+
+		nodes = 0;
+
+		if (!puzzle.isValid()) {
+			return false;
+		}
+
+		for (int i = 0; i < layout.size; i++) {
+			int value = puzzle.get(i);
+			search.set(i, value, value == 0 ? puzzle.candidates(i) : 0);
+		}
+
+		return true;
+	}
+}
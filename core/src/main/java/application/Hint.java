@@ -0,0 +1,212 @@
+package application;
+
+/**
+ * The class <b>Hint</b> is an immutable step of a game shown to the player: a
+ * value placed by a single, candidates removed by a harder technique, or a
+ * value of the player that is not the one of the solution.
+ *
+ * The locations are written r1c1 (row and column from 1 to 9).
+ *
+ * @author Benoît
+ *
+ */
+public class Hint {
+
+	/**
+	 * Technique of the step, null for a mistake of the player
+	 */
+	private final Technique technique;
+
+	/**
+	 * Digit placed, removed or wrong, 0 if several digits are removed
+	 */
+	private final int digit;
+
+	/**
+	 * Unit of the step, -1 if it does not have one
+	 */
+	private final int unit;
+
+	/**
+	 * Locations of the pattern of the step (the location of the value for the
+	 * singles and the mistakes), the locations whose candidates are removed and
+	 * the candidates removed
+	 */
+	private final int[] cells, targets, removed;
+
+	/**
+	 * Constructor for a Hint of the step found by a LogicalSolver
+	 *
+	 * @param solver the solver, whose last step is copied
+	 */
+	Hint(LogicalSolver solver) {
+		technique = solver.getTechnique();
+		digit = solver.getDigit();
+		unit = solver.getUnit();
+
+		cells = new int[solver.getCellCount()];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = solver.getCell(i);
+		}
+
+		targets = new int[solver.getTargetCount()];
+		removed = new int[targets.length];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = solver.getTarget(i);
+			removed[i] = solver.getRemoved(i);
+		}
+	}
+
+	/**
+	 * Constructor for a Hint of a mistake of the player
+	 *
+	 * @param num   the location of the wrong value
+	 * @param value the wrong value
+	 */
+	Hint(int num, int value) {
+		technique = null;
+		digit = value;
+		unit = -1;
+		cells = new int[] { num };
+		targets = new int[0];
+		removed = new int[0];
+	}
+
+	/**
+	 * Getter method for the technique of the step
+	 *
+	 * @return the technique, null for a mistake
+	 */
+	public Technique getTechnique() {
+		return technique;
+	}
+
+	/**
+	 * Checks if the hint is a value of the player that is not the one of the
+	 * solution
+	 *
+	 * @return true for a mistake, false for a step of a technique
+	 */
+	public boolean isMistake() {
+		return technique == null;
+	}
+
+	/**
+	 * Getter method for the digit placed, removed or wrong
+	 *
+	 * @return the digit, 0 if several digits are removed
+	 */
+	public int getDigit() {
+		return digit;
+	}
+
+	/**
+	 * Getter method for the unit of the step (rows 0 to 8, columns 9 to 17,
+	 * blocks 18 to 26)
+	 *
+	 * @return the unit, -1 if the step does not have one
+	 */
+	public int getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Returns the locations of the pattern of the step
+	 *
+	 * @return a copy of the locations, the location of the value for the singles
+	 *         and the mistakes
+	 */
+	public int[] getCells() {
+		return cells.clone();
+	}
+
+	/**
+	 * Returns the locations whose candidates are removed by the step
+	 *
+	 * @return a copy of the locations, empty for the singles and the mistakes
+	 */
+	public int[] getTargets() {
+		return targets.clone();
+	}
+
+	/**
+	 * Returns the candidates removed from a location by the step
+	 *
+	 * @param i the index of the location in getTargets()
+	 * @return the mask of the candidates removed
+	 */
+	public int getRemoved(int i) {
+		return removed[i];
+	}
+
+	/**
+	 * Builds a description of the hint for the player
+	 *
+	 * @return the description
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+
+		if (technique == null) {
+			return sb.append("Mistake: ").append(digit).append(" is not the value of ").append(name(cells[0]))
+					.toString();
+		}
+
+		sb.append(technique.getName()).append(": ");
+
+		if (technique.isPlacement()) {
+			sb.append(name(cells[0])).append(" is ").append(digit);
+			if (unit != -1) {
+				sb.append(", the only place of ").append(digit).append(" in ").append(unitName(unit));
+			}
+			return sb.toString();
+		}
+
+		for (int i = 0; i < cells.length; i++) {
+			sb.append(i == 0 ? "" : " ").append(name(cells[i]));
+		}
+		if (unit != -1) {
+			sb.append(" in ").append(unitName(unit));
+		}
+
+		// A single digit is removed from every location at once
+		sb.append(", remove ");
+		if (digit != 0) {
+			sb.append(digit).append(" from ");
+		}
+		for (int i = 0; i < targets.length; i++) {
+			sb.append(i == 0 ? "" : ", ");
+			if (digit == 0) {
+				for (int mask = removed[i]; mask != 0; mask &= mask - 1) {
+					sb.append(Board.lowest(mask));
+				}
+				sb.append(" from ");
+			}
+			sb.append(name(targets[i]));
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Builds the name of a location
+	 *
+	 * @param num the location
+	 * @return the row and column of the location, from 1 to 9
+	 */
+	private static String name(int num) {
+		return "r" + (Board.ROW[num] + 1) + "c" + (Board.COL[num] + 1);
+	}
+
+	/**
+	 * Builds the name of a unit
+	 *
+	 * @param unit the unit number
+	 * @return the kind and number of the unit, from 1 to 9
+	 */
+	private static String unitName(int unit) {
+		String[] kinds = { "row ", "column ", "block " };
+		return kinds[unit / 9] + (unit % 9 + 1);
+	}
+}
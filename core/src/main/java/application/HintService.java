@@ -0,0 +1,117 @@
+package application;
+
+/**
+ * The class <b>HintService</b> finds the next logical step of a game. It keeps
+ * the candidates of the player's board as masks in a LogicalSolver, updated on
+ * every move: placing a value removes it from its 20 neighbours, emptying a
+ * location gives the value back to the neighbours it was removed from. The
+ * candidates removed by the hints shown stay removed when the player takes a
+ * value back.
+ *
+ * A hint never guesses, so it takes a few microseconds: a value of the player
+ * that is not the one of the solution is shown first, then the easiest step
+ * of the techniques of LogicalSolver. The candidates removed by a step are
+ * removed from the live candidates once shown, so the next hint goes further.
+ *
+ * A HintService is not thread-safe, the moves and the hints are expected on
+ * the thread of the GUI.
+ *
+ * @author Benoît
+ *
+ */
+public class HintService {
+
+	/**
+	 * Live candidates of the player's board
+	 */
+	private final LogicalSolver solver = new LogicalSolver();
+
+	/**
+	 * Board used to load the puzzle into the solver
+	 */
+	private final Board board = new Board();
+
+	/**
+	 * Puzzle played, with its solution
+	 */
+	private Puzzle puzzle;
+
+	/**
+	 * Constructor for HintService
+	 *
+	 * @param puzzle the puzzle played
+	 */
+	public HintService(Puzzle puzzle) {
+		load(puzzle);
+	}
+
+	/**
+	 * Starts a new game, or starts the game over
+	 *
+	 * @param puzzle the puzzle played
+	 */
+	public void load(Puzzle puzzle) {
+		this.puzzle = puzzle;
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			board.set(i, puzzle.get(i));
+		}
+		solver.load(board);
+	}
+
+	/**
+	 * Updates the candidates after a move of the player
+	 *
+	 * @param num   the location of the element
+	 * @param value the new value, 0 if the location was emptied
+	 */
+	public void set(int num, int value) {
+		if (solver.get(num) == value) {
+			return;
+		}
+
+		if (solver.get(num) != 0) {
+			solver.clear(num);
+		}
+		if (value != 0) {
+			solver.place(num, value);
+		}
+	}
+
+	/**
+	 * Returns the candidates left at a location
+	 *
+	 * @param num the location of the element
+	 * @return the mask of the candidates, 0 if the location is filled
+	 */
+	public int getCandidates(int num) {
+		return solver.getCandidates(num);
+	}
+
+	/**
+	 * Finds the next hint
+	 *
+	 * @return a mistake of the player, or the next step of the easiest technique,
+	 *         null if the board is solved or needs more than the techniques
+	 */
+	public Hint hint() {
+		for (int i = 0; i < Board.SIZE; i++) {
+			if (solver.get(i) != 0 && solver.get(i) != puzzle.getSolution(i)) {
+				return new Hint(i, solver.get(i));
+			}
+		}
+
+		if (solver.next() == null) {
+			return null;
+		}
+
+		Hint hint = new Hint(solver);
+
+		// The values are placed by the player, the candidates removed are kept
+		if (!hint.getTechnique().isPlacement()) {
+			solver.apply();
+		}
+
+		return hint;
+	}
+}
@@ -0,0 +1,193 @@
+package application;
+
+/**
+ * The class <b>LatencyHistogram</b> counts durations in logarithmic buckets:
+ * every power of two is split in 8 buckets, so a percentile is known within
+ * 12.5% whatever the duration. Recording a duration is a few bit operations
+ * and never allocates.
+ *
+ * A histogram is not thread-safe, every thread records to its own histogram
+ * and they are added together to be reported.
+ *
+ * @author Benoît
+ *
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Number of buckets of every power of two (as a power of two)
+	 */
+	private static final int SUB_BITS = 3, SUB = 1 << SUB_BITS;
+
+	/**
+	 * Durations below this value have their own bucket
+	 */
+	private static final int LINEAR = 2 * SUB;
+
+	/**
+	 * Number of buckets
+	 */
+	static final int BUCKETS = LINEAR + (64 - SUB_BITS - 1) * SUB;
+
+	/**
+	 * Number of durations of every bucket
+	 */
+	private final long[] counts = new long[BUCKETS];
+
+	private long count, max, total;
+
+	/**
+	 * Records a duration
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+
+		counts[bucket(nanos)]++;
+		count++;
+		total += nanos;
+		if (nanos > max) {
+			max = nanos;
+		}
+	}
+
+	/**
+	 * Adds the durations recorded by another histogram to this one
+	 *
+	 * @param other the histogram added
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		total += other.total;
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Adds durations counted by bucket, as recorded by a ConcurrentHistogram
+	 *
+	 * @param bucket the index of the bucket
+	 * @param n      the number of durations in the bucket
+	 */
+	void add(int bucket, long n) {
+		counts[bucket] += n;
+		count += n;
+	}
+
+	/**
+	 * Adds the sum and the maximum of durations added by bucket
+	 *
+	 * @param total the sum of the durations in nanoseconds
+	 * @param max   the longest duration in nanoseconds
+	 */
+	void add(long total, long max) {
+		this.total += total;
+		this.max = Math.max(this.max, max);
+	}
+
+	/**
+	 * Removes every recorded duration
+	 */
+	public void clear() {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+	/**
+	 * Returns the number of durations recorded
+	 *
+	 * @return the number of durations
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Returns the longest duration recorded
+	 *
+	 * @return the duration in nanoseconds
+	 */
+	public long max() {
+		return max;
+	}
+
+	/**
+	 * Returns the mean of the durations recorded
+	 *
+	 * @return the duration in nanoseconds, 0 if none was recorded
+	 */
+	public double mean() {
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	/**
+	 * Returns the duration under which the specified fraction of the durations are
+	 *
+	 * @param fraction the fraction of the durations, from 0 to 1
+	 * @return the upper bound of the bucket of that duration in nanoseconds
+	 */
+	public long percentile(double fraction) {
+		long rank = (long) Math.ceil(fraction * count), seen = 0;
+
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank && seen > 0) {
+				return Math.min(upperBound(i), max);
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * Returns the bucket of a duration
+	 *
+	 * @param nanos the duration in nanoseconds
+	 * @return the index of the bucket
+	 */
+	static int bucket(long nanos) {
+		if (nanos < LINEAR) {
+			return (int) nanos;
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB - 1);
+		return LINEAR + (exponent - SUB_BITS - 1) * SUB + sub;
+	}
+
+	/**
+	 * Returns the longest duration of a bucket
+	 *
+	 * @param bucket the index of the bucket
+	 * @return the duration in nanoseconds
+	 */
+	private static long upperBound(int bucket) {
+		if (bucket < LINEAR) {
+			return bucket;
+		}
+
+		int exponent = (bucket - LINEAR) / SUB + SUB_BITS + 1, sub = (bucket - LINEAR) % SUB;
+		return ((long) (SUB + sub + 1) << (exponent - SUB_BITS)) - 1;
+	}
+
+	/**
+	 * Builds a String representation of the main percentiles of the durations
+	 *
+	 * @return the percentiles in microseconds
+	 */
+	@Override
+	public String toString() {
+		return String.format("p50 %.1f us, p90 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us",
+				percentile(0.5) / 1e3, percentile(0.9) / 1e3, percentile(0.99) / 1e3, percentile(0.999) / 1e3,
+				max / 1e3);
+	}
+}
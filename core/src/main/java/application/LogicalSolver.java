@@ -0,0 +1,841 @@
+package application;
+
+/**
+ * The class <b>LogicalSolver</b> solves Sudoku boards step by step like a
+ * player, without guessing: every step is the easiest Technique that places a
+ * value or removes candidates. The techniques used are recorded, and the
+ * hardest one gives the Difficulty of the puzzle.
+ *
+ * The candidates are 9-bit masks (see Board), the units, their intersections
+ * and the subsets of 2 and 3 positions are precomputed tables, and the last
+ * step found is kept in preallocated arrays, so solving does not allocate
+ * anything.
+ *
+ * A step is found by next() and applied by apply(), so the step can be shown
+ * (its technique, the locations of its pattern and the candidates it removes)
+ * before it is applied.
+ *
+ * @author Benoît
+ *
+ */
+public class LogicalSolver {
+
+	/**
+	 * Number of intersections of a block with a row or a column
+	 */
+	private static final int CROSSINGS = 54;
+
+	/**
+	 * Locations shared by every block and row or column crossing it, the other
+	 * locations of the block and the other locations of the line
+	 */
+	private static final int[][] SHARED = new int[CROSSINGS][3], BLOCK_REST = new int[CROSSINGS][6],
+			LINE_REST = new int[CROSSINGS][6];
+
+	/**
+	 * Unit number of the row or column of every intersection
+	 */
+	private static final int[] LINE = new int[CROSSINGS];
+
+	/**
+	 * Every neighbour of a location, as a mask of struck
+	 */
+	private static final int ALL_PEERS = (1 << 20) - 1;
+
+	/**
+	 * Masks of the subsets of 2 and 3 of 9 positions, digits or lines
+	 */
+	private static final int[][] SUBSETS = new int[4][];
+
+	static {
+		int n = 0;
+
+		for (int block = 0; block < 9; block++) {
+			int[] cells = Board.UNITS[18 + block];
+
+			// The 3 rows then the 3 columns crossing the block
+			for (int line = 0; line < 6; line++) {
+				int unit = line < 3 ? Board.ROW[cells[line * 3]] : 9 + Board.COL[cells[line - 3]];
+				int shared = 0, blockRest = 0, lineRest = 0;
+				LINE[n] = unit;
+
+				for (int i : cells) {
+					if (unit < 9 ? Board.ROW[i] == unit : Board.COL[i] == unit - 9) {
+						SHARED[n][shared++] = i;
+					} else {
+						BLOCK_REST[n][blockRest++] = i;
+					}
+				}
+				for (int i : Board.UNITS[unit]) {
+					if (Board.BLOCK[i] != block) {
+						LINE_REST[n][lineRest++] = i;
+					}
+				}
+
+				n++;
+			}
+		}
+
+		for (int size = 2; size <= 3; size++) {
+			int count = 0;
+			SUBSETS[size] = new int[size == 2 ? 36 : 84];
+
+			for (int subset = 0; subset < 1 << 9; subset++) {
+				if (Integer.bitCount(subset) == size) {
+					SUBSETS[size][count++] = subset;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Candidates (as masks, 0 if filled) and values of every location
+	 */
+	private final int[] candidates = new int[Board.SIZE];
+	private final byte[] values = new byte[Board.SIZE];
+
+	/**
+	 * Neighbours that lost the value of every filled location when it was placed,
+	 * bit i standing for Board.PEERS[num][i], every neighbour for the values
+	 * loaded
+	 */
+	private final int[] struck = new int[Board.SIZE];
+
+	/**
+	 * Number of empty locations
+	 */
+	private int empty;
+
+	/**
+	 * Positions of every digit in a unit, or of a digit in every line, as masks
+	 */
+	private final int[] positions = new int[9];
+
+	/**
+	 * Technique of the last step found, null if none was found
+	 */
+	private Technique technique;
+
+	/**
+	 * Unit of the last step, -1 if it does not have one, and the digit it places
+	 * or removes, 0 if it removes several digits
+	 */
+	private int unit, digit;
+
+	/**
+	 * Locations of the pattern of the last step
+	 */
+	private final int[] cells = new int[9];
+	private int cellCount;
+
+	/**
+	 * Locations whose candidates are removed by the last step, and the candidates
+	 * removed
+	 */
+	private final int[] targets = new int[Board.SIZE], removed = new int[Board.SIZE];
+	private int targetCount;
+
+	/**
+	 * Number of steps of every technique since the board was loaded, and the
+	 * hardest technique used (-1 if none)
+	 */
+	private final int[] used = new int[Technique.values().length];
+	private int hardest;
+
+	/**
+	 * Replaces the board solved, the candidates being the numbers not in the units
+	 * of every empty location
+	 *
+	 * @param puzzle the board to solve, left unchanged
+	 */
+	public void load(Board puzzle) {
+		empty = 0;
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			values[i] = (byte) puzzle.get(i);
+			candidates[i] = values[i] == 0 ? puzzle.candidates(i) : 0;
+			struck[i] = values[i] == 0 ? 0 : ALL_PEERS;
+
+			if (values[i] == 0) {
+				empty++;
+			}
+		}
+
+		for (int i = 0; i < used.length; i++) {
+			used[i] = 0;
+		}
+		hardest = -1;
+		technique = null;
+	}
+
+	/**
+	 * Solves a puzzle as far as the techniques go and rates it
+	 *
+	 * @param puzzle the puzzle to rate, with a unique solution
+	 * @return the difficulty of the puzzle
+	 */
+	public Difficulty rate(Board puzzle) {
+		return rate(puzzle, Difficulty.EXPERT);
+	}
+
+	/**
+	 * Solves a puzzle as far as the techniques go and rates it, stopping as soon
+	 * as it needs a technique harder than a limit
+	 *
+	 * @param puzzle the puzzle to rate, with a unique solution
+	 * @param limit  the hardest difficulty rated exactly
+	 * @return the difficulty of the puzzle, null if it is harder than the limit
+	 *         but not known exactly
+	 */
+	public Difficulty rate(Board puzzle, Difficulty limit) {
+		load(puzzle);
+
+		while (next() != null) {
+			Difficulty needed = technique.getDifficulty();
+
+			if (needed.compareTo(limit) > 0) {
+				// Nothing is harder than EXPERT, so it is exact
+				return needed == Difficulty.EXPERT ? needed : null;
+			}
+
+			apply();
+		}
+
+		return getDifficulty();
+	}
+
+	/**
+	 * Finds and applies the next step
+	 *
+	 * @return the technique of the step, null if no technique applies
+	 */
+	public Technique step() {
+		if (next() != null) {
+			apply();
+		}
+		return technique;
+	}
+
+	/**
+	 * Finds the next step, the easiest technique being tried first, without
+	 * applying it
+	 *
+	 * @return the technique of the step, null if the board is full, inconsistent
+	 *         or needs a harder technique
+	 */
+	public Technique next() {
+		technique = null;
+		unit = -1;
+		digit = 0;
+		cellCount = 0;
+		targetCount = 0;
+
+		if (empty > 0 && isConsistent() && (nakedSingle() || hiddenSingle() || lockedCandidates()
+				|| nakedSet(2, Technique.NAKED_PAIR) || hiddenSet(2, Technique.HIDDEN_PAIR)
+				|| nakedSet(3, Technique.NAKED_TRIPLE) || hiddenSet(3, Technique.HIDDEN_TRIPLE)
+				|| fish(2, Technique.X_WING) || fish(3, Technique.SWORDFISH) || xyWing())) {
+			return technique;
+		}
+
+		technique = null;
+		return null;
+	}
+
+	/**
+	 * Applies the step found by next()
+	 *
+	 * @throws IllegalStateException if no step was found
+	 */
+	public void apply() {
+		if (technique == null) {
+			throw new IllegalStateException("No step to apply");
+		}
+
+		if (technique.isPlacement()) {
+			place(cells[0], digit);
+		} else {
+			for (int i = 0; i < targetCount; i++) {
+				candidates[targets[i]] &= ~removed[i];
+			}
+		}
+
+		used[technique.ordinal()]++;
+		hardest = Math.max(hardest, technique.ordinal());
+	}
+
+	/**
+	 * Places a value and removes it from the candidates of its neighbours
+	 *
+	 * @param num   the empty location of the element
+	 * @param value the value placed
+	 */
+	public void place(int num, int value) {
+		int bit = Board.bit(value), lost = 0;
+		values[num] = (byte) value;
+		candidates[num] = 0;
+		empty--;
+
+		int[] peers = Board.PEERS[num];
+		for (int i = 0; i < peers.length; i++) {
+			if ((candidates[peers[i]] & bit) != 0) {
+				candidates[peers[i]] &= ~bit;
+				lost |= 1 << i;
+			}
+		}
+		struck[num] = lost;
+	}
+
+	/**
+	 * Empties a location: its candidates are the numbers not in its units again,
+	 * and its value is given back to the neighbours that lost it when it was
+	 * placed, if no other unit excludes it. The candidates removed by the steps
+	 * applied are kept.
+	 *
+	 * @param num the filled location of the element
+	 */
+	public void clear(int num) {
+		int bit = Board.bit(values[num]);
+		values[num] = 0;
+		empty++;
+
+		candidates[num] = free(num);
+		for (int lost = struck[num]; lost != 0; lost &= lost - 1) {
+			int peer = Board.PEERS[num][Integer.numberOfTrailingZeros(lost)];
+			if (values[peer] == 0) {
+				candidates[peer] |= free(peer) & bit;
+			}
+		}
+		struck[num] = 0;
+	}
+
+	/**
+	 * Returns the candidates of a location
+	 *
+	 * @param num the location of the element
+	 * @return the mask of the candidates, 0 if the location is filled
+	 */
+	public int getCandidates(int num) {
+		return candidates[num];
+	}
+
+	/**
+	 * Returns a value of the board
+	 *
+	 * @param num the location of the element
+	 * @return the value, 0 if the location is empty
+	 */
+	public int get(int num) {
+		return values[num];
+	}
+
+	/**
+	 * Checks if every location is filled
+	 *
+	 * @return true if the board is solved, false otherwise
+	 */
+	public boolean isSolved() {
+		return empty == 0;
+	}
+
+	/**
+	 * Returns the difficulty of the board since it was loaded
+	 *
+	 * @return the difficulty of the hardest technique used, EXPERT if the board
+	 *         is not solved
+	 */
+	public Difficulty getDifficulty() {
+		if (empty > 0) {
+			return Difficulty.EXPERT;
+		}
+		return hardest == -1 ? Difficulty.EASY : Technique.values()[hardest].getDifficulty();
+	}
+
+	/**
+	 * Returns the hardest technique used since the board was loaded
+	 *
+	 * @return the technique, null if none was used
+	 */
+	public Technique getHardest() {
+		return hardest == -1 ? null : Technique.values()[hardest];
+	}
+
+	/**
+	 * Returns the number of steps of a technique since the board was loaded
+	 *
+	 * @param technique the technique
+	 * @return the number of steps
+	 */
+	public int getCount(Technique technique) {
+		return used[technique.ordinal()];
+	}
+
+	/**
+	 * Getter method for the technique of the last step found
+	 *
+	 * @return the technique, null if none was found
+	 */
+	public Technique getTechnique() {
+		return technique;
+	}
+
+	/**
+	 * Getter method for the unit of the last step (rows 0 to 8, columns 9 to 17,
+	 * blocks 18 to 26)
+	 *
+	 * @return the unit, -1 if the step does not have one
+	 */
+	public int getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Getter method for the digit placed or removed by the last step
+	 *
+	 * @return the digit, 0 if the step removes several digits
+	 */
+	public int getDigit() {
+		return digit;
+	}
+
+	/**
+	 * Returns the number of locations of the pattern of the last step
+	 *
+	 * @return the number of locations
+	 */
+	public int getCellCount() {
+		return cellCount;
+	}
+
+	/**
+	 * Returns a location of the pattern of the last step, the location of the
+	 * value placed for the singles
+	 *
+	 * @param i the index of the location, from 0 to getCellCount() - 1
+	 * @return the location
+	 */
+	public int getCell(int i) {
+		return cells[i];
+	}
+
+	/**
+	 * Returns the number of locations whose candidates are removed by the last
+	 * step
+	 *
+	 * @return the number of locations, 0 for the singles
+	 */
+	public int getTargetCount() {
+		return targetCount;
+	}
+
+	/**
+	 * Returns a location whose candidates are removed by the last step
+	 *
+	 * @param i the index of the location, from 0 to getTargetCount() - 1
+	 * @return the location
+	 */
+	public int getTarget(int i) {
+		return targets[i];
+	}
+
+	/**
+	 * Returns the candidates removed from a location by the last step
+	 *
+	 * @param i the index of the location, from 0 to getTargetCount() - 1
+	 * @return the mask of the candidates removed
+	 */
+	public int getRemoved(int i) {
+		return removed[i];
+	}
+
+	/**
+	 * Finds a location with a single candidate
+	 *
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean nakedSingle() {
+		for (int i = 0; i < Board.SIZE; i++) {
+			int mask = candidates[i];
+
+			if (mask != 0 && (mask & (mask - 1)) == 0) {
+				cells[cellCount++] = i;
+				found(Technique.NAKED_SINGLE, -1, Board.lowest(mask));
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds a number with a single location in a unit
+	 *
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean hiddenSingle() {
+		for (int u = 0; u < 27; u++) {
+			int once = 0, twice = 0;
+
+			for (int i : Board.UNITS[u]) {
+				twice |= once & candidates[i];
+				once |= candidates[i];
+			}
+
+			int singles = once & ~twice;
+			if (singles != 0) {
+				int bit = singles & -singles;
+
+				for (int i : Board.UNITS[u]) {
+					if ((candidates[i] & bit) != 0) {
+						cells[cellCount++] = i;
+						found(Technique.HIDDEN_SINGLE, u, Board.lowest(bit));
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds a number whose candidates in a block are all in one row or column (or
+	 * the opposite), so it is removed from the rest of the row or column (or of
+	 * the block)
+	 *
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean lockedCandidates() {
+		for (int n = 0; n < CROSSINGS; n++) {
+			int shared = union(SHARED[n]), blockRest = union(BLOCK_REST[n]), lineRest = union(LINE_REST[n]);
+
+			int pointing = shared & ~blockRest & lineRest, claiming = shared & ~lineRest & blockRest;
+
+			if (pointing != 0 || claiming != 0) {
+				int bit = pointing != 0 ? pointing & -pointing : claiming & -claiming;
+
+				for (int i : SHARED[n]) {
+					if ((candidates[i] & bit) != 0) {
+						cells[cellCount++] = i;
+					}
+				}
+				for (int i : pointing != 0 ? LINE_REST[n] : BLOCK_REST[n]) {
+					target(i, candidates[i] & bit);
+				}
+
+				found(Technique.LOCKED_CANDIDATES, pointing != 0 ? 18 + n / 6 : LINE[n], Board.lowest(bit));
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds locations of a unit whose candidates are only size numbers, which are
+	 * removed from the rest of the unit
+	 *
+	 * @param size  the number of locations, 2 for pairs and 3 for triples
+	 * @param found the technique of the step
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean nakedSet(int size, Technique found) {
+		for (int u = 0; u < 27; u++) {
+			int[] unit = Board.UNITS[u];
+			int open = 0;
+
+			for (int i = 0; i < 9; i++) {
+				int count = Integer.bitCount(candidates[unit[i]]);
+				if (count > 1 && count <= size) {
+					open |= 1 << i;
+				}
+			}
+
+			for (int subset : SUBSETS[size]) {
+				if ((subset & ~open) != 0) {
+					continue;
+				}
+
+				int digits = 0;
+				for (int s = subset; s != 0; s &= s - 1) {
+					digits |= candidates[unit[Integer.numberOfTrailingZeros(s)]];
+				}
+				if (Integer.bitCount(digits) != size) {
+					continue;
+				}
+
+				for (int i = 0; i < 9; i++) {
+					if ((subset >> i & 1) == 0) {
+						target(unit[i], candidates[unit[i]] & digits);
+					}
+				}
+
+				if (targetCount > 0) {
+					for (int s = subset; s != 0; s &= s - 1) {
+						cells[cellCount++] = unit[Integer.numberOfTrailingZeros(s)];
+					}
+					found(found, u, 0);
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds size numbers of a unit whose candidates are only in size locations,
+	 * whose other candidates are removed
+	 *
+	 * @param size  the number of numbers, 2 for pairs and 3 for triples
+	 * @param found the technique of the step
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean hiddenSet(int size, Technique found) {
+		for (int u = 0; u < 27; u++) {
+			int[] unit = Board.UNITS[u];
+			int open = 0;
+
+			for (int d = 0; d < 9; d++) {
+				positions[d] = 0;
+			}
+			for (int i = 0; i < 9; i++) {
+				for (int mask = candidates[unit[i]]; mask != 0; mask &= mask - 1) {
+					positions[Integer.numberOfTrailingZeros(mask)] |= 1 << i;
+				}
+			}
+			for (int d = 0; d < 9; d++) {
+				int count = Integer.bitCount(positions[d]);
+				if (count > 1 && count <= size) {
+					open |= 1 << d;
+				}
+			}
+
+			for (int subset : SUBSETS[size]) {
+				if ((subset & ~open) != 0) {
+					continue;
+				}
+
+				int places = 0;
+				for (int s = subset; s != 0; s &= s - 1) {
+					places |= positions[Integer.numberOfTrailingZeros(s)];
+				}
+				if (Integer.bitCount(places) != size) {
+					continue;
+				}
+
+				// The digits of the subset are the candidates of the same bits
+				for (int s = places; s != 0; s &= s - 1) {
+					int i = unit[Integer.numberOfTrailingZeros(s)];
+					target(i, candidates[i] & ~subset);
+				}
+
+				if (targetCount > 0) {
+					for (int s = places; s != 0; s &= s - 1) {
+						cells[cellCount++] = unit[Integer.numberOfTrailingZeros(s)];
+					}
+					found(found, u, 0);
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds size rows (or columns) whose candidates of a number are in size
+	 * columns (or rows) only, from which the number is removed in the other rows
+	 * (or columns)
+	 *
+	 * @param size  the number of lines, 2 for the X-Wing and 3 for the Swordfish
+	 * @param found the technique of the step
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean fish(int size, Technique found) {
+		for (int d = 1; d <= 9; d++) {
+			int bit = Board.bit(d);
+
+			// Rows as the base lines then columns
+			for (int columns = 0; columns < 2; columns++) {
+				int open = 0;
+
+				for (int line = 0; line < 9; line++) {
+					positions[line] = 0;
+					for (int i = 0; i < 9; i++) {
+						if ((candidates[columns == 0 ? line * 9 + i : i * 9 + line] & bit) != 0) {
+							positions[line] |= 1 << i;
+						}
+					}
+
+					int count = Integer.bitCount(positions[line]);
+					if (count > 1 && count <= size) {
+						open |= 1 << line;
+					}
+				}
+
+				for (int subset : SUBSETS[size]) {
+					if ((subset & ~open) != 0) {
+						continue;
+					}
+
+					int cover = 0;
+					for (int s = subset; s != 0; s &= s - 1) {
+						cover |= positions[Integer.numberOfTrailingZeros(s)];
+					}
+					if (Integer.bitCount(cover) != size) {
+						continue;
+					}
+
+					for (int line = 0; line < 9; line++) {
+						for (int s = cover; s != 0; s &= s - 1) {
+							int i = Integer.numberOfTrailingZeros(s), num = columns == 0 ? line * 9 + i : i * 9 + line;
+
+							if ((subset >> line & 1) != 0) {
+								if ((candidates[num] & bit) != 0) {
+									cells[cellCount++] = num;
+								}
+							} else {
+								target(num, candidates[num] & bit);
+							}
+						}
+					}
+
+					if (targetCount > 0) {
+						found(found, -1, d);
+						return true;
+					}
+					cellCount = 0;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds a location with two candidates xy and two of its neighbours with xz
+	 * and yz, so z is removed from the neighbours of both xz and yz
+	 *
+	 * @return true if a step was found, false otherwise
+	 */
+	private boolean xyWing() {
+		for (int pivot = 0; pivot < Board.SIZE; pivot++) {
+			int xy = candidates[pivot];
+			if (Integer.bitCount(xy) != 2) {
+				continue;
+			}
+
+			for (int a : Board.PEERS[pivot]) {
+				int xz = candidates[a];
+				if (Integer.bitCount(xz) != 2 || Integer.bitCount(xz & xy) != 1) {
+					continue;
+				}
+
+				int z = xz & ~xy, yz = xy ^ xz;
+
+				for (int b : Board.PEERS[pivot]) {
+					if (candidates[b] != yz) {
+						continue;
+					}
+
+					for (int i : Board.PEERS[a]) {
+						if (i != pivot && i != b && isPeer(i, b)) {
+							target(i, candidates[i] & z);
+						}
+					}
+
+					if (targetCount > 0) {
+						cells[cellCount++] = pivot;
+						cells[cellCount++] = a;
+						cells[cellCount++] = b;
+						found(Technique.XY_WING, -1, Board.lowest(z));
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks that every empty location has a candidate left
+	 *
+	 * @return false if the board has no solution, true otherwise
+	 */
+	private boolean isConsistent() {
+		for (int i = 0; i < Board.SIZE; i++) {
+			if (values[i] == 0 && candidates[i] == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the numbers that are not in the units of a location
+	 *
+	 * @param num the location of the element
+	 * @return the mask of the numbers
+	 */
+	private int free(int num) {
+		int mask = Board.ALL;
+		for (int peer : Board.PEERS[num]) {
+			if (values[peer] != 0) {
+				mask &= ~Board.bit(values[peer]);
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Returns the union of the candidates of locations
+	 *
+	 * @param locations the locations
+	 * @return the mask of the candidates
+	 */
+	private int union(int[] locations) {
+		int mask = 0;
+		for (int i : locations) {
+			mask |= candidates[i];
+		}
+		return mask;
+	}
+
+	/**
+	 * Adds candidates removed by the step being found
+	 *
+	 * @param num  the location
+	 * @param mask the candidates removed, nothing is added if 0
+	 */
+	private void target(int num, int mask) {
+		if (mask != 0) {
+			targets[targetCount] = num;
+			removed[targetCount++] = mask;
+		}
+	}
+
+	/**
+	 * Records the step found
+	 *
+	 * @param found the technique of the step
+	 * @param unit  the unit of the step, -1 if none
+	 * @param digit the digit placed or removed, 0 if several digits are removed
+	 */
+	private void found(Technique found, int unit, int digit) {
+		this.technique = found;
+		this.unit = unit;
+		this.digit = digit;
+	}
+
+	/**
+	 * Checks if two different locations are in the same row, column or block
+	 *
+	 * @param a a location
+	 * @param b another location
+	 * @return true if the locations are neighbours, false otherwise
+	 */
+	private static boolean isPeer(int a, int b) {
+		return Board.ROW[a] == Board.ROW[b] || Board.COL[a] == Board.COL[b] || Board.BLOCK[a] == Board.BLOCK[b];
+	}
+}
@@ -0,0 +1,253 @@
+package application;
+
+import java.util.Arrays;
+
+/**
+ * The class <b>MoveLog</b> is the history of the moves of a game. Every move is
+ * encoded in an int, appended to a primitive array, so undoing and redoing a
+ * move only moves a cursor.
+ *
+ * <pre>
+ * bits  0-6   location of the element
+ * bits  7-10  previous value
+ * bits 11-14  new value
+ * bit  15     linked to the previous move, undone and redone with it
+ * bits 16-31  time since the previous move in hundredths of a second, at most
+ *             655.35 seconds
+ * </pre>
+ *
+ * Recording a move after undoing others replaces the moves undone.
+ *
+ * @author Benoît
+ *
+ */
+public class MoveLog {
+
+	/**
+	 * Flag of a move linked to the previous move
+	 */
+	private static final int LINKED = 1 << 15;
+
+	/**
+	 * Longest time between two moves recorded, in hundredths of a second
+	 */
+	private static final int MAX_DELAY = 0xFFFF;
+
+	/**
+	 * Encoded moves, the first position ones are played and the following ones
+	 * up to count were undone
+	 */
+	private int[] moves = new int[64];
+	private int position, count;
+
+	/**
+	 * Time of the game at the last move recorded, in milliseconds
+	 */
+	private long last;
+
+	/**
+	 * Encodes a move
+	 *
+	 * @param num    the location of the element
+	 * @param old    the previous value, 0 if the location was empty
+	 * @param value  the new value, 0 if the location is emptied
+	 * @param linked true if the move is undone and redone with the previous one
+	 * @param delay  the time since the previous move in milliseconds
+	 * @return the encoded move
+	 */
+	public static int encode(int num, int old, int value, boolean linked, long delay) {
+		int hundredths = (int) Math.min(Math.max(delay, 0) / 10, MAX_DELAY);
+		return num | old << 7 | value << 11 | (linked ? LINKED : 0) | hundredths << 16;
+	}
+
+	/**
+	 * Returns the location of a move
+	 *
+	 * @param move the encoded move
+	 * @return the location of the element
+	 */
+	public static int cell(int move) {
+		return move & 0x7F;
+	}
+
+	/**
+	 * Returns the previous value of a move
+	 *
+	 * @param move the encoded move
+	 * @return the value, 0 if the location was empty
+	 */
+	public static int oldValue(int move) {
+		return move >> 7 & 0xF;
+	}
+
+	/**
+	 * Returns the new value of a move
+	 *
+	 * @param move the encoded move
+	 * @return the value, 0 if the location is emptied
+	 */
+	public static int newValue(int move) {
+		return move >> 11 & 0xF;
+	}
+
+	/**
+	 * Checks if a move is undone and redone with the previous one
+	 *
+	 * @param move the encoded move
+	 * @return true if the move is linked to the previous one, false otherwise
+	 */
+	public static boolean isLinked(int move) {
+		return (move & LINKED) != 0;
+	}
+
+	/**
+	 * Returns the time between a move and the previous one
+	 *
+	 * @param move the encoded move
+	 * @return the time in milliseconds, to the hundredth of a second
+	 */
+	public static long delay(int move) {
+		return (move >>> 16) * 10L;
+	}
+
+	/**
+	 * Appends a move, replacing the moves undone
+	 *
+	 * @param num     the location of the element
+	 * @param old     the previous value, 0 if the location was empty
+	 * @param value   the new value, 0 if the location is emptied
+	 * @param linked  true if the move is undone and redone with the previous one
+	 * @param elapsed the time of the game at the move, in milliseconds
+	 */
+	public void record(int num, int old, int value, boolean linked, long elapsed) {
+		if (position == moves.length) {
+			moves = Arrays.copyOf(moves, 2 * moves.length);
+		}
+
+		moves[position++] = encode(num, old, value, linked, elapsed - last);
+		count = position;
+		last = elapsed;
+	}
+
+	/**
+	 * Checks if a move can be undone
+	 *
+	 * @return true if a move was played, false otherwise
+	 */
+	public boolean canUndo() {
+		return position > 0;
+	}
+
+	/**
+	 * Checks if a move can be redone
+	 *
+	 * @return true if a move was undone, false otherwise
+	 */
+	public boolean canRedo() {
+		return position < count;
+	}
+
+	/**
+	 * Moves the cursor back by one move
+	 *
+	 * @return the move undone
+	 * @throws IllegalStateException if no move was played
+	 */
+	public int undo() {
+		if (position == 0) {
+			throw new IllegalStateException("No move to undo");
+		}
+		return moves[--position];
+	}
+
+	/**
+	 * Moves the cursor forward by one move
+	 *
+	 * @return the move redone
+	 * @throws IllegalStateException if no move was undone
+	 */
+	public int redo() {
+		if (position == count) {
+			throw new IllegalStateException("No move to redo");
+		}
+		return moves[position++];
+	}
+
+	/**
+	 * Returns the move that redo() would return, without moving the cursor
+	 *
+	 * @return the move, -1 if no move was undone
+	 */
+	public int peekRedo() {
+		return position < count ? moves[position] : -1;
+	}
+
+	/**
+	 * Returns the number of moves played, not counting the moves undone
+	 *
+	 * @return the position of the cursor
+	 */
+	public int position() {
+		return position;
+	}
+
+	/**
+	 * Returns the number of moves recorded, including the moves undone
+	 *
+	 * @return the number of moves
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a recorded move
+	 *
+	 * @param i the index of the move, from 0 to size() - 1
+	 * @return the encoded move
+	 */
+	public int get(int i) {
+		if (i < 0 || i >= count) {
+			throw new IndexOutOfBoundsException("Move " + i + " of " + count);
+		}
+		return moves[i];
+	}
+
+	/**
+	 * Getter method for the time of the game at the last move recorded
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getLast() {
+		return last;
+	}
+
+	/**
+	 * Replaces the moves, as read from a saved game
+	 *
+	 * @param moves    the encoded moves
+	 * @param count    the number of moves
+	 * @param position the number of moves played
+	 * @param last     the time of the game at the last move, in milliseconds
+	 * @throws IllegalArgumentException if position is not between 0 and count
+	 */
+	void restore(int[] moves, int count, int position, long last) {
+		if (position < 0 || position > count) {
+			throw new IllegalArgumentException("Position " + position + " of " + count + " moves");
+		}
+
+		this.moves = moves.length > 0 ? moves : new int[64];
+		this.count = count;
+		this.position = position;
+		this.last = last;
+	}
+
+	/**
+	 * Removes every move
+	 */
+	public void clear() {
+		position = 0;
+		count = 0;
+		last = 0;
+	}
+}
@@ -0,0 +1,113 @@
+package application;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The class <b>Nibbles</b> packs the 81 values of a board 4 bits per value,
+ * two per byte, the first one in the high 4 bits. It is the packing of the
+ * puzzle files, of the puzzle indexes and of the saved games.
+ *
+ * @author Benoît
+ *
+ */
+final class Nibbles {
+
+	/**
+	 * Size of the values of a board packed, in bytes
+	 */
+	static final int BYTES = (Board.SIZE + 1) / 2;
+
+	private Nibbles() {
+	}
+
+	/**
+	 * Packs the values of a board at the position of a buffer, and moves the
+	 * position after them
+	 *
+	 * @param buffer the buffer written
+	 * @param values the value of every location
+	 */
+	static void put(ByteBuffer buffer, IntUnaryOperator values) {
+		for (int i = 0; i < Board.SIZE; i += 2) {
+			buffer.put(pair(values, i));
+		}
+	}
+
+	/**
+	 * Packs the values of a board in an array
+	 *
+	 * @param bytes  the array written
+	 * @param base   the position of the first value
+	 * @param values the value of every location
+	 */
+	static void put(byte[] bytes, int base, IntUnaryOperator values) {
+		for (int i = 0; i < Board.SIZE; i += 2) {
+			bytes[base + (i >> 1)] = pair(values, i);
+		}
+	}
+
+	/**
+	 * Reads the values of a board packed at the position of a buffer, and moves
+	 * the position after them
+	 *
+	 * @param buffer the buffer read
+	 * @param values receives the values
+	 */
+	static void get(ByteBuffer buffer, byte[] values) {
+		for (int i = 0; i < Board.SIZE; i += 2) {
+			int bits = buffer.get();
+			values[i] = (byte) (bits >> 4 & 0xF);
+			if (i + 1 < Board.SIZE) {
+				values[i + 1] = (byte) (bits & 0xF);
+			}
+		}
+	}
+
+	/**
+	 * Reads a packed value of a buffer, without moving its position
+	 *
+	 * @param buffer the buffer read
+	 * @param base   the position of the first value
+	 * @param num    the location of the element
+	 * @return the value
+	 */
+	static int get(ByteBuffer buffer, int base, int num) {
+		return nibble(buffer.get(base + (num >> 1)), num);
+	}
+
+	/**
+	 * Reads a packed value of an array
+	 *
+	 * @param bytes the array read
+	 * @param base  the position of the first value
+	 * @param num   the location of the element
+	 * @return the value
+	 */
+	static int get(byte[] bytes, int base, int num) {
+		return nibble(bytes[base + (num >> 1)], num);
+	}
+
+	/**
+	 * Packs two values in a byte, the last location alone in the high 4 bits
+	 *
+	 * @param values the value of every location
+	 * @param i      the location of the first value, even
+	 * @return the byte
+	 */
+	private static byte pair(IntUnaryOperator values, int i) {
+		int low = i + 1 < Board.SIZE ? values.applyAsInt(i + 1) : 0;
+		return (byte) (values.applyAsInt(i) << 4 | low);
+	}
+
+	/**
+	 * Returns one of the two values of a byte
+	 *
+	 * @param bits the byte
+	 * @param num  the location of the element, even in the high 4 bits
+	 * @return the value
+	 */
+	private static int nibble(int bits, int num) {
+		return (num & 1) == 0 ? bits >> 4 & 0xF : bits & 0xF;
+	}
+}
@@ -0,0 +1,125 @@
+package application;
+
+/**
+ * The class <b>Puzzle</b> is an immutable playable Sudoku board along with its
+ * solution, and the identifier it was generated from if any.
+ *
+ * @author Benoît
+ *
+ */
+public class Puzzle {
+
+	/**
+	 * Values of the player's board (0 being an empty location) and of the solution
+	 */
+	private final byte[] player, board;
+
+	/**
+	 * Identifier of the generation of the puzzle, null if it was not generated
+	 */
+	private final PuzzleId id;
+
+	/**
+	 * Constructor for Puzzle, the arrays are copied
+	 *
+	 * @param player the values of the player's board
+	 * @param board  the values of the solution
+	 */
+	public Puzzle(byte[] player, byte[] board) {
+		this.player = player.clone();
+		this.board = board.clone();
+		this.id = null;
+	}
+
+	/**
+	 * Constructor for Puzzle
+	 *
+	 * @param player the player's board
+	 * @param board  the solution
+	 */
+	public Puzzle(Board player, Board board) {
+		this(player, board, null);
+	}
+
+	/**
+	 * Constructor for a generated Puzzle
+	 *
+	 * @param player the player's board
+	 * @param board  the solution
+	 * @param id     the identifier of the generation, null if it was not generated
+	 */
+	public Puzzle(Board player, Board board, PuzzleId id) {
+		this.id = id;
+		this.player = new byte[Board.SIZE];
+		this.board = new byte[Board.SIZE];
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			this.player[i] = (byte) player.get(i);
+			this.board[i] = (byte) board.get(i);
+		}
+	}
+
+	/**
+	 * Returns the value of the player's board at the specified location
+	 *
+	 * @param num the location of the element
+	 * @return the value, 0 if the location is empty
+	 */
+	public int get(int num) {
+		return player[num];
+	}
+
+	/**
+	 * Returns the value of the solution at the specified location
+	 *
+	 * @param num the location of the element
+	 * @return the value
+	 */
+	public int getSolution(int num) {
+		return board[num];
+	}
+
+	/**
+	 * Getter method for the identifier of the generation of the puzzle. Only the
+	 * puzzles of Sudoku.generate have one: the puzzles reduced to a minimal number
+	 * of clues (Sudoku.generateMinimal, and SudokuEngine.generate for the
+	 * difficulties above Easy) depend on the number of attempts and on the
+	 * pattern, which an identifier does not hold, so they have none.
+	 *
+	 * @return the identifier, null if the puzzle was not generated or cannot be
+	 *         generated again from an identifier
+	 */
+	public PuzzleId getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the number of uncovered elements of the player's board
+	 *
+	 * @return the number of clues
+	 */
+	public int getClues() {
+		int count = 0;
+		for (byte value : player) {
+			if (value != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Builds a String representation of the player's board, in the format of
+	 * Sudoku.sudokuString
+	 *
+	 * @return String representation of the player's board
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(Board.SIZE);
+		for (byte value : player) {
+			sb.append(value == 0 ? '.' : (char) ('0' + value));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,193 @@
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The class <b>PuzzleFile</b> reads a file written by PuzzleFileWriter. The
+ * file is memory-mapped, so the puzzle number n is read in constant time
+ * directly from the mapping, without reading the file into the heap.
+ *
+ * Files larger than 1 GiB are mapped in several segments.
+ *
+ * @author Benoît
+ *
+ */
+public class PuzzleFile implements Closeable {
+
+	/**
+	 * Maximum size of a mapped segment
+	 */
+	private static final long SEGMENT = 1L << 30;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer[] segments;
+	private final boolean solution;
+	private final int recordSize, perSegment;
+	private final long count;
+
+	/**
+	 * Constructor for PuzzleFile, maps the file
+	 *
+	 * @param path the file read
+	 * @throws IOException if the file cannot be read or is not a puzzle file
+	 */
+	public PuzzleFile(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			ByteBuffer header = ByteBuffer.allocate(PuzzleFileWriter.HEADER);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+			}
+			header.flip();
+
+			if (header.remaining() < PuzzleFileWriter.HEADER || header.getInt() != PuzzleFileWriter.MAGIC) {
+				throw new IOException(path + " is not a puzzle file");
+			}
+			if (header.get() != PuzzleFileWriter.VERSION) {
+				throw new IOException(path + " has an unsupported version");
+			}
+
+			solution = (header.get() & PuzzleFileWriter.SOLUTION) != 0;
+			header.getShort();
+			count = header.getLong();
+
+			recordSize = PuzzleFileWriter.recordSize(solution);
+			perSegment = (int) (SEGMENT / recordSize);
+
+			// Divided rather than multiplied, so a corrupt count cannot overflow
+			if (count < 0 || count > (channel.size() - PuzzleFileWriter.HEADER) / recordSize) {
+				throw new IOException("Corrupt puzzle file: " + path);
+			}
+
+			segments = new MappedByteBuffer[(int) ((count + perSegment - 1) / perSegment)];
+			for (int i = 0; i < segments.length; i++) {
+				long first = (long) i * perSegment;
+				long size = Math.min(perSegment, count - first) * recordSize;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						PuzzleFileWriter.HEADER + first * recordSize, size);
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of puzzles in the file
+	 *
+	 * @return the number of puzzles
+	 */
+	public long size() {
+		return count;
+	}
+
+	/**
+	 * Checks if the solutions are stored along with the puzzles
+	 *
+	 * @return true if the solutions are stored, false otherwise
+	 */
+	public boolean hasSolution() {
+		return solution;
+	}
+
+	/**
+	 * Returns the value of a location of a puzzle
+	 *
+	 * @param n   the number of the puzzle
+	 * @param num the location of the element
+	 * @return the value, 0 if the location is empty
+	 */
+	public int get(long n, int num) {
+		MappedByteBuffer segment = segment(n);
+		int base = offset(n);
+
+		if (!solution) {
+			return Nibbles.get(segment, base, num);
+		}
+
+		int bits = segment.get(base + (num >> 3));
+		return (bits >> (7 - (num & 7)) & 1) == 0 ? 0 : Nibbles.get(segment, base + PuzzleFileWriter.BITMAP, num);
+	}
+
+	/**
+	 * Returns the value of a location of the solution of a puzzle
+	 *
+	 * @param n   the number of the puzzle
+	 * @param num the location of the element
+	 * @return the value
+	 * @throws IllegalStateException if the solutions are not stored
+	 */
+	public int getSolution(long n, int num) {
+		if (!solution) {
+			throw new IllegalStateException("The solutions are not stored in this file");
+		}
+
+		return Nibbles.get(segment(n), offset(n) + PuzzleFileWriter.BITMAP, num);
+	}
+
+	/**
+	 * Copies a puzzle to a board
+	 *
+	 * @param n      the number of the puzzle
+	 * @param player the board receiving the puzzle
+	 */
+	public void read(long n, Board player) {
+		for (int i = 0; i < Board.SIZE; i++) {
+			player.set(i, get(n, i));
+		}
+	}
+
+	/**
+	 * Returns a puzzle along with its solution
+	 *
+	 * @param n the number of the puzzle
+	 * @return the puzzle
+	 * @throws IllegalStateException if the solutions are not stored
+	 */
+	public Puzzle getPuzzle(long n) {
+		byte[] player = new byte[Board.SIZE], board = new byte[Board.SIZE];
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			player[i] = (byte) get(n, i);
+			board[i] = (byte) getSolution(n, i);
+		}
+
+		return new Puzzle(player, board);
+	}
+
+	/**
+	 * Returns the segment containing a puzzle
+	 *
+	 * @param n the number of the puzzle
+	 * @return the mapped segment
+	 * @throws IndexOutOfBoundsException if there is no such puzzle
+	 */
+	private MappedByteBuffer segment(long n) {
+		if (n < 0 || n >= count) {
+			throw new IndexOutOfBoundsException("Puzzle " + n + " of " + count);
+		}
+
+		return segments[(int) (n / perSegment)];
+	}
+
+	/**
+	 * Returns the position of a puzzle in its segment
+	 *
+	 * @param n the number of the puzzle
+	 * @return the position of its record
+	 */
+	private int offset(long n) {
+		return (int) (n % perSegment) * recordSize;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,188 @@
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The class <b>PuzzleFileWriter</b> writes puzzles in the packed binary format
+ * read by PuzzleFile. Every puzzle is a fixed-size record, so any of them can
+ * be read without scanning the file.
+ *
+ * <pre>
+ * header   magic "SDKB", version (1 byte), flags (1 byte), 2 reserved bytes,
+ *          number of puzzles (8 bytes)
+ * record   without solution: the 81 values, 4 bits each (41 bytes)
+ *          with solution:    bitmap of the uncovered locations (11 bytes)
+ *                            followed by the 81 values of the solution,
+ *                            4 bits each (41 bytes)
+ * </pre>
+ *
+ * The values are packed two per byte, the first one in the high 4 bits, and
+ * the bitmap has the location 0 in the highest bit of its first byte.
+ *
+ * @author Benoît
+ *
+ */
+public class PuzzleFileWriter implements Closeable {
+
+	/**
+	 * First 4 bytes of the file ("SDKB")
+	 */
+	static final int MAGIC = 0x53444B42;
+
+	/**
+	 * Version of the format
+	 */
+	static final byte VERSION = 1;
+
+	/**
+	 * Flag set when the solutions are stored
+	 */
+	static final byte SOLUTION = 1;
+
+	/**
+	 * Size of the header and of the parts of a record in bytes
+	 */
+	static final int HEADER = 16, VALUES = Nibbles.BYTES, BITMAP = (Board.SIZE + 7) / 8;
+
+	/**
+	 * Number of records written to the file at once
+	 */
+	private static final int BATCH = 4096;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final boolean solution;
+	private long count;
+
+	/**
+	 * Constructor for PuzzleFileWriter, creates or replaces the file
+	 *
+	 * @param path     the file written
+	 * @param solution true to store the solutions along with the puzzles
+	 * @throws IOException if the file cannot be opened
+	 */
+	public PuzzleFileWriter(Path path, boolean solution) throws IOException {
+		this.solution = solution;
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocate(BATCH * recordSize(solution));
+
+		// The number of puzzles is written when the file is closed
+		ByteBuffer header = ByteBuffer.allocate(HEADER);
+		header.putInt(MAGIC).put(VERSION).put(solution ? SOLUTION : 0).putShort((short) 0).putLong(0);
+		header.flip();
+		channel.write(header);
+	}
+
+	/**
+	 * Returns the size of a record
+	 *
+	 * @param solution true if the solutions are stored
+	 * @return the size of a record in bytes
+	 */
+	static int recordSize(boolean solution) {
+		return solution ? BITMAP + VALUES : VALUES;
+	}
+
+	/**
+	 * Appends a puzzle to the file
+	 *
+	 * @param puzzle the puzzle, along with its solution if the solutions are stored
+	 * @throws IOException if the puzzle cannot be written
+	 */
+	public void write(Puzzle puzzle) throws IOException {
+		if (!buffer.hasRemaining()) {
+			flush();
+		}
+
+		if (solution) {
+			for (int i = 0; i < Board.SIZE; i += 8) {
+				int bits = 0;
+				for (int j = i; j < i + 8; j++) {
+					bits <<= 1;
+					if (j < Board.SIZE && puzzle.get(j) != 0) {
+						bits |= 1;
+					}
+				}
+				buffer.put((byte) bits);
+			}
+		}
+
+		Nibbles.put(buffer, solution ? puzzle::getSolution : puzzle::get);
+
+		count++;
+	}
+
+	/**
+	 * Appends a puzzle without its solution to the file
+	 *
+	 * @param player the puzzle
+	 * @throws IOException if the puzzle cannot be written
+	 * @throws IllegalStateException if the solutions are stored in this file
+	 */
+	public void write(Board player) throws IOException {
+		if (solution) {
+			throw new IllegalStateException("The solutions are stored in this file");
+		}
+
+		if (!buffer.hasRemaining()) {
+			flush();
+		}
+
+		Nibbles.put(buffer, player::get);
+
+		count++;
+	}
+
+	/**
+	 * Checks if the solutions are stored along with the puzzles
+	 *
+	 * @return true if the solutions are stored, false otherwise
+	 */
+	public boolean hasSolution() {
+		return solution;
+	}
+
+	/**
+	 * Returns the number of puzzles written
+	 *
+	 * @return the number of puzzles
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Writes the buffered records to the file
+	 *
+	 * @throws IOException if the records cannot be written
+	 */
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the remaining records and the number of puzzles, then closes the file
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+
+			ByteBuffer total = ByteBuffer.allocate(8);
+			total.putLong(count).flip();
+			channel.write(total, HEADER - 8);
+		} finally {
+			channel.close();
+		}
+	}
+}
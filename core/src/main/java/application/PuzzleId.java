@@ -0,0 +1,136 @@
+package application;
+
+/**
+ * The class <b>PuzzleId</b> identifies a generated puzzle by the seed of its
+ * generator and the parameters of the generation, so the puzzle can be
+ * generated again instead of being stored. Its String form is compact:
+ *
+ * <pre>
+ * A3-2fvv1x7n3q5ow     version A, block size 3, 20 to 40 clues, seed in base 36
+ * A3.30-2fvv1x7n3q5ow  the same with 30 clues uncovered before the uniqueness check
+ * </pre>
+ *
+ * The version changes whenever the generation algorithm changes, since the
+ * same seed would then give another puzzle.
+ *
+ * @author Benoît
+ *
+ */
+public final class PuzzleId {
+
+	/**
+	 * Version of the generation algorithm
+	 */
+	public static final char VERSION = 'A';
+
+	private final long seed;
+	private final int box, clues;
+
+	/**
+	 * Constructor for PuzzleId
+	 *
+	 * @param seed  the seed of the generator
+	 * @param box   the block size (3 for a 9x9 board)
+	 * @param clues the number of elements uncovered before the uniqueness check, 0
+	 *              for a random number
+	 * @throws IllegalArgumentException if the block size or the number of clues
+	 *                                  is not supported
+	 */
+	public PuzzleId(long seed, int box, int clues) {
+		if (box < Grid.MIN_BOX || box > Grid.MAX_BOX) {
+			throw new IllegalArgumentException("Block size " + box + " is not between " + Grid.MIN_BOX + " and "
+					+ Grid.MAX_BOX);
+		}
+		if (clues < 0 || clues > box * box * box * box) {
+			throw new IllegalArgumentException("Invalid number of clues " + clues);
+		}
+
+		this.seed = seed;
+		this.box = box;
+		this.clues = clues;
+	}
+
+	/**
+	 * Getter method for the seed of the generator
+	 *
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Getter method for the block size
+	 *
+	 * @return the block size
+	 */
+	public int getBox() {
+		return box;
+	}
+
+	/**
+	 * Getter method for the number of elements uncovered before the uniqueness
+	 * check
+	 *
+	 * @return the number of clues, 0 for a random number
+	 */
+	public int getClues() {
+		return clues;
+	}
+
+	/**
+	 * Builds an identifier from its String form
+	 *
+	 * @param id the String form of the identifier
+	 * @return the identifier
+	 * @throws IllegalArgumentException if the String is not an identifier of this
+	 *                                  version
+	 */
+	public static PuzzleId parse(String id) {
+		int dash = id.indexOf('-');
+
+		if (id.length() < 4 || dash < 2) {
+			throw new IllegalArgumentException("Invalid puzzle id '" + id + "'");
+		}
+		if (id.charAt(0) != VERSION) {
+			throw new IllegalArgumentException("Unsupported puzzle id version '" + id.charAt(0) + "'");
+		}
+
+		try {
+			int dot = id.indexOf('.');
+			int box = Integer.parseInt(id.substring(1, dot == -1 || dot > dash ? dash : dot));
+			int clues = dot == -1 || dot > dash ? 0 : Integer.parseInt(id.substring(dot + 1, dash));
+			long seed = Long.parseUnsignedLong(id.substring(dash + 1), 36);
+
+			return new PuzzleId(seed, box, clues);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid puzzle id '" + id + "'", e);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof PuzzleId)) {
+			return false;
+		}
+
+		PuzzleId other = (PuzzleId) obj;
+		return seed == other.seed && box == other.box && clues == other.clues;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(seed) * 31 + box * 1024 + clues;
+	}
+
+	/**
+	 * Builds the String form of the identifier
+	 *
+	 * @return the compact identifier
+	 */
+	@Override
+	public String toString() {
+		return VERSION + Integer.toString(box) + (clues == 0 ? "" : "." + clues) + "-"
+				+ Long.toUnsignedString(seed, 36);
+	}
+}
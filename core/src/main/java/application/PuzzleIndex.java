@@ -0,0 +1,276 @@
+package application;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The class <b>PuzzleIndex</b> is a set of puzzles that rejects the duplicates,
+ * two puzzles being the same when one is a variant of the other by symmetry.
+ *
+ * The puzzles are stored packed, 4 bits per value, and found by the
+ * fingerprint of the Canonicalizer in an open addressing hash table. Their
+ * canonical forms are only computed when two puzzles have the same
+ * fingerprint, so adding a new puzzle costs a fingerprint most of the time.
+ *
+ * On disk, an index is a packed binary file with the solutions (see
+ * PuzzleFileWriter): saving writes the puzzles and loading computes their
+ * fingerprints again.
+ *
+ * An index is not thread-safe.
+ *
+ * @author Benoît
+ *
+ */
+public class PuzzleIndex {
+
+	/**
+	 * Size of a packed puzzle: the puzzle then its solution, 4 bits per value
+	 */
+	private static final int RECORD = 2 * PuzzleFileWriter.VALUES;
+
+	/**
+	 * Largest number of puzzles, whose packed records fit in an array
+	 */
+	static final int MAX_SIZE = (Integer.MAX_VALUE - 8) / RECORD;
+
+	private final Canonicalizer canonicalizer = new Canonicalizer();
+
+	/**
+	 * Packed puzzles, fingerprints and canonical forms (null until needed)
+	 */
+	private byte[] records = new byte[1024 * RECORD];
+	private long[] fingerprints = new long[1024];
+	private byte[][] canonicals = new byte[1024][];
+	private int size;
+
+	/**
+	 * Hash table of the number of every puzzle plus one, 0 being an empty slot
+	 */
+	private int[] table = new int[2048];
+
+	/**
+	 * Canonical form of the puzzle being added or searched
+	 */
+	private final byte[] canonical = new byte[2 * Board.SIZE];
+	private boolean computed;
+
+	private final Board player = new Board(), board = new Board();
+
+	/**
+	 * Adds a puzzle if neither it nor one of its variants is in the index
+	 *
+	 * @param puzzle the puzzle and its solution
+	 * @return true if the puzzle was added, false if it is a duplicate
+	 * @throws IllegalArgumentException if the solution is not a solved board
+	 * @throws IllegalStateException    if the index already holds MAX_SIZE
+	 *                                  puzzles
+	 */
+	public boolean add(Puzzle puzzle) {
+		long fingerprint = canonicalizer.fingerprint(puzzle);
+		int slot = find(puzzle, fingerprint);
+
+		if (table[slot] != 0) {
+			return false;
+		}
+
+		if (size == fingerprints.length) {
+			int capacity = grow(size);
+			records = Arrays.copyOf(records, capacity * RECORD);
+			fingerprints = Arrays.copyOf(fingerprints, capacity);
+			canonicals = Arrays.copyOf(canonicals, capacity);
+		}
+
+		pack(puzzle, size);
+		fingerprints[size] = fingerprint;
+		canonicals[size] = computed ? canonical.clone() : null;
+		table[slot] = ++size;
+
+		if (2 * size > table.length) {
+			rehash();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if a puzzle or one of its variants is in the index
+	 *
+	 * @param puzzle the puzzle and its solution
+	 * @return true if the puzzle is a duplicate, false otherwise
+	 * @throws IllegalArgumentException if the solution is not a solved board
+	 */
+	public boolean contains(Puzzle puzzle) {
+		return table[find(puzzle, canonicalizer.fingerprint(puzzle))] != 0;
+	}
+
+	/**
+	 * Returns the number of puzzles in the index
+	 *
+	 * @return the number of puzzles
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a puzzle of the index
+	 *
+	 * @param n the number of the puzzle, in the order they were added
+	 * @return the puzzle and its solution
+	 * @throws IndexOutOfBoundsException if there is no such puzzle
+	 */
+	public Puzzle get(int n) {
+		if (n < 0 || n >= size) {
+			throw new IndexOutOfBoundsException("Puzzle " + n + " of " + size);
+		}
+
+		byte[] values = new byte[Board.SIZE], solution = new byte[Board.SIZE];
+		int base = n * RECORD;
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			values[i] = (byte) Nibbles.get(records, base, i);
+			solution[i] = (byte) Nibbles.get(records, base + PuzzleFileWriter.VALUES, i);
+		}
+
+		return new Puzzle(values, solution);
+	}
+
+	/**
+	 * Writes the puzzles to a packed binary file with their solutions
+	 *
+	 * @param path the file written
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path path) throws IOException {
+		try (PuzzleFileWriter writer = new PuzzleFileWriter(path, true)) {
+			for (int n = 0; n < size; n++) {
+				writer.write(get(n));
+			}
+		}
+	}
+
+	/**
+	 * Reads an index from a packed binary file with the solutions, the duplicates
+	 * of the file are skipped
+	 *
+	 * @param path the file read
+	 * @return the index
+	 * @throws IOException if the file cannot be read or has no solutions
+	 */
+	public static PuzzleIndex load(Path path) throws IOException {
+		PuzzleIndex index = new PuzzleIndex();
+
+		try (PuzzleFile file = new PuzzleFile(path)) {
+			if (!file.hasSolution()) {
+				throw new IOException(path + " does not store the solutions");
+			}
+
+			for (long n = 0; n < file.size(); n++) {
+				index.add(file.getPuzzle(n));
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Finds the slot of a puzzle in the hash table
+	 *
+	 * @param puzzle      the puzzle searched
+	 * @param fingerprint its fingerprint
+	 * @return the slot of the same puzzle, or the empty slot where it is added
+	 */
+	private int find(Puzzle puzzle, long fingerprint) {
+		computed = false;
+		int mask = table.length - 1;
+
+		for (int slot = hash(fingerprint) & mask;; slot = (slot + 1) & mask) {
+			int n = table[slot] - 1;
+
+			if (n < 0) {
+				return slot;
+			}
+
+			if (fingerprints[n] == fingerprint) {
+				if (!computed) {
+					canonicalize(puzzle, canonical);
+					computed = true;
+				}
+				if (canonicals[n] == null) {
+					canonicals[n] = new byte[2 * Board.SIZE];
+					canonicalize(get(n), canonicals[n]);
+				}
+				if (Arrays.equals(canonical, canonicals[n])) {
+					return slot;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the capacity of a full index, doubled up to MAX_SIZE
+	 *
+	 * @param capacity the current capacity
+	 * @return the new capacity
+	 * @throws IllegalStateException if the capacity is already MAX_SIZE
+	 */
+	static int grow(int capacity) {
+		if (capacity >= MAX_SIZE) {
+			throw new IllegalStateException("An index holds at most " + MAX_SIZE + " puzzles");
+		}
+		return (int) Math.min(2L * capacity, MAX_SIZE);
+	}
+
+	/**
+	 * Doubles the size of the hash table
+	 */
+	private void rehash() {
+		table = new int[2 * table.length];
+		int mask = table.length - 1;
+
+		for (int n = 0; n < size; n++) {
+			int slot = hash(fingerprints[n]) & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = n + 1;
+		}
+	}
+
+	/**
+	 * Computes the canonical form of a puzzle
+	 *
+	 * @param puzzle the puzzle and its solution
+	 * @param target receives the canonical puzzle then the canonical solution
+	 */
+	private void canonicalize(Puzzle puzzle, byte[] target) {
+		canonicalizer.canonicalize(puzzle, player, board);
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			target[i] = (byte) player.get(i);
+			target[Board.SIZE + i] = (byte) board.get(i);
+		}
+	}
+
+	/**
+	 * Stores a puzzle and its solution, 4 bits per value
+	 *
+	 * @param puzzle the puzzle stored
+	 * @param n      the number of the puzzle
+	 */
+	private void pack(Puzzle puzzle, int n) {
+		Nibbles.put(records, n * RECORD, puzzle::get);
+		Nibbles.put(records, n * RECORD + PuzzleFileWriter.VALUES, puzzle::getSolution);
+	}
+
+	/**
+	 * Spreads the bits of a fingerprint over the slots of the hash table
+	 *
+	 * @param fingerprint the fingerprint
+	 * @return the hash of the fingerprint
+	 */
+	private static int hash(long fingerprint) {
+		return (int) (fingerprint ^ fingerprint >>> 32);
+	}
+}
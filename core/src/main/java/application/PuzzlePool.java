@@ -0,0 +1,201 @@
+package application;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The class <b>PuzzlePool</b> keeps a bounded queue of ready puzzles, topped up
+ * by a background thread, so a new game does not have to wait for the
+ * generation of a board. The depth of the queue and the number of puzzles of a
+ * difficulty waited for are gauges of the EngineMetrics, named after the pool
+ * (pool-1.depth, pool-2.depth...) so several pools do not replace each other's
+ * gauges.
+ *
+ * @author Benoît
+ *
+ */
+public class PuzzlePool {
+
+	/**
+	 * Number of pools created, numbering their gauges
+	 */
+	private static final AtomicInteger POOLS = new AtomicInteger();
+
+	/**
+	 * Prefix of the names of the gauges of the pool
+	 */
+	private final String name = "pool-" + POOLS.incrementAndGet();
+
+	/**
+	 * Ready puzzles
+	 */
+	private final BlockingQueue<Puzzle> queue;
+
+	/**
+	 * Thread generating the puzzles of the queue
+	 */
+	private final Thread producer;
+
+	/**
+	 * Number of puzzles generated by the producer and time spent generating them
+	 */
+	private volatile long produced, producing;
+
+	/**
+	 * Thread generating the puzzles of a difficulty, with its own engine keeping
+	 * the surplus puzzles of every difficulty between the games
+	 */
+	private final ExecutorService rated = Executors.newSingleThreadExecutor(task -> {
+		Thread thread = new Thread(task, "PuzzlePool-rated");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final SudokuEngine engine = new SudokuEngine();
+
+	/**
+	 * Number of puzzles of a difficulty requested and not generated yet
+	 */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * Constructor for PuzzlePool, starts filling the queue
+	 *
+	 * @param capacity the maximum number of ready puzzles
+	 */
+	public PuzzlePool(int capacity) {
+		queue = new ArrayBlockingQueue<Puzzle>(capacity);
+
+		producer = new Thread(this::produce, "PuzzlePool");
+		producer.setDaemon(true);
+		producer.start();
+
+		EngineMetrics.gauge(name + ".depth", this::size);
+		EngineMetrics.gauge(name + ".capacity", this::capacity);
+		EngineMetrics.gauge(name + ".produced", this::produced);
+		EngineMetrics.gauge(name + ".rated.pending", pending::get);
+	}
+
+	/**
+	 * Generates puzzles until the pool is shut down, waiting while the queue is
+	 * full
+	 */
+	private void produce() {
+		Sudoku sudoku = new Sudoku();
+
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				long start = System.nanoTime();
+				Puzzle puzzle = sudoku.generate();
+				producing += System.nanoTime() - start;
+				produced++;
+
+				queue.put(puzzle);
+			}
+		} catch (InterruptedException e) {
+			// Shut down
+		}
+	}
+
+	/**
+	 * Returns the next ready puzzle without waiting
+	 *
+	 * @return a puzzle, null if the queue is empty
+	 */
+	public Puzzle poll() {
+		return queue.poll();
+	}
+
+	/**
+	 * Returns the next ready puzzle, waiting for the producer if the queue is empty
+	 *
+	 * @return a puzzle
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Puzzle take() throws InterruptedException {
+		return queue.take();
+	}
+
+	/**
+	 * Generates a puzzle in the background, used when the queue is empty
+	 *
+	 * @return the future puzzle
+	 */
+	public CompletableFuture<Puzzle> generateAsync() {
+		return CompletableFuture.supplyAsync(() -> new Sudoku().generate());
+	}
+
+	/**
+	 * Generates a puzzle of a difficulty in the background
+	 *
+	 * @param difficulty the difficulty of the puzzle
+	 * @return the future puzzle
+	 */
+	public CompletableFuture<Puzzle> generateAsync(Difficulty difficulty) {
+		pending.incrementAndGet();
+		return CompletableFuture.supplyAsync(() -> engine.generate(difficulty), rated)
+				.whenComplete((puzzle, e) -> pending.decrementAndGet());
+	}
+
+	/**
+	 * Returns the number of ready puzzles
+	 *
+	 * @return the depth of the queue
+	 */
+	public int size() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns the maximum number of ready puzzles
+	 *
+	 * @return the capacity of the queue
+	 */
+	public int capacity() {
+		return queue.size() + queue.remainingCapacity();
+	}
+
+	/**
+	 * Returns the number of puzzles generated by the producer
+	 *
+	 * @return the number of puzzles generated
+	 */
+	public long produced() {
+		return produced;
+	}
+
+	/**
+	 * Returns the rate at which the producer refills the queue while generating
+	 *
+	 * @return the number of puzzles generated per second, 0 if none was generated
+	 */
+	public double refillRate() {
+		long nanos = producing;
+		return nanos == 0 ? 0 : produced * 1e9 / nanos;
+	}
+
+	/**
+	 * Getter method for the prefix of the names of the gauges of the pool
+	 *
+	 * @return the prefix, pool-1 for the first pool created
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Stops the producer and the generation of the puzzles of a difficulty
+	 */
+	public void shutdown() {
+		producer.interrupt();
+		rated.shutdownNow();
+
+		EngineMetrics.removeGauge(name + ".depth");
+		EngineMetrics.removeGauge(name + ".capacity");
+		EngineMetrics.removeGauge(name + ".produced");
+		EngineMetrics.removeGauge(name + ".rated.pending");
+	}
+}
@@ -0,0 +1,196 @@
+package application;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The class <b>Reducer</b> makes a puzzle from a full board by removing its
+ * clues, in a random order, as long as the solution stays unique. Removing the
+ * clue of a location keeps the solution unique if no solution has another
+ * value there, which the solver checks with the value excluded: a single
+ * search stopping at the first solution instead of counting two solutions.
+ *
+ * A clue that cannot be removed can never be removed later, since removing
+ * other clues only adds solutions, so every location is tried once and a pass
+ * over the board ends with a minimal puzzle (none of its clues can be removed)
+ * in a few milliseconds. The player's board and the solver are reused from one
+ * removal to the next, and nothing is allocated.
+ *
+ * The clues can be removed by groups of locations symmetric by a Pattern, for
+ * puzzles whose clues are laid out symmetrically.
+ *
+ * @author Benoît
+ *
+ */
+public class Reducer {
+
+	/**
+	 * The class <b>Pattern</b> is the symmetry of the layout of the clues.
+	 */
+	public enum Pattern {
+		/**
+		 * Clues removed one by one
+		 */
+		NONE(num -> num),
+		/**
+		 * Clues removed with their image by a half turn around the center
+		 */
+		ROTATIONAL(num -> Board.SIZE - 1 - num),
+		/**
+		 * Clues removed with their image by a mirror on the middle column
+		 */
+		MIRROR(num -> Board.ROW[num] * 9 + 8 - Board.COL[num]),
+		/**
+		 * Clues removed with their images by quarter turns around the center
+		 */
+		QUARTER(num -> Board.COL[num] * 9 + 8 - Board.ROW[num]);
+
+		/**
+		 * Groups of locations removed together, every location in one group
+		 */
+		private final int[][] groups;
+
+		/**
+		 * Constructor for Pattern
+		 *
+		 * @param image the location symmetric to every location
+		 */
+		Pattern(IntUnaryOperator image) {
+			int[] group = new int[Board.SIZE];
+			int[][] all = new int[Board.SIZE][];
+			int count = 0;
+
+			for (int i = 0; i < Board.SIZE; i++) {
+				group[i] = -1;
+			}
+
+			for (int i = 0; i < Board.SIZE; i++) {
+				if (group[i] != -1) {
+					continue;
+				}
+
+				int[] orbit = new int[4];
+				int size = 0;
+				for (int num = i; group[num] == -1; num = image.applyAsInt(num)) {
+					group[num] = count;
+					orbit[size++] = num;
+				}
+
+				all[count++] = Arrays.copyOf(orbit, size);
+			}
+
+			groups = Arrays.copyOf(all, count);
+		}
+
+		/**
+		 * Parses a pattern from its name, in any case
+		 *
+		 * @param name the name of the pattern
+		 * @return the pattern
+		 * @throws IllegalArgumentException if there is no such pattern
+		 */
+		public static Pattern parse(String name) {
+			return valueOf(name.toUpperCase(Locale.ROOT));
+		}
+	}
+
+	/**
+	 * Checks the uniqueness of the solution after every removal
+	 */
+	private final BacktrackingSolver solver = new BacktrackingSolver();
+
+	/**
+	 * Order in which the groups of locations are tried
+	 */
+	private final int[] order = new int[Board.SIZE];
+
+	/**
+	 * Number of searches done by the last reduction
+	 */
+	private int checks;
+
+	/**
+	 * Removes the clues of a full board until none can be removed or the target
+	 * number of clues is reached
+	 *
+	 * @param solution the full board, left unchanged
+	 * @param player   the board receiving the puzzle
+	 * @param target   the number of clues at which the removal stops, 0 for a
+	 *                 minimal puzzle
+	 * @param pattern  the symmetry of the clues
+	 * @param random   the source of the order of the removals
+	 * @return the number of clues of the puzzle
+	 * @throws IllegalArgumentException if the board is not solved
+	 */
+	public int reduce(Board solution, Board player, int target, Pattern pattern, SplittableRandom random) {
+		if (!solution.isSolved()) {
+			throw new IllegalArgumentException("The board to reduce is not solved");
+		}
+
+		player.copy(solution);
+		checks = 0;
+
+		int[][] groups = pattern.groups;
+		for (int i = 0; i < groups.length; i++) {
+			int j = random.nextInt(i + 1);
+			order[i] = order[j];
+			order[j] = i;
+		}
+
+		int clues = Board.SIZE;
+
+		for (int i = 0; i < groups.length && clues > target; i++) {
+			int[] group = groups[order[i]];
+
+			// Keeps the number of clues from going under the target
+			if (clues - group.length < target) {
+				continue;
+			}
+
+			for (int num : group) {
+				player.set(num, 0);
+			}
+
+			if (isUnique(player, solution, group)) {
+				clues -= group.length;
+			} else {
+				for (int num : group) {
+					player.set(num, solution.get(num));
+				}
+			}
+		}
+
+		return clues;
+	}
+
+	/**
+	 * Checks that the locations of a group removed from a puzzle still have a
+	 * single possible value
+	 *
+	 * @param player   the puzzle, with the group removed
+	 * @param solution the solution of the puzzle before the removal
+	 * @param group    the locations removed
+	 * @return true if the solution is still unique, false otherwise
+	 */
+	private boolean isUnique(Board player, Board solution, int[] group) {
+		for (int num : group) {
+			checks++;
+			if (solver.hasSolutionWithout(player, num, solution.get(num))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Getter method for the number of searches done by the last reduction
+	 *
+	 * @return the number of searches
+	 */
+	public int getChecks() {
+		return checks;
+	}
+}
@@ -0,0 +1,45 @@
+package application;
+
+/**
+ * The interface <b>Solver</b> is implemented by the Sudoku solving engines.
+ *
+ * @author Benoît
+ *
+ */
+public interface Solver {
+
+	/**
+	 * Counts the solutions of the puzzle, stopping as soon as the limit is reached
+	 *
+	 * @param puzzle the Sudoku board to solve, left unchanged
+	 * @param limit  the maximum number of solutions counted
+	 * @return the number of solutions found, at most limit
+	 */
+	int countSolutions(Board puzzle, int limit);
+
+	/**
+	 * Fills the puzzle with its first solution found
+	 *
+	 * @param puzzle the Sudoku board to solve
+	 * @return true if the puzzle was solved, false if it has no solution
+	 */
+	boolean solve(Board puzzle);
+
+	/**
+	 * Returns a value of the first solution found by the last search
+	 *
+	 * @param num the location of the element
+	 * @return the value, undefined if the last search found no solution
+	 */
+	int getSolution(int num);
+
+	/**
+	 * Checks if the puzzle has exactly one solution
+	 *
+	 * @param puzzle the Sudoku board to verify
+	 * @return true if the solution is unique, false otherwise
+	 */
+	default boolean isUnique(Board puzzle) {
+		return countSolutions(puzzle, 2) == 1;
+	}
+}
@@ -0,0 +1,448 @@
+package application;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.Scanner;
+
+/**
+ * The class <b>Sudoku</b> builds playable Sudoku game board using a
+ * backtracking algorithm. It possess many useful methods for the
+ * manipulation of that board. You can also play the game in the command
+ * line/terminal by calling the method start(), but I mostly focused on an GUI
+ * integration of this game in the Main class.
+ * 
+ * @author Benoît
+ *
+ */
+public class Sudoku {
+
+	/**
+	 * Number of full boards reduced before giving up on the number of clues
+	 * wanted by generateMinimal
+	 */
+	private static final int ATTEMPTS = 1000;
+
+	/**
+	 * Fills the uncovered board using an iterative backtracking algorithm
+	 */
+	private Generator generator;
+
+	/**
+	 * Counts the solutions of the player's board
+	 */
+	private Solver solver;
+
+	/**
+	 * Removes the clues of the uncovered board while its solution stays unique
+	 */
+	private Reducer reducer;
+
+	/**
+	 * Seeds of the generated puzzles
+	 */
+	private SplittableRandom seeds;
+
+	/**
+	 * Uncovered Sudoku board
+	 */
+	private Board board;
+
+	/**
+	 * Semi-uncovered Sudoku board
+	 */
+	private Board player;
+
+	/**
+	 * Constructor for Sudoku
+	 */
+	public Sudoku() {
+		this(new BacktrackingSolver());
+	}
+
+	/**
+	 * Constructor for Sudoku using the specified solving engine
+	 * 
+	 * @param solver the engine used to verify the player's board
+	 */
+	public Sudoku(Solver solver) {
+		this.solver = solver;
+		board = new Board();
+		player = new Board();
+		generator = new Generator();
+		reducer = new Reducer();
+		seeds = new SplittableRandom();
+	}
+
+	/**
+	 * Restarts the seeds of the generated puzzles from the specified seed, the
+	 * same seed always giving the same sequence of puzzles
+	 * 
+	 * @param seed the seed of the seeds
+	 */
+	public void setSeed(long seed) {
+		seeds = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Generates a new puzzle with a unique solution and a new seed
+	 * 
+	 * @return the puzzle, its solution and its identifier
+	 */
+	public Puzzle generate() {
+		return generate(new PuzzleId(seeds.nextLong(), 3, 0));
+	}
+
+	/**
+	 * Generates the puzzle identified by id, the same identifier always giving the
+	 * same puzzle
+	 * 
+	 * @param id the identifier of the puzzle
+	 * @return the puzzle, its solution and its identifier
+	 * @throws IllegalArgumentException if the identifier is not a 9x9 puzzle
+	 */
+	public Puzzle generate(PuzzleId id) {
+		if (id.getBox() != 3) {
+			throw new IllegalArgumentException("Puzzle " + id + " is not a 9x9 puzzle");
+		}
+
+		clear();
+		generator.setSeed(id.getSeed());
+		generateBoard();
+		if (id.getClues() == 0) {
+			generatePlayer();
+		} else {
+			generatePlayer(id.getClues());
+		}
+
+		return new Puzzle(player, board, id);
+	}
+
+	/**
+	 * Generates a puzzle by removing the clues of a full board, in a random order,
+	 * as long as its solution stays unique (see Reducer). New boards are reduced
+	 * until the number of clues wanted is reached, puzzles of 22 to 24 clues
+	 * taking a few dozen boards.
+	 * 
+	 * @param clues   the number of clues wanted, 0 for the first minimal puzzle
+	 * @param pattern the symmetry of the clues
+	 * @return the puzzle with the fewest clues found, which has the number of clues
+	 *         wanted if it was reached, and its solution, without identifier
+	 */
+	public Puzzle generateMinimal(int clues, Reducer.Pattern pattern) {
+		Puzzle best = null;
+
+		for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+			generateBoard();
+			int count = reducer.reduce(board, player, clues, pattern, generator.getRandom());
+
+			if (best == null || count < best.getClues()) {
+				best = new Puzzle(player, board);
+			}
+			if (count <= clues || clues == 0) {
+				break;
+			}
+		}
+
+		load(best);
+		return best;
+	}
+
+	/**
+	 * Creates a board with only 20 to 40 elements uncovered
+	 */
+	public void generatePlayer() {
+		generatePlayer(generateRandom(40, 20));
+	}
+
+	/**
+	 * Command line Sudoku game
+	 */
+	public void start() {
+		generateBoard();
+		generatePlayer();
+
+		System.out.println(toString());
+		Scanner sc = new Scanner(System.in);
+
+		while (!player.isSolved()) {
+			System.out.println(printBoard(player.asList()));
+
+			System.out.println("\nPlease enter the row of the number");
+			int row = sc.nextInt();
+			System.out.println("Please enter the column of the number");
+			int col = sc.nextInt();
+			System.out.println("What is the value?");
+			int value = sc.nextInt();
+
+			while (value <= 0 || value > 9) {
+				System.out.println("Invalid value");
+				System.out.println("What is the value?");
+				value = sc.nextInt();
+			}
+
+			player.set((row - 1) * 9 + col - 1, value);
+		}
+
+		sc.close();
+
+		System.out.println("Sudoku solved!");
+	}
+
+	/**
+	 * Getter method for the player's Sudoku board
+	 * 
+	 * @return a List view of the player's Sudoku board
+	 */
+	public List<Integer> getPlayer() {
+		return player.asList();
+	}
+
+	/**
+	 * Returns the player's board along with its solution
+	 * 
+	 * @return a Puzzle with the current boards
+	 */
+	public Puzzle getPuzzle() {
+		return new Puzzle(player, board);
+	}
+
+	/**
+	 * Replaces the boards by the ones of the puzzle
+	 * 
+	 * @param puzzle the puzzle to play
+	 */
+	public void load(Puzzle puzzle) {
+		for (int i = 0; i < Board.SIZE; i++) {
+			player.set(i, puzzle.get(i));
+			board.set(i, puzzle.getSolution(i));
+		}
+	}
+
+	/**
+	 * Generates the player's board by putting the number of elements specified,
+	 * more elements are uncovered if needed until the board has a unique solution
+	 * 
+	 * @param num
+	 */
+	public void generatePlayer(int num) {
+		long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+
+		for (int i = 0; i < num; i++) {
+			uncoverRandom();
+		}
+
+		while (!isUnique()) {
+			uncoverRandom();
+		}
+
+		if (EngineMetrics.ENABLED) {
+			EngineMetrics.playerGenerated(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Checks if the player's board has a unique solution, recording the duration
+	 * of the check
+	 *
+	 * @return true if the solution is unique, false otherwise
+	 */
+	private boolean isUnique() {
+		if (!EngineMetrics.ENABLED) {
+			return solver.isUnique(player);
+		}
+
+		long start = System.nanoTime();
+		boolean unique = solver.isUnique(player);
+		EngineMetrics.uniquenessChecked(System.nanoTime() - start);
+		return unique;
+	}
+
+	/**
+	 * Uncovers a random empty location of the player's board
+	 */
+	private void uncoverRandom() {
+		int rand = generateRandom(Board.SIZE - player.filled(), 0);
+
+		// Finds the rand-th empty location
+		int pos = 0;
+		while (player.get(pos) != 0 || rand-- > 0) {
+			pos++;
+		}
+
+		player.set(pos, board.get(pos));
+	}
+
+	/**
+	 * Counts the solutions of a Sudoku board, stopping as soon as the limit is
+	 * reached
+	 * 
+	 * @param puzzle a List representing the Sudoku board
+	 * @param limit  the maximum number of solutions counted
+	 * @return the number of solutions found, at most limit
+	 */
+	public int countSolutions(List<Integer> puzzle, int limit) {
+		Board grid = new Board();
+		for (int i = 0; i < Board.SIZE; i++) {
+			grid.set(i, puzzle.get(i));
+		}
+
+		return solver.countSolutions(grid, limit);
+	}
+
+	/**
+	 * Used to verify with online sudoku solver
+	 */
+	public String sudokuString(List<Integer> l) {
+		StringBuilder sudoku = new StringBuilder(Board.SIZE);
+		for (int i : l) {
+			if (i == 0) {
+				sudoku.append('.');
+			} else {
+				sudoku.append(i);
+			}
+		}
+		return sudoku.toString();
+	}
+
+	/**
+	 * Generates the board using the iterative backtracking algorithm of the
+	 * Generator
+	 */
+	public void generateBoard() {
+		if (!EngineMetrics.ENABLED) {
+			generator.generate(board);
+			return;
+		}
+
+		long start = System.nanoTime();
+		generator.generate(board);
+		EngineMetrics.boardGenerated(System.nanoTime() - start, generator.getBacktracks());
+	}
+
+	/**
+	 * Getter method for the number of backtracks done while generating the board
+	 * 
+	 * @return the number of backtracks of the last generated board
+	 */
+	public int getBacktracks() {
+		return generator.getBacktracks();
+	}
+
+	/**
+	 * Checks if the board conforms to the Sudoku rules
+	 * 
+	 * @param list a List representing the Sudoku board
+	 * @return true if the board is valid, false otherwise
+	 */
+	public boolean checkBoard(List<Integer> list) {
+		if (!EngineMetrics.ENABLED) {
+			return isValid(list);
+		}
+
+		long start = System.nanoTime();
+		boolean valid = isValid(list);
+		EngineMetrics.boardChecked(System.nanoTime() - start);
+		return valid;
+	}
+
+	/**
+	 * Checks if every row, column and block of a full board has every number
+	 * 
+	 * @param list a List representing the Sudoku board
+	 * @return true if the board is valid, false otherwise
+	 */
+	private boolean isValid(List<Integer> list) {
+		for (int[] unit : Board.UNITS) {
+			int mask = 0;
+
+			for (int i : unit) {
+				int value = list.get(i);
+				if (value == 0 || (mask & Board.bit(value)) != 0) {
+					return false;
+				}
+				mask |= Board.bit(value);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Clears and reinitializes the boards
+	 */
+	public void clear() {
+		board.clear();
+		player.clear();
+	}
+
+	/**
+	 * Method used for initial testing purposes, it fill up the board with
+	 * random numbers from 9 to 1 inclusively
+	 */
+	@SuppressWarnings("unused")
+	private void generateRandomBoard() {
+		for (int i = 0; i < Board.SIZE; i++) {
+			board.set(i, generateRandom(9, 1));
+		}
+	}
+
+	/**
+	 * Generates a random integer number between the max and min parameter
+	 * inclusively
+	 * 
+	 * @param max an integer representing the maximum number of the range
+	 * @param min and integer representing the minimum number of the range
+	 * @return a random integer number
+	 */
+	private int generateRandom(int max, int min) {
+		return generator.getRandom().nextInt(max) + min;
+	}
+
+	/**
+	 * Creates a Sudoku board with the provided List
+	 * 
+	 * @param num List representing a Sudoku board
+	 * @return String representation of the Sudoku board
+	 */
+	public String printBoard(List<Integer> num) {
+		StringBuffer sb = new StringBuffer();
+
+		for (int i = 0; i < 81; i++) {
+
+			if (i != 0 && i % 27 == 0) {
+				sb.append("\n  ");
+				for (int j = 0; j < 13; j++) {
+					sb.append("_ ");
+				}
+				sb.append("\n");
+			}
+
+			if (i % 9 == 0) {
+				sb.append("\n");
+				sb.append("  ");
+			}
+
+			if (i % 3 == 0 && i % 9 != 0) {
+				sb.append(" |  ");
+			}
+
+			if (num.get(i) == 0) {
+				sb.append(" ");
+			} else {
+				sb.append(num.get(i));
+			}
+			sb.append(" ");
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Builds a String representation of the Sudoku board
+	 *
+	 * @return String representation of the Sudoku board
+	 */
+	public String toString() {
+		return printBoard(board.asList());
+	}
+}
@@ -0,0 +1,219 @@
+package application;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+
+/**
+ * The class <b>SudokuEngine</b> is the entry point of the headless engine. It
+ * generates, solves, counts the solutions of, rates and validates Sudoku
+ * boards without any dependency on the GUI.
+ *
+ * An engine keeps its own generator and solvers, so it must not be shared
+ * between threads; create one engine per thread instead.
+ *
+ * @author Benoît
+ *
+ */
+public class SudokuEngine {
+
+	/**
+	 * Maximum number of puzzles kept for every difficulty when generating a
+	 * puzzle of another difficulty
+	 */
+	private static final int SURPLUS = 16;
+
+	/**
+	 * Generates the puzzles
+	 */
+	private final Sudoku sudoku;
+
+	/**
+	 * Solves and counts the solutions of the boards
+	 */
+	private final Solver solver;
+
+	/**
+	 * Solver used to rate the boards, by its number of boards visited
+	 */
+	private final BacktrackingSolver rater = new BacktrackingSolver();
+
+	/**
+	 * Solver used to find the difficulty of the boards, by the techniques needed
+	 */
+	private final LogicalSolver logical = new LogicalSolver();
+
+	/**
+	 * Puzzles rated while generating a puzzle of another difficulty
+	 */
+	private final EnumMap<Difficulty, ArrayDeque<Puzzle>> surplus = new EnumMap<>(Difficulty.class);
+
+	/**
+	 * Player's board of the puzzle being rated
+	 */
+	private final Board rated = new Board();
+
+	/**
+	 * Constructor for SudokuEngine
+	 */
+	public SudokuEngine() {
+		this(new BacktrackingSolver());
+	}
+
+	/**
+	 * Constructor for SudokuEngine using the specified solving engine
+	 *
+	 * @param solver the engine used to solve and count the solutions
+	 */
+	public SudokuEngine(Solver solver) {
+		this.solver = solver;
+		this.sudoku = new Sudoku(solver);
+
+		for (Difficulty difficulty : Difficulty.values()) {
+			surplus.put(difficulty, new ArrayDeque<>(SURPLUS));
+		}
+	}
+
+	/**
+	 * Generates a new puzzle with a unique solution
+	 *
+	 * @return the puzzle, its solution and its identifier
+	 */
+	public Puzzle generate() {
+		return sudoku.generate();
+	}
+
+	/**
+	 * Generates a puzzle of a difficulty. The puzzles are generated and rated
+	 * until one has that difficulty: the Easy ones by uncovering random clues,
+	 * the others by removing clues down to a minimal puzzle (see Reducer). The
+	 * rating stops as soon as a puzzle is too hard, and the puzzles of other
+	 * difficulties are kept for the next calls, up to SURPLUS per difficulty.
+	 *
+	 * @param difficulty the difficulty of the puzzle
+	 * @return the puzzle and its solution, with an identifier for the Easy ones
+	 *         only (see Puzzle.getId)
+	 */
+	public Puzzle generate(Difficulty difficulty) {
+		Puzzle puzzle = surplus.get(difficulty).poll();
+
+		while (puzzle == null) {
+			Puzzle candidate = difficulty == Difficulty.EASY ? sudoku.generate()
+					: sudoku.generateMinimal(0, Reducer.Pattern.NONE);
+
+			for (int i = 0; i < Board.SIZE; i++) {
+				rated.set(i, candidate.get(i));
+			}
+
+			Difficulty found = logical.rate(rated, difficulty);
+
+			if (found == difficulty) {
+				puzzle = candidate;
+			} else if (found != null && surplus.get(found).size() < SURPLUS) {
+				surplus.get(found).add(candidate);
+			}
+		}
+
+		return puzzle;
+	}
+
+	/**
+	 * Returns the number of puzzles of a difficulty kept from the previous
+	 * generations
+	 *
+	 * @param difficulty the difficulty
+	 * @return the number of puzzles ready
+	 */
+	public int surplus(Difficulty difficulty) {
+		return surplus.get(difficulty).size();
+	}
+
+	/**
+	 * Generates the puzzle identified by id again
+	 *
+	 * @param id the identifier of a generated puzzle
+	 * @return the same puzzle and its solution
+	 * @throws IllegalArgumentException if the identifier is not a 9x9 puzzle
+	 */
+	public Puzzle generate(PuzzleId id) {
+		return sudoku.generate(id);
+	}
+
+	/**
+	 * Generates a puzzle by removing clues while its solution stays unique
+	 *
+	 * @param clues   the number of clues wanted, 0 for the first minimal puzzle
+	 * @param pattern the symmetry of the clues
+	 * @return the puzzle with the fewest clues found and its solution, without
+	 *         identifier
+	 */
+	public Puzzle generateMinimal(int clues, Reducer.Pattern pattern) {
+		return sudoku.generateMinimal(clues, pattern);
+	}
+
+	/**
+	 * Solves a board
+	 *
+	 * @param puzzle the board to solve, left unchanged
+	 * @return the first solution found, null if the board has no solution
+	 */
+	public Board solve(Board puzzle) {
+		Board solution = new Board(puzzle);
+		return solver.solve(solution) ? solution : null;
+	}
+
+	/**
+	 * Counts the solutions of a board, stopping as soon as the limit is reached
+	 *
+	 * @param puzzle the board to solve
+	 * @param limit  the maximum number of solutions counted
+	 * @return the number of solutions found, at most limit
+	 */
+	public int count(Board puzzle, int limit) {
+		return solver.countSolutions(puzzle, limit);
+	}
+
+	/**
+	 * Rates a board by the number of boards visited while solving it, filling
+	 * the naked and hidden singles before guessing; 1 means the board is solved
+	 * without any guess
+	 *
+	 * @param puzzle the board to rate
+	 * @return the number of boards visited, 0 if the board has no solution
+	 */
+	public long rate(Board puzzle) {
+		return rater.countSolutions(puzzle, 1) == 0 ? 0 : rater.getNodes();
+	}
+
+	/**
+	 * Finds the difficulty of a board by solving it with the techniques of a
+	 * player, without guessing
+	 *
+	 * @param puzzle the board to rate, with a unique solution
+	 * @return the difficulty of the hardest technique needed, EXPERT if the
+	 *         techniques do not solve the board
+	 */
+	public Difficulty difficulty(Board puzzle) {
+		return logical.rate(puzzle);
+	}
+
+	/**
+	 * Returns the hardest technique needed by the last board rated by difficulty
+	 *
+	 * @return the technique, null if the board was full or needs more than the
+	 *         techniques
+	 */
+	public Technique hardestTechnique() {
+		return logical.isSolved() ? logical.getHardest() : null;
+	}
+
+	/**
+	 * Checks if a board is a valid puzzle: no number appears twice in a row,
+	 * column or block, and it has exactly one solution
+	 *
+	 * @param puzzle the board to validate
+	 * @return true if the board is a valid puzzle, false otherwise
+	 */
+	public boolean validate(Board puzzle) {
+		return puzzle.isValid() && solver.isUnique(puzzle);
+	}
+}
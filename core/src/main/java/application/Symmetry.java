@@ -0,0 +1,249 @@
+package application;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The class <b>Symmetry</b> is one of the transformations of a Sudoku board
+ * into an equivalent board: a relabeling of the digits, a permutation of the
+ * rows within their band and of the bands, a permutation of the columns within
+ * their stack and of the stacks, and optionally a transposition. A puzzle and
+ * its solution transformed by the same symmetry are a puzzle with a unique
+ * solution and the same difficulty, without solving anything.
+ *
+ * The COUNT symmetries are numbered, symmetry 0 being the identity. Setting a
+ * symmetry only decodes its number with precomputed permutation tables, and
+ * applying it is one lookup per location, so neither allocates.
+ *
+ * @author Benoît
+ *
+ */
+public class Symmetry {
+
+	/**
+	 * Number of permutations of the digits (9!)
+	 */
+	private static final int DIGITS = 362880;
+
+	/**
+	 * Number of permutations of the rows, or of the columns, preserving the bands
+	 * (3!^3 within the bands times 3! of the bands)
+	 */
+	static final int LINES = 1296;
+
+	/**
+	 * Number of symmetries
+	 */
+	public static final long COUNT = (long) DIGITS * LINES * LINES * 2;
+
+	/**
+	 * Every permutation of the rows (or columns) preserving the bands, the row
+	 * placed at every position
+	 */
+	static final byte[][] PERMUTATIONS = new byte[LINES][9];
+
+	static {
+		int[][] three = { { 0, 1, 2 }, { 0, 2, 1 }, { 1, 0, 2 }, { 1, 2, 0 }, { 2, 0, 1 }, { 2, 1, 0 } };
+		int[] weight = { 36, 6, 1 };
+
+		for (int n = 0; n < LINES; n++) {
+			int[] bands = three[n / 216];
+
+			for (int band = 0; band < 3; band++) {
+				int[] rows = three[n / weight[band] % 6];
+
+				for (int i = 0; i < 3; i++) {
+					PERMUTATIONS[n][band * 3 + i] = (byte) (bands[band] * 3 + rows[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Location of the source board copied to every location
+	 */
+	private final byte[] cells = new byte[Board.SIZE];
+
+	/**
+	 * New label of every digit, 0 staying 0
+	 */
+	private final byte[] digits = new byte[10];
+
+	/**
+	 * Digits not labeled yet while decoding the digit permutation
+	 */
+	private final byte[] unused = new byte[9];
+
+	/**
+	 * Number of the current symmetry
+	 */
+	private long index;
+
+	/**
+	 * Constructor for the identity Symmetry
+	 */
+	public Symmetry() {
+		set(0);
+	}
+
+	/**
+	 * Constructor for Symmetry
+	 *
+	 * @param index the number of the symmetry, from 0 to COUNT - 1
+	 */
+	public Symmetry(long index) {
+		set(index);
+	}
+
+	/**
+	 * Changes the symmetry
+	 *
+	 * @param index the number of the symmetry, from 0 to COUNT - 1
+	 * @throws IllegalArgumentException if there is no such symmetry
+	 */
+	public void set(long index) {
+		if (index < 0 || index >= COUNT) {
+			throw new IllegalArgumentException("Symmetry " + index + " of " + COUNT);
+		}
+		this.index = index;
+
+		boolean transpose = (index & 1) != 0;
+		index >>= 1;
+		byte[] columns = PERMUTATIONS[(int) (index % LINES)];
+		index /= LINES;
+		byte[] rows = PERMUTATIONS[(int) (index % LINES)];
+		index /= LINES;
+
+		for (int r = 0; r < 9; r++) {
+			for (int c = 0; c < 9; c++) {
+				cells[transpose ? c * 9 + r : r * 9 + c] = (byte) (rows[r] * 9 + columns[c]);
+			}
+		}
+
+		// Digit permutation from its factorial number (Lehmer code)
+		for (int i = 0; i < 9; i++) {
+			unused[i] = (byte) (i + 1);
+		}
+		int code = (int) index;
+		for (int i = 9, factorial = DIGITS; i > 0; i--) {
+			factorial /= i;
+			int k = code / factorial;
+			code %= factorial;
+
+			digits[9 - i + 1] = unused[k];
+			System.arraycopy(unused, k + 1, unused, k, i - k - 1);
+		}
+	}
+
+	/**
+	 * Changes to a random symmetry
+	 *
+	 * @param random the source of random values
+	 */
+	public void random(SplittableRandom random) {
+		set(random.nextLong(COUNT));
+	}
+
+	/**
+	 * Getter method for the number of the symmetry
+	 *
+	 * @return the number, from 0 to COUNT - 1
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the location of the source board copied to a location
+	 *
+	 * @param num the location of the transformed board
+	 * @return the location of the source board
+	 */
+	public int source(int num) {
+		return cells[num];
+	}
+
+	/**
+	 * Returns the new label of a digit
+	 *
+	 * @param value the digit, 0 for an empty location
+	 * @return the digit of the transformed board, 0 for an empty location
+	 */
+	public int digit(int value) {
+		return digits[value];
+	}
+
+	/**
+	 * Transforms a board
+	 *
+	 * @param source the board transformed, left unchanged
+	 * @param target the board receiving the transformed board, not source
+	 */
+	public void apply(Board source, Board target) {
+		// Emptying first avoids removing every old value from its units
+		target.clear();
+		for (int i = 0; i < Board.SIZE; i++) {
+			target.set(i, digits[source.get(cells[i])]);
+		}
+	}
+
+	/**
+	 * Transforms a puzzle and its solution
+	 *
+	 * @param puzzle the puzzle transformed
+	 * @return the transformed puzzle, without identifier
+	 */
+	public Puzzle apply(Puzzle puzzle) {
+		byte[] player = new byte[Board.SIZE], board = new byte[Board.SIZE];
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			player[i] = digits[puzzle.get(cells[i])];
+			board[i] = digits[puzzle.getSolution(cells[i])];
+		}
+
+		return new Puzzle(player, board);
+	}
+
+	/**
+	 * Returns the variants of a puzzle by distinct symmetries, in a random order.
+	 * The symmetries are visited with a stride coprime with COUNT, so none is
+	 * repeated before the COUNT variants are returned. A puzzle with symmetries
+	 * of its own can still give the same variant twice. The stream is sequential,
+	 * its variants share one Symmetry.
+	 *
+	 * @param puzzle the puzzle transformed, with its solution
+	 * @param random the source of the first symmetry and of the stride
+	 * @return a stream of COUNT variants
+	 */
+	public static Stream<Puzzle> variants(Puzzle puzzle, SplittableRandom random) {
+		long start = random.nextLong(COUNT), stride;
+		do {
+			stride = random.nextLong(1, COUNT);
+		} while (gcd(stride, COUNT) != 1);
+
+		long step = stride;
+		Symmetry symmetry = new Symmetry();
+
+		return LongStream.iterate(start, i -> (i + step) % COUNT).limit(COUNT).mapToObj(i -> {
+			symmetry.set(i);
+			return symmetry.apply(puzzle);
+		});
+	}
+
+	/**
+	 * Computes the greatest common divisor of two numbers
+	 *
+	 * @param a a positive number
+	 * @param b a positive number
+	 * @return the greatest common divisor
+	 */
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+}
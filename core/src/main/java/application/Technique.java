@@ -0,0 +1,62 @@
+package application;
+
+/**
+ * The enum <b>Technique</b> is a solving technique of LogicalSolver, from the
+ * easiest to the hardest one.
+ *
+ * @author Benoît
+ *
+ */
+public enum Technique {
+	NAKED_SINGLE("Naked single", Difficulty.EASY),
+	HIDDEN_SINGLE("Hidden single", Difficulty.EASY),
+	LOCKED_CANDIDATES("Locked candidates", Difficulty.MEDIUM),
+	NAKED_PAIR("Naked pair", Difficulty.MEDIUM),
+	HIDDEN_PAIR("Hidden pair", Difficulty.MEDIUM),
+	NAKED_TRIPLE("Naked triple", Difficulty.HARD),
+	HIDDEN_TRIPLE("Hidden triple", Difficulty.HARD),
+	X_WING("X-Wing", Difficulty.HARD),
+	SWORDFISH("Swordfish", Difficulty.EXPERT),
+	XY_WING("XY-Wing", Difficulty.EXPERT);
+
+	private final String name;
+	private final Difficulty difficulty;
+
+	/**
+	 * Constructor for Technique
+	 *
+	 * @param name       the name shown to the player
+	 * @param difficulty the difficulty of the puzzles needing the technique
+	 */
+	Technique(String name, Difficulty difficulty) {
+		this.name = name;
+		this.difficulty = difficulty;
+	}
+
+	/**
+	 * Getter method for the name shown to the player
+	 *
+	 * @return the name of the technique
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter method for the difficulty of the puzzles needing the technique
+	 *
+	 * @return the difficulty
+	 */
+	public Difficulty getDifficulty() {
+		return difficulty;
+	}
+
+	/**
+	 * Checks if the technique places a value, the others only remove candidates
+	 *
+	 * @return true for the singles, false otherwise
+	 */
+	public boolean isPlacement() {
+		return this == NAKED_SINGLE || this == HIDDEN_SINGLE;
+	}
+}
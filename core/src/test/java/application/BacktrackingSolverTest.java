@@ -0,0 +1,72 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the counts and solutions of the BacktrackingSolver.
+ *
+ * @author Benoît
+ *
+ */
+class BacktrackingSolverTest {
+
+	private final BacktrackingSolver solver = new BacktrackingSolver();
+
+	@Test
+	void countsUniqueSolutions() {
+		assertEquals(1, solver.countSolutions(Board.parse(Fixtures.EASY), 2));
+		assertEquals(1, solver.countSolutions(Board.parse(Fixtures.HARD), 2));
+		assertEquals(1, solver.countSolutions(Board.parse(Fixtures.SEVENTEEN), 2));
+	}
+
+	@Test
+	void countStopsAtTheLimit() {
+		assertEquals(2, solver.countSolutions(Board.parse(Fixtures.TWO), 10));
+		assertEquals(1, solver.countSolutions(Board.parse(Fixtures.TWO), 1));
+		assertEquals(5, solver.countSolutions(new Board(), 5));
+	}
+
+	@Test
+	void countsNoSolution() {
+		assertEquals(0, solver.countSolutions(Board.parse(Fixtures.UNSOLVABLE), 2));
+		assertEquals(0, solver.countSolutions(Board.parse(Fixtures.INVALID), 2));
+	}
+
+	@Test
+	void solveFillsTheSolution() {
+		Board board = Board.parse(Fixtures.HARD);
+
+		assertTrue(solver.solve(board));
+		assertEquals(Fixtures.HARD_SOLUTION, board.toString());
+		assertEquals(8, solver.getSolution(0));
+		assertTrue(solver.getNodes() > 0);
+	}
+
+	@Test
+	void solveLeavesAnUnsolvablePuzzle() {
+		Board board = Board.parse(Fixtures.UNSOLVABLE);
+
+		assertFalse(solver.solve(board));
+		assertEquals(Board.parse(Fixtures.UNSOLVABLE).toString(), board.toString());
+	}
+
+	@Test
+	void countLeavesThePuzzleUnchanged() {
+		Board board = Board.parse(Fixtures.SEVENTEEN);
+
+		solver.countSolutions(board, 2);
+		assertEquals(Board.parse(Fixtures.SEVENTEEN).toString(), board.toString());
+		assertEquals(Fixtures.SEVENTEEN_SOLUTION.charAt(80) - '0', solver.getSolution(80));
+	}
+
+	@Test
+	void uniqueness() {
+		assertTrue(solver.isUnique(Board.parse(Fixtures.EASY)));
+		assertFalse(solver.isUnique(Board.parse(Fixtures.TWO)));
+		assertFalse(solver.isUnique(Board.parse(Fixtures.UNSOLVABLE)));
+	}
+}
@@ -0,0 +1,115 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the masks and counts kept by the Board.
+ *
+ * @author Benoît
+ *
+ */
+class BoardTest {
+
+	@Test
+	void parseAndToStringRoundTrip() {
+		Board board = Board.parse(Fixtures.EASY);
+
+		assertEquals(Fixtures.EASY.replace('0', '.'), board.toString());
+		assertEquals(32, board.filled());
+		assertTrue(board.isValid());
+		assertFalse(board.isFull());
+	}
+
+	@Test
+	void parseRejectsInvalidLines() {
+		assertThrows(IllegalArgumentException.class, () -> Board.parse("123"));
+		assertThrows(IllegalArgumentException.class, () -> Board.parse(Fixtures.EASY.replace('6', 'x')));
+	}
+
+	@Test
+	void solvedBoard() {
+		Board board = Board.parse(Fixtures.EASY_SOLUTION);
+
+		assertTrue(board.isSolved());
+		for (int unit = 0; unit < 27; unit++) {
+			assertEquals(Board.ALL, board.unitMask(unit));
+		}
+		assertEquals(-1, board.mostConstrained());
+	}
+
+	@Test
+	void candidatesExcludeRowColumnAndBlock() {
+		Board board = Board.parse(Fixtures.EASY);
+
+		// r1c1 sees 3, 2, 6 in its row, 9, 7, 8 in its column and 1 in its block
+		int expected = Board.bit(4) | Board.bit(5);
+		assertEquals(expected, board.candidates(0));
+	}
+
+	@Test
+	void duplicatesAreCountedAndRemoved() {
+		Board board = new Board();
+
+		board.set(0, 5);
+		// Same row and same block
+		board.set(1, 5);
+		assertEquals(2, board.duplicates());
+		assertTrue(board.conflicts(0));
+		assertTrue(board.conflicts(1));
+
+		// Three in the block, two in the column of 1: extra appearances per unit
+		board.set(10, 5);
+		assertEquals(4, board.duplicates());
+
+		board.set(1, 0);
+		board.set(10, 0);
+		assertEquals(0, board.duplicates());
+		assertFalse(board.conflicts(0));
+		assertEquals(1, board.count(Board.row(0), 5));
+		assertEquals(1, board.filled());
+	}
+
+	@Test
+	void copyAndClear() {
+		Board board = Board.parse(Fixtures.EASY);
+		Board copy = new Board(board);
+
+		assertEquals(board.toString(), copy.toString());
+		assertEquals(board.candidates(40), copy.candidates(40));
+
+		copy.clear();
+		assertEquals(0, copy.filled());
+		assertEquals(Board.ALL, copy.candidates(40));
+		assertEquals(32, board.filled());
+	}
+
+	@Test
+	void unitsAndPeers() {
+		assertEquals(4, Board.row(40));
+		assertEquals(13, Board.column(40));
+		assertEquals(22, Board.block(40));
+
+		for (int num = 0; num < Board.SIZE; num++) {
+			for (int i = 0; i < 20; i++) {
+				int peer = Board.peer(num, i);
+				assertTrue(peer != num);
+				assertTrue(Board.row(peer) == Board.row(num) || Board.column(peer) == Board.column(num)
+						|| Board.block(peer) == Board.block(num));
+			}
+		}
+	}
+
+	@Test
+	void maskHelpers() {
+		int mask = Board.bit(2) | Board.bit(5) | Board.bit(9);
+
+		assertEquals(2, Board.lowest(mask));
+		assertEquals(5, Board.nth(mask, 1));
+		assertEquals(9, Board.nth(mask, 2));
+	}
+}
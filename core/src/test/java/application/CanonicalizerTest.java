@@ -0,0 +1,170 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the canonical forms of the Canonicalizer and of the duplicates found
+ * by a PuzzleIndex.
+ *
+ * @author Benoît
+ *
+ */
+class CanonicalizerTest {
+
+	private static final Puzzle HARD = new Puzzle(Board.parse(Fixtures.HARD), Board.parse(Fixtures.HARD_SOLUTION));
+	private static final Puzzle EASY = new Puzzle(Board.parse(Fixtures.EASY), Board.parse(Fixtures.EASY_SOLUTION));
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Builds a puzzle on the most symmetric solution, which has many
+	 * automorphisms and bands whose stacks refer to a single stack
+	 *
+	 * @return the puzzle, not necessarily with a unique solution
+	 */
+	private static Puzzle symmetric() {
+		Board player = new Board(), board = new Board();
+
+		for (int r = 0; r < 9; r++) {
+			for (int c = 0; c < 9; c++) {
+				int value = (r * 3 + r / 3 + c) % 9 + 1;
+				board.set(r * 9 + c, value);
+				if ((r + 2 * c) % 5 == 0) {
+					player.set(r * 9 + c, value);
+				}
+			}
+		}
+
+		return new Puzzle(player, board);
+	}
+
+	/**
+	 * Checks that random variants of a puzzle have its canonical form and
+	 * fingerprint
+	 *
+	 * @param puzzle the puzzle
+	 * @param seed   the seed of the variants
+	 */
+	private static void assertVariantsAgree(Puzzle puzzle, long seed) {
+		Canonicalizer canonicalizer = new Canonicalizer();
+		Symmetry symmetry = new Symmetry();
+		SplittableRandom random = new SplittableRandom(seed);
+		Board player = new Board(), board = new Board();
+		canonicalizer.canonicalize(puzzle, player, board);
+		String expected = player.toString(), solution = board.toString();
+		long fingerprint = canonicalizer.fingerprint(puzzle);
+
+		for (int n = 0; n < 300; n++) {
+			symmetry.random(random);
+			Puzzle variant = symmetry.apply(puzzle);
+			canonicalizer.canonicalize(variant, player, board);
+
+			assertEquals(expected, player.toString(), variant::toString);
+			assertEquals(solution, board.toString(), variant::toString);
+			assertEquals(fingerprint, canonicalizer.fingerprint(variant));
+		}
+	}
+
+	@Test
+	void variantsHaveTheSameCanonicalForm() {
+		assertVariantsAgree(HARD, 1);
+		assertVariantsAgree(EASY, 2);
+		assertVariantsAgree(symmetric(), 3);
+
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(4);
+		for (int i = 0; i < 10; i++) {
+			assertVariantsAgree(sudoku.generate(), i);
+		}
+	}
+
+	@Test
+	void canonicalFormIsAVariant() {
+		Canonicalizer canonicalizer = new Canonicalizer();
+		Board player = new Board(), board = new Board();
+		canonicalizer.canonicalize(HARD, player, board);
+
+		assertTrue(board.isSolved());
+		assertEquals("123456789", board.toString().substring(0, 9));
+		for (int i = 0; i < Board.SIZE; i++) {
+			if (player.get(i) != 0) {
+				assertEquals(board.get(i), player.get(i));
+			}
+		}
+		assertEquals(HARD.getClues(), player.filled());
+
+		// The canonical form is its own canonical form
+		Puzzle canonical = new Puzzle(player, board);
+		assertEquals(canonical.toString(), canonicalizer.canonical(canonical).toString());
+	}
+
+	@Test
+	void differentPuzzlesHaveDifferentForms() {
+		Canonicalizer canonicalizer = new Canonicalizer();
+
+		assertNotEquals(canonicalizer.canonical(HARD).toString(), canonicalizer.canonical(EASY).toString());
+
+		// Same solution, one clue less
+		Board player = Board.parse(Fixtures.HARD);
+		int first = 0;
+		while (player.get(first) == 0) {
+			first++;
+		}
+		player.set(first, 0);
+		Puzzle fewer = new Puzzle(player, Board.parse(Fixtures.HARD_SOLUTION));
+
+		assertNotEquals(canonicalizer.canonical(HARD).toString(), canonicalizer.canonical(fewer).toString());
+	}
+
+	@Test
+	void unsolvedSolutionIsRejected() {
+		Puzzle puzzle = new Puzzle(Board.parse(Fixtures.HARD), Board.parse(Fixtures.HARD));
+
+		assertThrows(IllegalArgumentException.class, () -> new Canonicalizer().canonical(puzzle));
+	}
+
+	@Test
+	void indexFindsTheVariants() throws Exception {
+		PuzzleIndex index = new PuzzleIndex();
+		Symmetry symmetry = new Symmetry();
+		SplittableRandom random = new SplittableRandom(5);
+
+		assertTrue(index.add(HARD));
+		assertTrue(index.add(EASY));
+		for (int n = 0; n < 50; n++) {
+			symmetry.random(random);
+			assertFalse(index.add(symmetry.apply(HARD)));
+			assertTrue(index.contains(symmetry.apply(EASY)));
+		}
+		assertEquals(2, index.size());
+		assertEquals(HARD.toString(), index.get(0).toString());
+
+		Path path = dir.resolve("index.bin");
+		index.save(path);
+		PuzzleIndex loaded = PuzzleIndex.load(path);
+		symmetry.random(random);
+
+		assertEquals(2, loaded.size());
+		assertTrue(loaded.contains(symmetry.apply(HARD)));
+		assertFalse(loaded.contains(symmetric()));
+	}
+
+	@Test
+	void indexGrowthStopsBeforeOverflowing() {
+		assertEquals(2048, PuzzleIndex.grow(1024));
+		assertEquals(PuzzleIndex.MAX_SIZE, PuzzleIndex.grow(PuzzleIndex.MAX_SIZE / 2 + 1));
+		assertTrue((long) PuzzleIndex.MAX_SIZE * 2 * PuzzleFileWriter.VALUES <= Integer.MAX_VALUE);
+		assertThrows(IllegalStateException.class, () -> PuzzleIndex.grow(PuzzleIndex.MAX_SIZE));
+	}
+}
@@ -0,0 +1,79 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the durations recorded by many threads in a ConcurrentHistogram.
+ *
+ * @author Benoît
+ *
+ */
+class ConcurrentHistogramTest {
+
+	@Test
+	void snapshotMatchesALatencyHistogram() {
+		ConcurrentHistogram concurrent = new ConcurrentHistogram();
+		LatencyHistogram expected = new LatencyHistogram();
+
+		for (long nanos = 1; nanos < 10_000_000; nanos = nanos * 3 + 7) {
+			concurrent.record(nanos);
+			expected.record(nanos);
+		}
+
+		LatencyHistogram snapshot = concurrent.snapshot();
+		assertEquals(expected.count(), concurrent.count());
+		assertEquals(expected.count(), snapshot.count());
+		assertEquals(expected.max(), snapshot.max());
+		assertEquals(expected.mean(), snapshot.mean());
+		assertEquals(expected.percentile(0.5), snapshot.percentile(0.5));
+		assertEquals(expected.percentile(0.99), snapshot.percentile(0.99));
+	}
+
+	@Test
+	void threadsDoNotLoseDurations() throws Exception {
+		ConcurrentHistogram histogram = new ConcurrentHistogram();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				final long offset = t;
+				tasks.add(executor.submit(() -> {
+					for (int i = 0; i < 25_000; i++) {
+						histogram.record(1_000 + offset);
+					}
+				}));
+			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(100_000, histogram.count());
+		assertEquals(1_003, histogram.snapshot().max());
+	}
+
+	@Test
+	void negativeDurationsAndClear() {
+		ConcurrentHistogram histogram = new ConcurrentHistogram();
+
+		histogram.record(-5);
+		assertEquals(1, histogram.count());
+		assertEquals(0, histogram.snapshot().max());
+
+		histogram.record(42);
+		histogram.clear();
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.snapshot().count());
+	}
+}
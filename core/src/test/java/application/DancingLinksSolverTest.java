@@ -0,0 +1,82 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the DancingLinksSolver against the BacktrackingSolver.
+ *
+ * @author Benoît
+ *
+ */
+class DancingLinksSolverTest {
+
+	private final DancingLinksSolver solver = new DancingLinksSolver();
+	private final BacktrackingSolver reference = new BacktrackingSolver();
+
+	@Test
+	void countsAgreeOnFixtures() {
+		String[] puzzles = { Fixtures.EASY, Fixtures.HARD, Fixtures.SEVENTEEN, Fixtures.TWO, Fixtures.UNSOLVABLE,
+				Fixtures.INVALID };
+		int[] expected = { 1, 1, 1, 2, 0, 0 };
+
+		for (int i = 0; i < puzzles.length; i++) {
+			assertEquals(expected[i], solver.countSolutions(Board.parse(puzzles[i]), 10), puzzles[i]);
+			assertEquals(expected[i], reference.countSolutions(Board.parse(puzzles[i]), 10), puzzles[i]);
+		}
+		assertEquals(1, solver.countSolutions(Board.parse(Fixtures.TWO), 1));
+		assertEquals(5, solver.countSolutions(new Board(), 5));
+	}
+
+	@Test
+	void countsAgreeOnRandomPuzzles() {
+		Generator generator = new Generator(7);
+		Random random = new Random(7);
+		Board full = new Board();
+
+		for (int i = 0; i < 100; i++) {
+			generator.generate(full);
+			Board puzzle = new Board();
+			puzzle.copy(full);
+
+			// From unique to many solutions as the clues are removed
+			int removed = 40 + random.nextInt(25);
+			for (int j = 0; j < removed; j++) {
+				puzzle.set(random.nextInt(81), 0);
+			}
+			// Some puzzles get a wrong clue and no solution
+			if (i % 10 == 0) {
+				int pos = random.nextInt(81);
+				puzzle.set(pos, full.get(pos) % 9 + 1);
+			}
+
+			assertEquals(reference.countSolutions(puzzle, 3), solver.countSolutions(puzzle, 3), puzzle::toString);
+		}
+	}
+
+	@Test
+	void solveFillsTheSolution() {
+		Board board = Board.parse(Fixtures.HARD);
+
+		assertTrue(solver.solve(board));
+		assertEquals(Fixtures.HARD_SOLUTION, board.toString());
+		assertEquals(8, solver.getSolution(0));
+		assertTrue(solver.getNodes() > 0);
+	}
+
+	@Test
+	void solverIsReusable() {
+		Board hard = Board.parse(Fixtures.HARD), seventeen = Board.parse(Fixtures.SEVENTEEN);
+
+		assertFalse(solver.solve(Board.parse(Fixtures.UNSOLVABLE)));
+		assertTrue(solver.solve(hard));
+		assertTrue(solver.solve(seventeen));
+		assertEquals(Fixtures.HARD_SOLUTION, hard.toString());
+		assertEquals(Fixtures.SEVENTEEN_SOLUTION, seventeen.toString());
+	}
+}
@@ -0,0 +1,105 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the metrics recorded by EngineMetrics and of their dumps.
+ *
+ * @author Benoît
+ *
+ */
+class EngineMetricsTest {
+
+	/**
+	 * Counts the threads printing the dumps
+	 *
+	 * @return the number of live dump threads
+	 */
+	private static long dumpThreads() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().equals("EngineMetrics-dump")).count();
+	}
+
+	@Test
+	void generationIsRecorded() {
+		EngineMetrics metrics = EngineMetrics.get();
+		long boards = metrics.getBoardsGenerated(), players = metrics.getPlayersGenerated();
+		long searches = metrics.getSearches();
+
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(1);
+		sudoku.generate();
+
+		assertTrue(metrics.getBoardsGenerated() > boards);
+		assertTrue(metrics.getPlayersGenerated() > players);
+		assertTrue(metrics.getSearches() > searches);
+		assertTrue(metrics.getSearchNodes() >= metrics.getSearches());
+		assertTrue(metrics.dump().startsWith("generateBoard"));
+	}
+
+	@Test
+	void gaugesAreReadWhenReported() {
+		long[] value = { 3 };
+		EngineMetrics.gauge("test.gauge", () -> value[0]);
+
+		assertEquals(3, EngineMetrics.get().getGauges().get("test.gauge"));
+		value[0] = 5;
+		assertEquals(5, EngineMetrics.get().getGauges().get("test.gauge"));
+		assertTrue(EngineMetrics.get().dump().contains("test.gauge"));
+
+		EngineMetrics.removeGauge("test.gauge");
+		assertFalse(EngineMetrics.get().getGauges().containsKey("test.gauge"));
+	}
+
+	@Test
+	void metricsAreRegisteredOnRequest() throws Exception {
+		EngineMetrics.registerMBean();
+		EngineMetrics.registerMBean();
+
+		assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(EngineMetrics.NAME)));
+	}
+
+	@Test
+	void dancingLinksSearchesAreRecorded() {
+		EngineMetrics metrics = EngineMetrics.get();
+		long searches = metrics.getSearches(), nodes = metrics.getSearchNodes();
+
+		DancingLinksSolver solver = new DancingLinksSolver();
+		solver.countSolutions(Board.parse(Fixtures.HARD), 2);
+
+		// The producers of the pools of other tests may still be searching
+		assertTrue(metrics.getSearches() >= searches + 1);
+		assertTrue(metrics.getSearchNodes() >= nodes + solver.getNodes());
+	}
+
+	@Test
+	void dumpsShareASingleThread() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, true, "UTF-8");
+
+		ScheduledFuture<?> first = EngineMetrics.startDump(out, 10, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> second = EngineMetrics.startDump(out, 10, TimeUnit.MILLISECONDS);
+		Thread.sleep(100);
+		first.cancel(false);
+		second.cancel(false);
+
+		assertEquals(1, dumpThreads());
+		assertTrue(bytes.toString("UTF-8").contains("solver"));
+
+		// A dump started after the others were cancelled reuses the thread
+		EngineMetrics.startDump(out, 1, TimeUnit.HOURS).cancel(false);
+		assertEquals(1, dumpThreads());
+	}
+}
@@ -0,0 +1,47 @@
+package application;
+
+/**
+ * The class <b>Fixtures</b> is the set of known puzzles used by the tests.
+ *
+ * @author Benoît
+ *
+ */
+final class Fixtures {
+
+	/**
+	 * Solved with singles only (Project Euler problem 96, grid 01)
+	 */
+	static final String EASY = "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+	static final String EASY_SOLUTION = "483921657967345821251876493548132976729564138136798245372689514814253769695417382";
+
+	/**
+	 * Needs a lot of guessing (Arto Inkala, 2012)
+	 */
+	static final String HARD = "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+	static final String HARD_SOLUTION = "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+	/**
+	 * 17 clues, the minimum for a unique solution
+	 */
+	static final String SEVENTEEN = "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+	static final String SEVENTEEN_SOLUTION = "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+
+	/**
+	 * The solution of EASY without a rectangle of two values swappable, exactly
+	 * two solutions
+	 */
+	static final String TWO = "4.3921.579.7345.21251876493548132976729564138136798245372689514814253769695417382";
+
+	/**
+	 * EASY with 5 at r1c1, where its solution has 4: valid but without solution
+	 */
+	static final String UNSOLVABLE = "503020600900305001001806400008102900700000008006708200002609500800203009005010300";
+
+	/**
+	 * Two 3 in the first row
+	 */
+	static final String INVALID = "33.020600900305001001806400008102900700000008006708200002609500800203009005010300";
+
+	private Fixtures() {
+	}
+}
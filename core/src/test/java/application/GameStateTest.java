@@ -0,0 +1,275 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the state of a game kept by GameState.
+ *
+ * @author Benoît
+ *
+ */
+class GameStateTest {
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Returns a game of the easy fixture
+	 *
+	 * @return a new game
+	 */
+	static GameState easy() {
+		Board player = Board.parse(Fixtures.EASY), board = Board.parse(Fixtures.EASY_SOLUTION);
+		return new GameState(new Puzzle(player, board));
+	}
+
+	@Test
+	void conflictsFollowTheMoves() {
+		GameState game = easy();
+		assertEquals(0, game.getConflicts());
+
+		// r1c1 is empty, r1c3 is a given 3
+		game.set(0, 3);
+		assertTrue(game.conflicts(0));
+		assertTrue(game.conflicts(2));
+		assertTrue(game.getConflicts() > 0);
+
+		game.set(0, 4);
+		assertFalse(game.conflicts(0));
+		assertFalse(game.conflicts(2));
+		assertEquals(0, game.getConflicts());
+	}
+
+	@Test
+	void solvedOnceFilledWithTheSolution() {
+		GameState game = easy();
+		int clues = game.filled();
+
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertFalse(game.isSolved());
+			if (!game.isGiven(i)) {
+				game.set(i, Fixtures.EASY_SOLUTION.charAt(i) - '0');
+			}
+		}
+
+		assertTrue(game.isSolved());
+		assertEquals(Board.SIZE, game.filled());
+		assertEquals(32, clues);
+	}
+
+	@Test
+	void givensCannotBeChanged() {
+		GameState game = easy();
+
+		assertTrue(game.isGiven(2));
+		assertThrows(IllegalArgumentException.class, () -> game.set(2, 4));
+		assertEquals(3, game.get(2));
+	}
+
+	@Test
+	void positionsListTheLocationsOfEveryNumber() {
+		GameState game = easy();
+
+		game.set(0, 4);
+		game.set(1, 8);
+		game.set(0, 0);
+		game.set(1, 4);
+
+		for (int value = 0; value <= 9; value++) {
+			boolean[] listed = new boolean[Board.SIZE];
+			for (int i = 0; i < game.count(value); i++) {
+				int pos = game.position(value, i);
+				assertEquals(value, game.get(pos));
+				assertFalse(listed[pos]);
+				listed[pos] = true;
+			}
+			for (int pos = 0; pos < Board.SIZE; pos++) {
+				assertEquals(game.get(pos) == value, listed[pos]);
+			}
+		}
+	}
+
+	@Test
+	void countsFollowTheMovesAndTheReset() {
+		GameState game = easy();
+		int threes = game.count(3), empty = game.count(0);
+
+		game.set(0, 3);
+		assertEquals(threes + 1, game.count(3));
+		assertEquals(empty - 1, game.count(0));
+
+		game.set(0, 4);
+		assertEquals(threes, game.count(3));
+
+		game.reset();
+		int total = 0;
+		for (int value = 0; value <= 9; value++) {
+			total += game.count(value);
+		}
+		assertEquals(empty, game.count(0));
+		assertEquals(Board.SIZE, total);
+	}
+
+	@Test
+	void notesAreToggled() {
+		GameState game = easy();
+
+		assertTrue(game.toggleNote(0, 4));
+		assertTrue(game.toggleNote(0, 9));
+		assertEquals(Board.bit(4) | Board.bit(9), game.getNotes(0));
+		assertFalse(game.toggleNote(0, 4));
+		assertEquals(Board.bit(9), game.getNotes(0));
+
+		// r1c3 is a given 3
+		assertThrows(IllegalArgumentException.class, () -> game.toggleNote(2, 4));
+		game.set(0, 4);
+		assertThrows(IllegalArgumentException.class, () -> game.toggleNote(0, 4));
+	}
+
+	@Test
+	void placingRemovesTheNotesOfTheNeighbours() {
+		GameState game = easy();
+		game.fillNotes();
+
+		int[] before = new int[Board.SIZE];
+		for (int i = 0; i < Board.SIZE; i++) {
+			before[i] = game.getNotes(i);
+		}
+
+		game.set(0, 4);
+		assertEquals(0, game.getNotes(0));
+		for (int i = 1; i < Board.SIZE; i++) {
+			boolean peer = Board.ROW[i] == 0 || Board.COL[i] == 0 || Board.BLOCK[i] == 0;
+			assertEquals(peer ? before[i] & ~Board.bit(4) : before[i], game.getNotes(i), "Location " + i);
+		}
+
+		// Emptying the location does not bring the notes back
+		game.set(0, 0);
+		assertEquals(0, game.getNotes(0));
+		assertEquals(before[1] & ~Board.bit(4), game.getNotes(1));
+	}
+
+	@Test
+	void fillNotesNotesTheCandidates() {
+		GameState game = easy();
+		game.set(0, 4);
+		game.toggleNote(1, 1);
+		game.fillNotes();
+
+		Board board = Board.parse(Fixtures.EASY);
+		board.set(0, 4);
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(game.get(i) == 0 ? board.candidates(i) : 0, game.getNotes(i), "Location " + i);
+			if (game.get(i) == 0) {
+				int solution = Fixtures.EASY_SOLUTION.charAt(i) - '0';
+				assertTrue((game.getNotes(i) & Board.bit(solution)) != 0, "Location " + i);
+			}
+		}
+
+		game.clear(0);
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(0, game.getNotes(i));
+		}
+	}
+
+	@Test
+	void movesAreUndoneAndRedone() {
+		GameState game = easy();
+		assertFalse(game.undo());
+
+		game.play(0, 4, 1_000);
+		game.play(1, 8, 2_000);
+		game.play(0, 5, 3_000);
+
+		assertTrue(game.undo());
+		assertEquals(4, game.get(0));
+		assertTrue(game.undo());
+		assertEquals(0, game.get(1));
+		assertTrue(game.redo());
+		assertEquals(8, game.get(1));
+
+		// Playing after an undo replaces the moves undone
+		game.play(1, 2, 4_000);
+		assertFalse(game.redo());
+		assertEquals(3, game.getMoves().size());
+	}
+
+	@Test
+	void clearIsUndoneAtOnce() {
+		GameState game = easy();
+		game.play(0, 4, 0);
+		game.play(1, 8, 0);
+
+		game.clear(0);
+		assertEquals(0, game.get(0));
+		assertEquals(0, game.get(1));
+
+		assertTrue(game.undo());
+		assertEquals(4, game.get(0));
+		assertEquals(8, game.get(1));
+
+		assertTrue(game.redo());
+		assertEquals(0, game.get(0));
+		assertEquals(0, game.get(1));
+		assertFalse(game.redo());
+	}
+
+	@Test
+	void savedGameIsResumed() throws IOException {
+		GameState game = easy();
+		game.play(0, 4, 1_000);
+		game.play(1, 8, 2_000);
+		game.play(3, 6, 5_000);
+		game.undo();
+
+		Path path = dir.resolve("game.bin");
+		game.save(path, 7_000);
+		GameState loaded = GameState.load(path);
+
+		assertEquals(7_000, loaded.getElapsed());
+		assertEquals(game.getPuzzle().toString(), loaded.getPuzzle().toString());
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(game.get(i), loaded.get(i));
+			assertEquals(game.getPuzzle().getSolution(i), loaded.getPuzzle().getSolution(i));
+		}
+		assertEquals(game.getMoves().size(), loaded.getMoves().size());
+		assertEquals(game.getMoves().position(), loaded.getMoves().position());
+		assertEquals(game.getMoves().getLast(), loaded.getMoves().getLast());
+
+		// The move undone can be redone after loading
+		assertTrue(loaded.redo());
+		assertEquals(6, loaded.get(3));
+	}
+
+	@Test
+	void brokenFilesAreRejected() throws IOException {
+		Path path = dir.resolve("game.bin");
+		GameState game = easy();
+		game.play(0, 4, 0);
+		game.save(path, 0);
+		byte[] bytes = Files.readAllBytes(path);
+
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> GameState.load(path));
+
+		Files.write(path, "not a game".getBytes());
+		assertThrows(IOException.class, () -> GameState.load(path));
+
+		// A move changing a given
+		bytes[bytes.length - 4] = 0;
+		bytes[bytes.length - 1] = 2;
+		Files.write(path, bytes);
+		assertThrows(IOException.class, () -> GameState.load(path));
+	}
+}
@@ -0,0 +1,57 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the boards filled by the Generator.
+ *
+ * @author Benoît
+ *
+ */
+class GeneratorTest {
+
+	@Test
+	void generatedBoardsAreSolved() {
+		Generator generator = new Generator(1);
+		Board board = new Board();
+
+		for (int i = 0; i < 200; i++) {
+			generator.generate(board);
+			assertTrue(board.isSolved(), board::toString);
+			assertTrue(generator.getBacktracks() >= 0);
+		}
+	}
+
+	@Test
+	void sameSeedGivesSameBoards() {
+		Generator first = new Generator(42), second = new Generator(42);
+		Board a = new Board(), b = new Board();
+
+		for (int i = 0; i < 10; i++) {
+			first.generate(a);
+			second.generate(b);
+			assertEquals(a.toString(), b.toString());
+		}
+	}
+
+	@Test
+	void differentSeedsGiveDifferentBoards() {
+		Board a = new Board(), b = new Board();
+
+		new Generator(1).generate(a);
+		new Generator(2).generate(b);
+		assertNotEquals(a.toString(), b.toString());
+	}
+
+	@Test
+	void generateOverwritesThePreviousBoard() {
+		Board board = Board.parse(Fixtures.EASY);
+
+		new Generator(7).generate(board);
+		assertTrue(board.isSolved());
+	}
+}
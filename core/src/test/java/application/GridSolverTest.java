@@ -0,0 +1,79 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the GridSolver and of the puzzles of the GridGenerator.
+ *
+ * @author Benoît
+ *
+ */
+class GridSolverTest {
+
+	@Test
+	void agreesWithTheBacktrackingSolver() {
+		GridSolver solver = new GridSolver(3);
+		BacktrackingSolver reference = new BacktrackingSolver();
+		String[] puzzles = { Fixtures.EASY, Fixtures.HARD, Fixtures.SEVENTEEN, Fixtures.TWO, Fixtures.UNSOLVABLE,
+				Fixtures.INVALID };
+
+		for (String puzzle : puzzles) {
+			assertEquals(reference.countSolutions(Board.parse(puzzle), 10),
+					solver.countSolutions(Grid.parse(3, puzzle), 10), puzzle);
+		}
+
+		Grid hard = Grid.parse(3, Fixtures.HARD);
+		assertTrue(solver.solve(hard));
+		assertEquals(Fixtures.HARD_SOLUTION, hard.toString());
+	}
+
+	@Test
+	void searchWithoutFindsTheOtherSolutions() {
+		GridSolver solver = new GridSolver(3);
+		Grid two = Grid.parse(3, Fixtures.TWO), easy = Grid.parse(3, Fixtures.EASY);
+
+		// r1c2 is 8 in one solution of TWO and 6 in the other
+		assertEquals(1, solver.searchWithout(two, 1, 8, Long.MAX_VALUE));
+		assertEquals(0, solver.searchWithout(easy, 0, 4, Long.MAX_VALUE));
+		assertEquals(-1, solver.searchWithout(new Grid(3), 0, 1, 1));
+	}
+
+	@Test
+	void rejectsAnotherBlockSize() {
+		assertThrows(IllegalArgumentException.class, () -> new GridSolver(4).countSolutions(new Grid(3), 2));
+	}
+
+	@Test
+	void generatedPuzzlesAreUnique() {
+		for (int box = Grid.MIN_BOX; box <= 4; box++) {
+			GridGenerator generator = new GridGenerator(box);
+			GridSolver solver = new GridSolver(box);
+
+			for (long seed = 0; seed < 3; seed++) {
+				Grid grid = new Grid(box), player = new Grid(box);
+				generator.generate(new PuzzleId(seed, box, 0), grid, player);
+
+				assertTrue(grid.isSolved(), grid::toString);
+				assertEquals(1, solver.countSolutions(player, 2), player::toString);
+				assertTrue(solver.solve(player));
+				assertEquals(grid.toString(), player.toString());
+			}
+		}
+	}
+
+	@Test
+	void sameIdGivesTheSamePuzzle() {
+		GridGenerator first = new GridGenerator(4), second = new GridGenerator(4);
+		Grid grid = new Grid(4), a = new Grid(4), b = new Grid(4);
+
+		first.generate(new PuzzleId(42, 4, 0), grid, a);
+		second.generate(new PuzzleId(7, 4, 0), grid, b);
+		second.generate(new PuzzleId(42, 4, 0), grid, b);
+
+		assertEquals(a.toString(), b.toString());
+	}
+}
@@ -0,0 +1,71 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the grids of any block size, Grid.
+ *
+ * @author Benoît
+ *
+ */
+class GridTest {
+
+	@Test
+	void sizesFollowTheBlockSize() {
+		for (int box = Grid.MIN_BOX; box <= Grid.MAX_BOX; box++) {
+			Grid grid = new Grid(box);
+
+			assertEquals(box * box, grid.side());
+			assertEquals(box * box * box * box, grid.size());
+			assertEquals(grid.side(), Integer.bitCount(grid.all()));
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> new Grid(1));
+		assertThrows(IllegalArgumentException.class, () -> new Grid(6));
+	}
+
+	@Test
+	void parseAndToStringRoundTrip() {
+		Grid grid = new Grid(4);
+		grid.set(0, 16);
+		grid.set(17, 10);
+		grid.set(255, 1);
+
+		String line = grid.toString();
+		assertEquals('G', line.charAt(0));
+		assertEquals('A', line.charAt(17));
+		assertEquals(line, Grid.parse(4, line).toString());
+		assertEquals(Fixtures.EASY.replace('0', '.'), Grid.parse(3, Fixtures.EASY).toString());
+
+		assertThrows(IllegalArgumentException.class, () -> Grid.parse(4, "123"));
+		assertThrows(IllegalArgumentException.class, () -> Grid.parse(2, "123456789ABCDEFG"));
+	}
+
+	@Test
+	void masksFollowTheValues() {
+		Grid grid = new Grid(4);
+		grid.set(0, 5);
+		grid.set(20, 7);
+
+		// Same block as 0, same row as 20
+		assertEquals(grid.all() & ~Board.bit(5) & ~Board.bit(7), grid.candidates(17));
+		assertTrue(grid.isValid());
+
+		grid.set(1, 5);
+		assertFalse(grid.isValid());
+
+		grid.set(1, 0);
+		assertTrue(grid.isValid());
+		assertEquals(2, grid.filled());
+
+		Grid copy = new Grid(grid);
+		grid.clear();
+		assertEquals(0, grid.filled());
+		assertEquals(2, copy.filled());
+	}
+}
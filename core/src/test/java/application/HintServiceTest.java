@@ -0,0 +1,185 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import application.Reducer.Pattern;
+
+/**
+ * Tests of the hints and of the live candidates of the HintService.
+ *
+ * @author Benoît
+ *
+ */
+class HintServiceTest {
+
+	private static final Puzzle EASY = new Puzzle(Board.parse(Fixtures.EASY), Board.parse(Fixtures.EASY_SOLUTION));
+
+	/**
+	 * Finds the first empty location of a puzzle
+	 *
+	 * @param puzzle the puzzle
+	 * @return the location
+	 */
+	private static int firstEmpty(Puzzle puzzle) {
+		int num = 0;
+		while (puzzle.get(num) != 0) {
+			num++;
+		}
+		return num;
+	}
+
+	@Test
+	void hintsSolveTheEasyPuzzle() {
+		HintService service = new HintService(EASY);
+		int placed = 0;
+
+		for (Hint hint = service.hint(); hint != null; hint = service.hint()) {
+			assertFalse(hint.isMistake());
+			assertTrue(hint.getTechnique().isPlacement(), hint::toString);
+
+			int num = hint.getCells()[0];
+			assertEquals(EASY.getSolution(num), hint.getDigit(), hint::toString);
+			assertTrue((service.getCandidates(num) & Board.bit(hint.getDigit())) != 0, hint::toString);
+			service.set(num, hint.getDigit());
+			placed++;
+		}
+
+		assertEquals(Board.SIZE - EASY.getClues(), placed);
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(0, service.getCandidates(i));
+		}
+	}
+
+	@Test
+	void mistakeIsShownFirst() {
+		HintService service = new HintService(EASY);
+		int num = firstEmpty(EASY), wrong = EASY.getSolution(num) % 9 + 1;
+
+		service.set(num, wrong);
+		Hint hint = service.hint();
+
+		assertTrue(hint.isMistake());
+		assertNull(hint.getTechnique());
+		assertEquals(num, hint.getCells()[0]);
+		assertEquals(wrong, hint.getDigit());
+		assertEquals(0, hint.getTargets().length);
+		assertTrue(hint.toString().startsWith("Mistake: " + wrong), hint::toString);
+
+		// Emptying the location again removes the mistake
+		service.set(num, 0);
+		assertFalse(service.hint().isMistake());
+	}
+
+	@Test
+	void candidatesFollowTheMoves() {
+		HintService service = new HintService(EASY);
+		int num = firstEmpty(EASY), value = EASY.getSolution(num);
+
+		int[] before = new int[Board.SIZE];
+		for (int i = 0; i < Board.SIZE; i++) {
+			before[i] = service.getCandidates(i);
+		}
+
+		service.set(num, value);
+		assertEquals(0, service.getCandidates(num));
+		for (int peer : Board.PEERS[num]) {
+			assertEquals(0, service.getCandidates(peer) & Board.bit(value), "Location " + peer);
+		}
+
+		// Replacing a value, then emptying the location
+		service.set(num, value % 9 + 1);
+		service.set(num, 0);
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(before[i], service.getCandidates(i), "Location " + i);
+		}
+	}
+
+	@Test
+	void removedCandidatesAreKept() {
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(2);
+		boolean removal = false;
+
+		for (int n = 0; n < 20; n++) {
+			Puzzle puzzle = sudoku.generateMinimal(0, Pattern.NONE);
+			HintService service = new HintService(puzzle);
+
+			for (Hint hint = service.hint(); hint != null; hint = service.hint()) {
+				assertFalse(hint.isMistake());
+
+				if (hint.getTechnique().isPlacement()) {
+					service.set(hint.getCells()[0], hint.getDigit());
+					continue;
+				}
+
+				removal = true;
+				int[] targets = hint.getTargets();
+				assertTrue(targets.length > 0, hint::toString);
+				for (int i = 0; i < targets.length; i++) {
+					assertEquals(0, service.getCandidates(targets[i]) & hint.getRemoved(i), hint::toString);
+					assertEquals(0, hint.getRemoved(i) & Board.bit(puzzle.getSolution(targets[i])), hint::toString);
+				}
+			}
+		}
+
+		assertTrue(removal);
+	}
+
+	@Test
+	void loadStartsTheGameOver() {
+		HintService service = new HintService(EASY);
+		int num = firstEmpty(EASY);
+
+		service.set(num, EASY.getSolution(num) % 9 + 1);
+		service.load(EASY);
+
+		Hint hint = service.hint();
+		assertNotNull(hint);
+		assertFalse(hint.isMistake());
+		assertTrue(hint.toString().startsWith(hint.getTechnique().getName() + ": r"), hint::toString);
+	}
+
+	@Test
+	void takingBackAValueKeepsTheRemovals() {
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(3);
+		int checked = 0;
+
+		for (int n = 0; n < 20; n++) {
+			Puzzle puzzle = sudoku.generateMinimal(0, Pattern.NONE);
+			HintService service = new HintService(puzzle);
+
+			for (Hint hint = service.hint(); hint != null; hint = service.hint()) {
+				if (hint.getTechnique().isPlacement()) {
+					service.set(hint.getCells()[0], hint.getDigit());
+					continue;
+				}
+
+				// Plays a value in the first target, then takes it back
+				int[] before = new int[Board.SIZE];
+				for (int i = 0; i < Board.SIZE; i++) {
+					before[i] = service.getCandidates(i);
+				}
+				int num = hint.getTargets()[0];
+				service.set(num, Board.lowest(before[num]));
+				service.set(num, 0);
+
+				for (int i = 0; i < Board.SIZE; i++) {
+					if (i != num) {
+						assertEquals(before[i], service.getCandidates(i), "Location " + i);
+					}
+				}
+				checked++;
+				break;
+			}
+		}
+
+		assertTrue(checked > 0);
+	}
+}
@@ -0,0 +1,59 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the buckets and percentiles of the LatencyHistogram.
+ *
+ * @author Benoît
+ *
+ */
+class LatencyHistogramTest {
+
+	@Test
+	void bucketsAreOrderedAndInRange() {
+		int previous = -1;
+		for (long nanos = 0; nanos < 1 << 20; nanos += 7) {
+			int bucket = LatencyHistogram.bucket(nanos);
+			assertTrue(bucket >= previous);
+			previous = bucket;
+		}
+		assertTrue(LatencyHistogram.bucket(Long.MAX_VALUE) < LatencyHistogram.BUCKETS);
+	}
+
+	@Test
+	void percentilesAreWithinABucket() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long nanos = 1; nanos <= 10000; nanos++) {
+			histogram.record(nanos * 1000);
+		}
+
+		assertEquals(10000, histogram.count());
+		assertEquals(10_000_000, histogram.max());
+		assertEquals(5_000_500, histogram.mean(), 1e-6);
+
+		long p50 = histogram.percentile(0.5), p99 = histogram.percentile(0.99);
+		assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 1.125, () -> "p50 " + p50);
+		assertTrue(p99 >= 9_900_000 && p99 <= 9_900_000 * 1.125, () -> "p99 " + p99);
+		assertEquals(10_000_000, histogram.percentile(1));
+	}
+
+	@Test
+	void addAndClear() {
+		LatencyHistogram a = new LatencyHistogram(), b = new LatencyHistogram();
+		a.record(100);
+		b.record(5000);
+		b.record(7);
+
+		a.add(b);
+		assertEquals(3, a.count());
+		assertEquals(5000, a.max());
+
+		a.clear();
+		assertEquals(0, a.count());
+		assertEquals(0, a.percentile(0.5));
+	}
+}
@@ -0,0 +1,181 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import application.Reducer.Pattern;
+
+/**
+ * Tests of the steps and the ratings of the LogicalSolver.
+ *
+ * @author Benoît
+ *
+ */
+class LogicalSolverTest {
+
+	private final LogicalSolver solver = new LogicalSolver();
+
+	/**
+	 * Generates minimal puzzles, which need harder techniques than the puzzles
+	 * of Sudoku.generate
+	 *
+	 * @param count the number of puzzles
+	 * @return the puzzles
+	 */
+	private static Puzzle[] minimal(int count) {
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(1);
+
+		Puzzle[] puzzles = new Puzzle[count];
+		for (int i = 0; i < count; i++) {
+			puzzles[i] = sudoku.generateMinimal(0, Pattern.NONE);
+		}
+		return puzzles;
+	}
+
+	/**
+	 * Copies the player's board of a puzzle
+	 *
+	 * @param puzzle the puzzle
+	 * @return the player's board
+	 */
+	private static Board player(Puzzle puzzle) {
+		Board board = new Board();
+		for (int i = 0; i < Board.SIZE; i++) {
+			board.set(i, puzzle.get(i));
+		}
+		return board;
+	}
+
+	@Test
+	void easyIsSolvedWithSingles() {
+		Board board = Board.parse(Fixtures.EASY);
+
+		assertEquals(Difficulty.EASY, solver.rate(board));
+		assertTrue(solver.isSolved());
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(Fixtures.EASY_SOLUTION.charAt(i) - '0', solver.get(i));
+		}
+		assertTrue(solver.getHardest() == Technique.NAKED_SINGLE || solver.getHardest() == Technique.HIDDEN_SINGLE);
+		assertEquals(Board.SIZE - board.filled(),
+				solver.getCount(Technique.NAKED_SINGLE) + solver.getCount(Technique.HIDDEN_SINGLE));
+		assertEquals(Board.parse(Fixtures.EASY).toString(), board.toString());
+	}
+
+	@Test
+	void hardNeedsMoreThanTheTechniques() {
+		assertEquals(Difficulty.EXPERT, solver.rate(Board.parse(Fixtures.HARD)));
+		assertEquals(Difficulty.EXPERT, solver.getDifficulty());
+		assertNull(solver.next());
+		assertNotEquals(Difficulty.EASY, solver.rate(Board.parse(Fixtures.HARD), Difficulty.EASY));
+	}
+
+	@Test
+	void stepsAgreeWithTheSolution() {
+		Set<Technique> seen = EnumSet.noneOf(Technique.class);
+
+		for (Puzzle puzzle : minimal(30)) {
+			solver.load(player(puzzle));
+
+			while (solver.next() != null) {
+				Technique technique = solver.getTechnique();
+				seen.add(technique);
+
+				if (technique.isPlacement()) {
+					assertEquals(0, solver.getTargetCount());
+					assertEquals(puzzle.getSolution(solver.getCell(0)), solver.getDigit(), technique::getName);
+				} else {
+					assertTrue(solver.getTargetCount() > 0, technique::getName);
+					for (int i = 0; i < solver.getTargetCount(); i++) {
+						int target = solver.getTarget(i);
+						assertEquals(0, solver.getRemoved(i) & Board.bit(puzzle.getSolution(target)),
+								technique::getName);
+						assertEquals(solver.getRemoved(i), solver.getCandidates(target) & solver.getRemoved(i));
+					}
+				}
+
+				solver.apply();
+			}
+
+			for (int i = 0; i < Board.SIZE; i++) {
+				assertTrue(solver.get(i) == 0 || solver.get(i) == puzzle.getSolution(i));
+			}
+		}
+
+		assertTrue(seen.containsAll(EnumSet.of(Technique.NAKED_SINGLE, Technique.HIDDEN_SINGLE,
+				Technique.LOCKED_CANDIDATES, Technique.NAKED_PAIR)), seen::toString);
+	}
+
+	@Test
+	void limitStopsTheRating() {
+		for (Puzzle puzzle : minimal(20)) {
+			Board board = player(puzzle);
+			Difficulty exact = solver.rate(board);
+
+			for (Difficulty limit : Difficulty.values()) {
+				Difficulty rated = solver.rate(board, limit);
+
+				if (exact.compareTo(limit) <= 0) {
+					assertEquals(exact, rated, puzzle::toString);
+				} else {
+					// EXPERT only when a technique of EXPERT is needed before a harder one
+					assertTrue(rated == null || rated == exact, puzzle::toString);
+				}
+			}
+		}
+	}
+
+	@Test
+	void nextDoesNotApplyTheStep() {
+		solver.load(Board.parse(Fixtures.EASY));
+
+		Technique technique = solver.next();
+		int cell = solver.getCell(0), digit = solver.getDigit();
+
+		assertEquals(technique, solver.next());
+		assertEquals(cell, solver.getCell(0));
+		assertEquals(0, solver.get(cell));
+		assertEquals(technique, solver.step());
+		assertEquals(digit, solver.get(cell));
+		assertEquals(1, solver.getCount(technique));
+	}
+
+	@Test
+	void clearRestoresTheCandidates() {
+		Board board = Board.parse(Fixtures.EASY);
+		solver.load(board);
+
+		int[] before = new int[Board.SIZE];
+		for (int i = 0; i < Board.SIZE; i++) {
+			before[i] = solver.getCandidates(i);
+		}
+
+		solver.place(0, 4);
+		assertEquals(0, solver.getCandidates(0));
+		assertEquals(0, solver.getCandidates(1) & Board.bit(4));
+
+		solver.clear(0);
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(before[i], solver.getCandidates(i), "Location " + i);
+		}
+	}
+
+	@Test
+	void solvedBoardHasNoStep() {
+		solver.load(Board.parse(Fixtures.EASY_SOLUTION));
+
+		assertNull(solver.next());
+		assertTrue(solver.isSolved());
+		assertEquals(Difficulty.EASY, solver.getDifficulty());
+		assertNull(solver.getHardest());
+		assertThrows(IllegalStateException.class, solver::apply);
+	}
+}
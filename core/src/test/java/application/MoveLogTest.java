@@ -0,0 +1,93 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the moves encoded and recorded by MoveLog.
+ *
+ * @author Benoît
+ *
+ */
+class MoveLogTest {
+
+	@Test
+	void movesAreDecoded() {
+		int move = MoveLog.encode(80, 9, 7, true, 12_345);
+
+		assertEquals(80, MoveLog.cell(move));
+		assertEquals(9, MoveLog.oldValue(move));
+		assertEquals(7, MoveLog.newValue(move));
+		assertTrue(MoveLog.isLinked(move));
+		assertEquals(12_340, MoveLog.delay(move));
+
+		move = MoveLog.encode(0, 0, 0, false, 0);
+		assertEquals(0, MoveLog.cell(move));
+		assertFalse(MoveLog.isLinked(move));
+	}
+
+	@Test
+	void delaysAreClamped() {
+		assertEquals(655_350, MoveLog.delay(MoveLog.encode(3, 0, 1, false, Long.MAX_VALUE)));
+		assertEquals(0, MoveLog.delay(MoveLog.encode(3, 0, 1, false, -5)));
+	}
+
+	@Test
+	void undoAndRedoMoveTheCursor() {
+		MoveLog log = new MoveLog();
+		assertFalse(log.canUndo());
+		assertThrows(IllegalStateException.class, log::undo);
+
+		log.record(0, 0, 4, false, 1_000);
+		log.record(1, 0, 8, false, 3_000);
+
+		assertEquals(2_000, MoveLog.delay(log.get(1)));
+		assertEquals(3_000, log.getLast());
+		assertEquals(1, MoveLog.cell(log.undo()));
+		assertTrue(log.canRedo());
+		assertEquals(1, MoveLog.cell(log.peekRedo()));
+		assertEquals(1, log.position());
+		assertEquals(2, log.size());
+
+		assertEquals(1, MoveLog.cell(log.redo()));
+		assertFalse(log.canRedo());
+		assertEquals(-1, log.peekRedo());
+		assertThrows(IllegalStateException.class, log::redo);
+	}
+
+	@Test
+	void recordingReplacesTheMovesUndone() {
+		MoveLog log = new MoveLog();
+		log.record(0, 0, 4, false, 0);
+		log.record(1, 0, 8, false, 0);
+		log.undo();
+		log.undo();
+
+		log.record(2, 0, 5, false, 0);
+
+		assertEquals(1, log.size());
+		assertEquals(2, MoveLog.cell(log.get(0)));
+		assertFalse(log.canRedo());
+		assertThrows(IndexOutOfBoundsException.class, () -> log.get(1));
+	}
+
+	@Test
+	void logGrowsAndClears() {
+		MoveLog log = new MoveLog();
+
+		for (int i = 0; i < 200; i++) {
+			log.record(i % 81, 0, i % 9 + 1, false, i);
+		}
+		assertEquals(200, log.size());
+		assertEquals(199 % 81, MoveLog.cell(log.get(199)));
+
+		log.clear();
+		assertEquals(0, log.size());
+		assertEquals(0, log.getLast());
+		assertFalse(log.canUndo());
+	}
+}
@@ -0,0 +1,52 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the values packed by Nibbles.
+ *
+ * @author Benoît
+ *
+ */
+class NibblesTest {
+
+	@Test
+	void valuesRoundTrip() {
+		Board board = Board.parse(Fixtures.HARD_SOLUTION);
+		ByteBuffer buffer = ByteBuffer.allocate(Nibbles.BYTES + 1);
+		buffer.put((byte) 0x7F);
+
+		Nibbles.put(buffer, board::get);
+		assertEquals(1 + Nibbles.BYTES, buffer.position());
+
+		byte[] bytes = new byte[1 + Nibbles.BYTES];
+		Nibbles.put(bytes, 1, board::get);
+		bytes[0] = 0x7F;
+		assertArrayEquals(buffer.array(), bytes);
+
+		byte[] values = new byte[Board.SIZE];
+		buffer.position(1);
+		Nibbles.get(buffer, values);
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(board.get(i), values[i]);
+			assertEquals(board.get(i), Nibbles.get(buffer, 1, i));
+			assertEquals(board.get(i), Nibbles.get(bytes, 1, i));
+		}
+	}
+
+	@Test
+	void firstValueIsInTheHighBits() {
+		Board board = Board.parse(Fixtures.HARD);
+		byte[] bytes = new byte[Nibbles.BYTES];
+		Nibbles.put(bytes, 0, board::get);
+
+		assertEquals(41, Nibbles.BYTES);
+		assertEquals(board.get(0) << 4 | board.get(1), bytes[0] & 0xFF);
+		assertEquals(board.get(80) << 4, bytes[40] & 0xFF);
+	}
+}
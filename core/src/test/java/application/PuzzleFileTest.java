@@ -0,0 +1,126 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the files written by PuzzleFileWriter and read by PuzzleFile.
+ *
+ * @author Benoît
+ *
+ */
+class PuzzleFileTest {
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Generates puzzles
+	 *
+	 * @param count the number of puzzles
+	 * @return the puzzles
+	 */
+	private static List<Puzzle> puzzles(int count) {
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(3);
+
+		List<Puzzle> puzzles = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			puzzles.add(sudoku.generate());
+		}
+		return puzzles;
+	}
+
+	@Test
+	void puzzlesAndSolutionsRoundTrip() throws IOException {
+		Path path = dir.resolve("puzzles.bin");
+		List<Puzzle> puzzles = puzzles(50);
+
+		try (PuzzleFileWriter writer = new PuzzleFileWriter(path, true)) {
+			for (Puzzle puzzle : puzzles) {
+				writer.write(puzzle);
+			}
+			assertEquals(50, writer.count());
+		}
+
+		try (PuzzleFile file = new PuzzleFile(path)) {
+			assertEquals(50, file.size());
+			assertTrue(file.hasSolution());
+
+			for (int n = 0; n < puzzles.size(); n++) {
+				Puzzle read = file.getPuzzle(n);
+				assertEquals(puzzles.get(n).toString(), read.toString());
+				for (int i = 0; i < Board.SIZE; i++) {
+					assertEquals(puzzles.get(n).getSolution(i), read.getSolution(i));
+				}
+			}
+			assertThrows(IndexOutOfBoundsException.class, () -> file.get(50, 0));
+		}
+	}
+
+	@Test
+	void boardsRoundTripWithoutSolution() throws IOException {
+		Path path = dir.resolve("boards.bin");
+		String[] boards = { Fixtures.EASY, Fixtures.HARD, Fixtures.SEVENTEEN };
+
+		try (PuzzleFileWriter writer = new PuzzleFileWriter(path, false)) {
+			for (String board : boards) {
+				writer.write(Board.parse(board));
+			}
+		}
+
+		try (PuzzleFile file = new PuzzleFile(path)) {
+			assertFalse(file.hasSolution());
+			assertThrows(IllegalStateException.class, () -> file.getSolution(0, 0));
+
+			Board board = new Board();
+			for (int n = 0; n < boards.length; n++) {
+				file.read(n, board);
+				assertEquals(Board.parse(boards[n]).toString(), board.toString());
+			}
+		}
+	}
+
+	@Test
+	void corruptCountIsRejected() throws IOException {
+		Path path = dir.resolve("corrupt.bin");
+
+		try (PuzzleFileWriter writer = new PuzzleFileWriter(path, false)) {
+			writer.write(Board.parse(Fixtures.EASY));
+		}
+
+		for (long count : new long[] { -1, 2, Long.MAX_VALUE / 2 }) {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.allocate(8).putLong(0, count), PuzzleFileWriter.HEADER - 8);
+			}
+
+			IOException e = assertThrows(IOException.class, () -> new PuzzleFile(path));
+			assertTrue(e.getMessage().startsWith("Corrupt puzzle file"), e.getMessage());
+		}
+	}
+
+	@Test
+	void otherFilesAreRejected() throws IOException {
+		Path path = dir.resolve("other.bin");
+
+		Files.write(path, new byte[PuzzleFileWriter.HEADER]);
+		assertThrows(IOException.class, () -> new PuzzleFile(path));
+
+		Files.write(path, new byte[3]);
+		assertThrows(IOException.class, () -> new PuzzleFile(path));
+	}
+}
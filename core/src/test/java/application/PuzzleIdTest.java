@@ -0,0 +1,82 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the puzzle ids, PuzzleId, and of the puzzles generated again from
+ * them.
+ *
+ * @author Benoît
+ *
+ */
+class PuzzleIdTest {
+
+	@Test
+	void parseAndToStringRoundTrip() {
+		PuzzleId[] ids = { new PuzzleId(0, 3, 0), new PuzzleId(-1, 3, 0), new PuzzleId(123456789, 4, 0),
+				new PuzzleId(Long.MIN_VALUE, 3, 30) };
+
+		for (PuzzleId id : ids) {
+			PuzzleId parsed = PuzzleId.parse(id.toString());
+			assertEquals(id, parsed);
+			assertEquals(id.hashCode(), parsed.hashCode());
+			assertEquals(id.getSeed(), parsed.getSeed());
+		}
+		assertEquals("A3.30-0", new PuzzleId(0, 3, 30).toString());
+		assertNotEquals(new PuzzleId(1, 3, 0), new PuzzleId(1, 4, 0));
+	}
+
+	@Test
+	void parseRejectsOtherStrings() {
+		String[] invalid = { "", "A3", "A-1", "B3-1", "A3-!", "Ax-1", "A9-1", "A3.100-1" };
+
+		for (String id : invalid) {
+			assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse(id), id);
+		}
+	}
+
+	@Test
+	void sameIdGivesTheSamePuzzle() {
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(5);
+
+		Puzzle first = sudoku.generate();
+		sudoku.generate();
+		Puzzle again = new Sudoku().generate(first.getId());
+
+		assertEquals(first.toString(), again.toString());
+		assertEquals(first.getId(), again.getId());
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(first.getSolution(i), again.getSolution(i));
+		}
+
+		Puzzle clues = sudoku.generate(new PuzzleId(9, 3, 30));
+		assertEquals(clues.toString(), new Sudoku().generate(new PuzzleId(9, 3, 30)).toString());
+		assertThrows(IllegalArgumentException.class, () -> sudoku.generate(new PuzzleId(9, 4, 0)));
+	}
+
+	@Test
+	void sameSeedGivesTheSameIds() {
+		Sudoku a = new Sudoku(), b = new Sudoku();
+		a.setSeed(11);
+		b.setSeed(11);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(a.generate().getId(), b.generate().getId());
+		}
+	}
+
+	@Test
+	void reducedPuzzlesHaveNoId() {
+		SudokuEngine engine = new SudokuEngine();
+
+		assertNotNull(engine.generate(Difficulty.EASY).getId());
+		assertNull(engine.generateMinimal(0, Reducer.Pattern.NONE).getId());
+	}
+}
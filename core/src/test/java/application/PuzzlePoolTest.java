@@ -0,0 +1,123 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the puzzles queued by the PuzzlePool.
+ *
+ * @author Benoît
+ *
+ */
+class PuzzlePoolTest {
+
+	private static final BacktrackingSolver SOLVER = new BacktrackingSolver();
+
+	/**
+	 * Checks that a puzzle has a unique solution, the one it carries
+	 *
+	 * @param puzzle the puzzle checked
+	 */
+	private static void assertPlayable(Puzzle puzzle) {
+		Board player = new Board(), board = new Board();
+		for (int i = 0; i < Board.SIZE; i++) {
+			player.set(i, puzzle.get(i));
+			board.set(i, puzzle.getSolution(i));
+			if (puzzle.get(i) != 0) {
+				assertEquals(puzzle.getSolution(i), puzzle.get(i));
+			}
+		}
+
+		assertTrue(board.isSolved());
+		assertEquals(1, SOLVER.countSolutions(player, 2), puzzle::toString);
+	}
+
+	@Test
+	void producerFillsTheQueue() throws Exception {
+		PuzzlePool pool = new PuzzlePool(3);
+
+		try {
+			for (int i = 0; i < 5; i++) {
+				assertPlayable(pool.take());
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (pool.size() < 3 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertEquals(3, pool.size());
+			assertEquals(3, pool.capacity());
+			assertTrue(pool.produced() >= 8);
+			assertTrue(pool.refillRate() > 0);
+			assertNotNull(pool.poll());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void generateAsyncGivesAPuzzle() {
+		PuzzlePool pool = new PuzzlePool(1);
+
+		try {
+			assertPlayable(pool.generateAsync().join());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void generateAsyncGivesTheDifficulty() {
+		PuzzlePool pool = new PuzzlePool(1);
+
+		try {
+			Puzzle puzzle = pool.generateAsync(Difficulty.MEDIUM).join();
+
+			assertPlayable(puzzle);
+			assertEquals(Difficulty.MEDIUM, new LogicalSolver().rate(Board.parse(puzzle.toString())));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void shutdownRemovesTheGauges() {
+		PuzzlePool pool = new PuzzlePool(1), other = new PuzzlePool(1);
+		String depth = pool.getName() + ".depth", otherDepth = other.getName() + ".depth";
+
+		assertNotEquals(depth, otherDepth);
+		assertTrue(EngineMetrics.get().getGauges().containsKey(depth));
+		assertTrue(EngineMetrics.get().getGauges().containsKey(otherDepth));
+
+		// The gauges of the pool still running are kept
+		pool.shutdown();
+		assertFalse(EngineMetrics.get().getGauges().containsKey(depth));
+		assertTrue(EngineMetrics.get().getGauges().containsKey(otherDepth));
+
+		other.shutdown();
+		assertFalse(EngineMetrics.get().getGauges().containsKey(otherDepth));
+	}
+
+	@Test
+	void loadAndGetPuzzleRoundTrip() {
+		Sudoku sudoku = new Sudoku();
+		Puzzle puzzle = sudoku.generate();
+
+		Sudoku other = new Sudoku();
+		other.load(puzzle);
+		Puzzle copy = other.getPuzzle();
+
+		assertEquals(puzzle.toString(), copy.toString());
+		for (int i = 0; i < Board.SIZE; i++) {
+			assertEquals(puzzle.getSolution(i), copy.getSolution(i));
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import application.Reducer.Pattern;
+
+/**
+ * Tests of the puzzles made by the Reducer.
+ *
+ * @author Benoît
+ *
+ */
+class ReducerTest {
+
+	private final Reducer reducer = new Reducer();
+	private final BacktrackingSolver solver = new BacktrackingSolver();
+
+	/**
+	 * Generates a full board
+	 *
+	 * @param seed the seed of the generator
+	 * @return the full board
+	 */
+	private static Board full(long seed) {
+		Board board = new Board();
+		new Generator(seed).generate(board);
+		return board;
+	}
+
+	/**
+	 * Checks that a puzzle has a unique solution, the full board it was made
+	 * from, and that removing any clue with its images gives more solutions
+	 *
+	 * @param player   the puzzle
+	 * @param solution the full board
+	 * @param image    the location symmetric to every location
+	 */
+	private void assertMinimal(Board player, Board solution, IntUnaryOperator image) {
+		assertEquals(1, solver.countSolutions(player, 2), player::toString);
+
+		for (int num = 0; num < Board.SIZE; num++) {
+			if (player.get(num) == 0) {
+				continue;
+			}
+			assertEquals(solution.get(num), player.get(num));
+
+			Board fewer = new Board();
+			fewer.copy(player);
+			for (int i = num; fewer.get(i) != 0; i = image.applyAsInt(i)) {
+				fewer.set(i, 0);
+			}
+			assertEquals(2, solver.countSolutions(fewer, 2), "Clue " + num + " of " + player);
+		}
+	}
+
+	@Test
+	void reducedPuzzlesAreMinimal() {
+		SplittableRandom random = new SplittableRandom(1);
+
+		for (long seed = 0; seed < 5; seed++) {
+			Board solution = full(seed), player = new Board();
+			int clues = reducer.reduce(solution, player, 0, Pattern.NONE, random);
+
+			assertEquals(player.filled(), clues);
+			assertTrue(clues >= 17 && clues < 40, () -> clues + " clues");
+			assertTrue(reducer.getChecks() >= Board.SIZE - clues);
+			assertMinimal(player, solution, num -> num);
+		}
+	}
+
+	@Test
+	void patternsKeepTheCluesSymmetric() {
+		SplittableRandom random = new SplittableRandom(2);
+		Pattern[] patterns = { Pattern.ROTATIONAL, Pattern.MIRROR, Pattern.QUARTER };
+		IntUnaryOperator[] images = { num -> Board.SIZE - 1 - num, num -> Board.ROW[num] * 9 + 8 - Board.COL[num],
+				num -> Board.COL[num] * 9 + 8 - Board.ROW[num] };
+
+		for (int p = 0; p < patterns.length; p++) {
+			Board solution = full(p), player = new Board();
+			int clues = reducer.reduce(solution, player, 0, patterns[p], random);
+			IntUnaryOperator image = images[p];
+
+			assertEquals(player.filled(), clues);
+			for (int num = 0; num < Board.SIZE; num++) {
+				assertEquals(player.get(num) != 0, player.get(image.applyAsInt(num)) != 0,
+						patterns[p] + " " + num + " " + player);
+			}
+			assertMinimal(player, solution, image);
+		}
+	}
+
+	@Test
+	void targetStopsTheRemoval() {
+		Board solution = full(3), player = new Board();
+
+		assertEquals(40, reducer.reduce(solution, player, 40, Pattern.NONE, new SplittableRandom(3)));
+		assertEquals(40, player.filled());
+		assertEquals(1, solver.countSolutions(player, 2));
+
+		// A pair of clues would go under an odd target
+		int clues = reducer.reduce(solution, player, 41, Pattern.ROTATIONAL, new SplittableRandom(3));
+		assertTrue(clues >= 41, () -> clues + " clues");
+	}
+
+	@Test
+	void generateMinimalReachesTheClues() {
+		Sudoku sudoku = new Sudoku();
+		sudoku.setSeed(6);
+
+		Puzzle puzzle = sudoku.generateMinimal(24, Pattern.NONE);
+		Board player = new Board();
+		for (int i = 0; i < Board.SIZE; i++) {
+			player.set(i, puzzle.get(i));
+		}
+
+		assertTrue(puzzle.getClues() <= 24, () -> puzzle.getClues() + " clues");
+		assertEquals(1, solver.countSolutions(player, 2));
+		assertNull(puzzle.getId());
+	}
+
+	@Test
+	void sameRandomGivesSamePuzzle() {
+		Board solution = full(4), first = new Board(), second = new Board();
+
+		reducer.reduce(solution, first, 0, Pattern.ROTATIONAL, new SplittableRandom(4));
+		reducer.reduce(solution, second, 0, Pattern.ROTATIONAL, new SplittableRandom(4));
+
+		assertEquals(first.toString(), second.toString());
+	}
+
+	@Test
+	void unsolvedBoardIsRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> reducer.reduce(Board.parse(Fixtures.HARD), new Board(), 0, Pattern.NONE, new SplittableRandom(5)));
+	}
+
+	@Test
+	void patternsAreParsedInAnyCase() {
+		assertEquals(Pattern.ROTATIONAL, Pattern.parse("rotational"));
+		assertEquals(Pattern.QUARTER, Pattern.parse("Quarter"));
+		assertThrows(IllegalArgumentException.class, () -> Pattern.parse("spiral"));
+	}
+}
@@ -0,0 +1,98 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the public API of the engine, SudokuEngine.
+ *
+ * @author Benoît
+ *
+ */
+class SudokuEngineTest {
+
+	private final SudokuEngine engine = new SudokuEngine();
+
+	@Test
+	void solveLeavesThePuzzleUnchanged() {
+		Board puzzle = Board.parse(Fixtures.HARD);
+
+		assertEquals(Fixtures.HARD_SOLUTION, engine.solve(puzzle).toString());
+		assertEquals(Board.parse(Fixtures.HARD).toString(), puzzle.toString());
+		assertNull(engine.solve(Board.parse(Fixtures.UNSOLVABLE)));
+	}
+
+	@Test
+	void countStopsAtTheLimit() {
+		assertEquals(1, engine.count(Board.parse(Fixtures.SEVENTEEN), 2));
+		assertEquals(2, engine.count(Board.parse(Fixtures.TWO), 2));
+		assertEquals(0, engine.count(Board.parse(Fixtures.UNSOLVABLE), 2));
+	}
+
+	@Test
+	void rateCountsTheGuesses() {
+		assertEquals(1, engine.rate(Board.parse(Fixtures.EASY)));
+		assertTrue(engine.rate(Board.parse(Fixtures.HARD)) > 1);
+		assertEquals(0, engine.rate(Board.parse(Fixtures.UNSOLVABLE)));
+	}
+
+	@Test
+	void validateNeedsAUniqueSolution() {
+		assertTrue(engine.validate(Board.parse(Fixtures.EASY)));
+		assertFalse(engine.validate(Board.parse(Fixtures.TWO)));
+		assertFalse(engine.validate(Board.parse(Fixtures.UNSOLVABLE)));
+		assertFalse(engine.validate(Board.parse(Fixtures.INVALID)));
+	}
+
+	@Test
+	void generatedPuzzlesHaveTheirDifficulty() {
+		for (Difficulty difficulty : Difficulty.values()) {
+			for (int i = 0; i < 3; i++) {
+				Puzzle puzzle = engine.generate(difficulty);
+				Board board = Board.parse(puzzle.toString());
+
+				assertTrue(engine.validate(board), puzzle::toString);
+				assertEquals(difficulty, engine.difficulty(board), puzzle::toString);
+			}
+		}
+	}
+
+	@Test
+	void surplusPuzzlesAreUsedFirst() {
+		// Minimal puzzles of the other difficulties are kept while generating
+		for (int i = 0; i < 5; i++) {
+			engine.generate(Difficulty.HARD);
+		}
+
+		int kept = 0;
+		for (Difficulty difficulty : Difficulty.values()) {
+			int surplus = engine.surplus(difficulty);
+			kept += surplus;
+
+			if (surplus > 0) {
+				Puzzle puzzle = engine.generate(difficulty);
+
+				assertEquals(surplus - 1, engine.surplus(difficulty));
+				assertEquals(difficulty, engine.difficulty(Board.parse(puzzle.toString())));
+			}
+		}
+		assertTrue(kept > 0);
+	}
+
+	@Test
+	void generatedPuzzlesAreValid() {
+		for (int i = 0; i < 20; i++) {
+			Puzzle puzzle = engine.generate();
+			Board board = Board.parse(puzzle.toString());
+
+			assertTrue(engine.validate(board), puzzle::toString);
+			for (int j = 0; j < Board.SIZE; j++) {
+				assertEquals(engine.solve(board).get(j), puzzle.getSolution(j));
+			}
+		}
+	}
+}
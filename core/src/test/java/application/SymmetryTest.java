@@ -0,0 +1,104 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the transformations of the boards by a Symmetry.
+ *
+ * @author Benoît
+ *
+ */
+class SymmetryTest {
+
+	private static final Puzzle HARD = new Puzzle(Board.parse(Fixtures.HARD), Board.parse(Fixtures.HARD_SOLUTION));
+
+	@Test
+	void identityLeavesTheBoard() {
+		Board target = new Board();
+		new Symmetry().apply(Board.parse(Fixtures.HARD), target);
+
+		assertEquals(Board.parse(Fixtures.HARD).toString(), target.toString());
+	}
+
+	@Test
+	void permutationsPreserveTheBands() {
+		Set<String> distinct = new HashSet<>();
+
+		for (byte[] permutation : Symmetry.PERMUTATIONS) {
+			int seen = 0;
+			for (int i = 0; i < 9; i++) {
+				seen |= 1 << permutation[i];
+				// The 3 rows of a band stay together
+				assertEquals(permutation[i / 3 * 3] / 3, permutation[i] / 3);
+			}
+			assertEquals(0x1FF, seen);
+			distinct.add(Arrays.toString(permutation));
+		}
+
+		assertEquals(Symmetry.LINES, distinct.size());
+	}
+
+	@Test
+	void variantsAreValidPuzzles() {
+		SplittableRandom random = new SplittableRandom(1);
+		Symmetry symmetry = new Symmetry();
+		BacktrackingSolver solver = new BacktrackingSolver();
+
+		for (int n = 0; n < 200; n++) {
+			symmetry.random(random);
+			Puzzle variant = symmetry.apply(HARD);
+			Board player = Board.parse(variant.toString()), board = new Board();
+			for (int i = 0; i < Board.SIZE; i++) {
+				board.set(i, variant.getSolution(i));
+			}
+
+			assertTrue(board.isSolved());
+			assertEquals(HARD.getClues(), variant.getClues());
+			assertEquals(1, solver.countSolutions(player, 2));
+			assertTrue(solver.solve(player));
+			assertEquals(board.toString(), player.toString());
+		}
+	}
+
+	@Test
+	void applyToBoardsAndPuzzlesAgree() {
+		Symmetry symmetry = new Symmetry(Symmetry.COUNT - 1);
+		Board target = new Board();
+
+		symmetry.apply(Board.parse(Fixtures.HARD), target);
+		assertEquals(symmetry.apply(HARD).toString(), target.toString());
+		assertEquals(Symmetry.COUNT - 1, symmetry.getIndex());
+
+		for (int num = 0; num < Board.SIZE; num++) {
+			assertEquals(symmetry.digit(HARD.get(symmetry.source(num))), target.get(num));
+		}
+		assertEquals(0, symmetry.digit(0));
+	}
+
+	@Test
+	void setRejectsOtherNumbers() {
+		Symmetry symmetry = new Symmetry();
+
+		assertThrows(IllegalArgumentException.class, () -> symmetry.set(-1));
+		assertThrows(IllegalArgumentException.class, () -> symmetry.set(Symmetry.COUNT));
+	}
+
+	@Test
+	void variantsAreDistinct() {
+		List<String> variants = Symmetry.variants(HARD, new SplittableRandom(2)).limit(1000).map(Puzzle::toString)
+				.collect(Collectors.toList());
+
+		assertEquals(1000, new HashSet<>(variants).size());
+	}
+}
@@ -0,0 +1,79 @@
+package application.gui;
+
+/**
+ * The class <b>BoardLayout</b> is the geometry of the board drawn by
+ * CanvasBoard: the positions of the rows and columns, with a thin line between
+ * two elements of a block and a wider gap between two blocks, and the
+ * hit-testing of a position against the elements.
+ *
+ * @author Benoît
+ *
+ */
+final class BoardLayout {
+
+	/**
+	 * Size of an element, of the gap between two elements of a block and of the
+	 * gap between two blocks
+	 */
+	static final double CELL = 36, LINE = 2, GAP = 8;
+
+	/**
+	 * Size of the board
+	 */
+	static final double SIZE = 9 * CELL + 6 * LINE + 2 * GAP;
+
+	/**
+	 * Position of every row and column
+	 */
+	private static final double[] OFFSET = new double[9];
+
+	static {
+		for (int i = 0; i < 9; i++) {
+			OFFSET[i] = i * CELL + (i - i / 3) * LINE + i / 3 * GAP;
+		}
+	}
+
+	private BoardLayout() {
+	}
+
+	/**
+	 * Returns the position of a row or column
+	 *
+	 * @param i
+	 *            the row or column
+	 * @return the position of its first pixel
+	 */
+	static double offset(int i) {
+		return OFFSET[i];
+	}
+
+	/**
+	 * Finds the element at a position of the board
+	 *
+	 * @param x
+	 *            the horizontal position
+	 * @param y
+	 *            the vertical position
+	 * @return the location of the element, -1 if the position is between elements
+	 */
+	static int cellAt(double x, double y) {
+		int row = line(y), col = line(x);
+		return row == -1 || col == -1 ? -1 : row * 9 + col;
+	}
+
+	/**
+	 * Finds the row or column at a position of the board
+	 *
+	 * @param p
+	 *            the position
+	 * @return the row or column, -1 if the position is between two of them
+	 */
+	static int line(double p) {
+		for (int i = 0; i < 9; i++) {
+			if (p >= OFFSET[i] && p < OFFSET[i] + CELL) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
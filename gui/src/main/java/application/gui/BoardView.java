@@ -0,0 +1,117 @@
+package application.gui;
+
+import java.util.function.IntConsumer;
+
+import javafx.scene.Node;
+
+import application.GameState;
+
+/**
+ * The interface <b>BoardView</b> displays the 81 elements of the Sudoku board
+ * and reports the clicks and the hovering of the mouse by location. Every
+ * state of an element is only redrawn when it changes.
+ *
+ * @author Benoît
+ *
+ */
+public interface BoardView {
+
+	/**
+	 * Getter method for the node added to the scene
+	 *
+	 * @return the node of the board
+	 */
+	Node getNode();
+
+	/**
+	 * Displays the board of a new game, without notes nor highlights
+	 *
+	 * @param game
+	 *            the game played
+	 */
+	void load(GameState game);
+
+	/**
+	 * Returns the value displayed at a location
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @return the value, 0 if the element is empty
+	 */
+	int getValue(int pos);
+
+	/**
+	 * Displays a new value
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @param value
+	 *            the value, 0 if the element is empty
+	 */
+	void setValue(int pos, int value);
+
+	/**
+	 * Displays new notes, shown while the element is empty
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @param notes
+	 *            the mask of the numbers noted (see Board)
+	 */
+	void setNotes(int pos, int notes);
+
+	/**
+	 * Highlights an element as equal to the selected number
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @param number
+	 *            true to highlight the element, false otherwise
+	 */
+	void setNumber(int pos, boolean number);
+
+	/**
+	 * Highlights an element as part of the row or column under the mouse
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @param helper
+	 *            true to highlight the element, false otherwise
+	 */
+	void setHelper(int pos, boolean helper);
+
+	/**
+	 * Highlights an element as part of the last hint
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @param hint
+	 *            true to highlight the element, false otherwise
+	 */
+	void setHint(int pos, boolean hint);
+
+	/**
+	 * Sets the action of a click on an element which was not uncovered at the
+	 * start of the game
+	 *
+	 * @param action
+	 *            receives the location clicked
+	 */
+	void setOnCellAction(IntConsumer action);
+
+	/**
+	 * Sets the action of the mouse entering an element
+	 *
+	 * @param action
+	 *            receives the location entered
+	 */
+	void setOnCellEntered(IntConsumer action);
+
+	/**
+	 * Sets the action of the mouse exiting an element
+	 *
+	 * @param action
+	 *            receives the location exited
+	 */
+	void setOnCellExited(IntConsumer action);
+}
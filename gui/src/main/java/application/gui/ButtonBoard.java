@@ -0,0 +1,129 @@
+package application.gui;
+
+import java.util.function.IntConsumer;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.layout.GridPane;
+
+import application.GameState;
+
+/**
+ * The class <b>ButtonBoard</b> displays the Sudoku board as 81 CellButtons in 9
+ * GridPanes, one per block, styled by the CSS. The buttons are created again
+ * for every game.
+ *
+ * @author Benoît
+ *
+ */
+public class ButtonBoard implements BoardView {
+
+	private final GridPane table = new GridPane();
+	private final CellButton[] boardText = new CellButton[81];
+	private final GridPane[] grid = new GridPane[9];
+
+	private IntConsumer action = pos -> {
+	}, entered = action, exited = action;
+
+	/**
+	 * Constructor for ButtonBoard
+	 */
+	public ButtonBoard() {
+		table.setVgap(8);
+		table.setHgap(8);
+		table.setAlignment(Pos.CENTER);
+	}
+
+	@Override
+	public Node getNode() {
+		return table;
+	}
+
+	@Override
+	public void load(GameState game) {
+		// Removes every buttons (GridPane) inside the main GridPane
+		for (int i = 0; i < 9; i++) {
+			if (grid[i] != null) {
+				table.getChildren().remove(grid[i]);
+			}
+		}
+
+		// Each block
+		for (int i = 0; i < 9; i++) {
+
+			grid[i] = new GridPane();
+
+			int t = i % 3 * 3 + (i / 3) * 27;
+			int temp = 0;
+
+			// Each element in that block
+			for (int j = t; j < t + 20; j += 9, temp++) {
+
+				// Each row of the block
+				for (int k = 0; k < 3; k++) {
+
+					// Index of current element
+					final int pos = j + k;
+
+					// New Button
+					boardText[pos] = new CellButton(game.get(pos), game.isGiven(pos));
+
+					if (!game.isGiven(pos)) {
+						boardText[pos].setOnAction(e -> action.accept(pos));
+					}
+
+					boardText[pos].setOnMouseEntered(e -> entered.accept(pos));
+					boardText[pos].setOnMouseExited(e -> exited.accept(pos));
+
+					grid[i].add(boardText[pos], k, temp);
+				}
+			}
+			table.add(grid[i], i % 3, i / 3);
+		}
+	}
+
+	@Override
+	public int getValue(int pos) {
+		return boardText[pos].getValue();
+	}
+
+	@Override
+	public void setValue(int pos, int value) {
+		boardText[pos].setValue(value);
+	}
+
+	@Override
+	public void setNotes(int pos, int notes) {
+		boardText[pos].setNotes(notes);
+	}
+
+	@Override
+	public void setNumber(int pos, boolean number) {
+		boardText[pos].setNumber(number);
+	}
+
+	@Override
+	public void setHelper(int pos, boolean helper) {
+		boardText[pos].setHelper(helper);
+	}
+
+	@Override
+	public void setHint(int pos, boolean hint) {
+		boardText[pos].setHint(hint);
+	}
+
+	@Override
+	public void setOnCellAction(IntConsumer action) {
+		this.action = action;
+	}
+
+	@Override
+	public void setOnCellEntered(IntConsumer action) {
+		entered = action;
+	}
+
+	@Override
+	public void setOnCellExited(IntConsumer action) {
+		exited = action;
+	}
+}
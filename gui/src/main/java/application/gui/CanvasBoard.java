@@ -0,0 +1,282 @@
+package application.gui;
+
+import java.util.function.IntConsumer;
+
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import application.GameState;
+
+/**
+ * The class <b>CanvasBoard</b> draws the Sudoku board on a single Canvas, in
+ * the colours of the CSS of the CellButtons. The state of every element is
+ * kept in arrays and the elements whose state changed are redrawn once, after
+ * the event that changed them, so a new game redraws the board without
+ * creating any node.
+ *
+ * The clicks and the hovering of the mouse are found by hit-testing the
+ * position of the mouse against the layout of the elements (see BoardLayout),
+ * the gaps between them being outside every element.
+ *
+ * @author Benoît
+ *
+ */
+public class CanvasBoard implements BoardView {
+
+	/**
+	 * States of an element
+	 */
+	private static final int PRESET = 1, NUMBER = 2, HELPER = 4, HINT = 8;
+
+	private static final Color BASE = Color.web("#ECECEC"), BORDER = Color.web("#B5B5B5");
+	private static final Color GIVEN = Color.web("#D2D2D2");
+	private static final Color SELECTED = Color.web("#3670C6");
+	private static final Color HELPER_VALUE = Color.web("#929DB0"), HELPER_EMPTY = Color.web("#BDC4CE");
+	private static final Color HELPER_SELECTED = Color.web("#234B8D");
+	private static final Color HINTED = Color.web("#EECE5A");
+	private static final Color NOTE = Color.web("#4A4A4A");
+
+	private static final Font VALUE = Font.font("Arial", FontWeight.BOLD, 20);
+	private static final Font NOTES = Font.font("Arial", FontWeight.BOLD, 9);
+
+	private static final String[] DIGITS = { "", "1", "2", "3", "4", "5", "6", "7", "8", "9" };
+
+	private final Canvas canvas = new Canvas(BoardLayout.SIZE, BoardLayout.SIZE);
+	private final GraphicsContext g = canvas.getGraphicsContext2D();
+	private final StackPane pane = new StackPane(canvas);
+
+	/**
+	 * Value, notes and states of every element
+	 */
+	private final int[] values = new int[81], notes = new int[81], states = new int[81];
+
+	/**
+	 * Elements to redraw, the first size elements of queue
+	 */
+	private final boolean[] dirty = new boolean[81];
+	private final int[] queue = new int[81];
+	private int size;
+
+	/**
+	 * Redraws the elements changed, run once after the events changing them
+	 */
+	private final Runnable flush = this::flush;
+
+	/**
+	 * Element under the mouse, -1 if none
+	 */
+	private int hovered = -1;
+
+	private IntConsumer action = pos -> {
+	}, entered = action, exited = action;
+
+	/**
+	 * Constructor for CanvasBoard
+	 */
+	public CanvasBoard() {
+		g.setTextAlign(TextAlignment.CENTER);
+		g.setTextBaseline(VPos.CENTER);
+		g.setStroke(BORDER);
+
+		canvas.setOnMouseMoved(e -> hover(BoardLayout.cellAt(e.getX(), e.getY())));
+		canvas.setOnMouseExited(e -> hover(-1));
+		canvas.setOnMouseClicked(e -> {
+			int pos = BoardLayout.cellAt(e.getX(), e.getY());
+			if (e.getButton() == MouseButton.PRIMARY && pos != -1 && (states[pos] & PRESET) == 0) {
+				action.accept(pos);
+			}
+		});
+	}
+
+	@Override
+	public Node getNode() {
+		return pane;
+	}
+
+	@Override
+	public void load(GameState game) {
+		hover(-1);
+
+		for (int pos = 0; pos < 81; pos++) {
+			values[pos] = game.get(pos);
+			notes[pos] = 0;
+			states[pos] = game.isGiven(pos) ? PRESET : 0;
+			invalidate(pos);
+		}
+	}
+
+	@Override
+	public int getValue(int pos) {
+		return values[pos];
+	}
+
+	@Override
+	public void setValue(int pos, int value) {
+		if (values[pos] != value) {
+			values[pos] = value;
+			invalidate(pos);
+		}
+	}
+
+	@Override
+	public void setNotes(int pos, int notes) {
+		if (this.notes[pos] != notes) {
+			this.notes[pos] = notes;
+			invalidate(pos);
+		}
+	}
+
+	@Override
+	public void setNumber(int pos, boolean number) {
+		setState(pos, NUMBER, number);
+	}
+
+	@Override
+	public void setHelper(int pos, boolean helper) {
+		setState(pos, HELPER, helper);
+	}
+
+	@Override
+	public void setHint(int pos, boolean hint) {
+		setState(pos, HINT, hint);
+	}
+
+	@Override
+	public void setOnCellAction(IntConsumer action) {
+		this.action = action;
+	}
+
+	@Override
+	public void setOnCellEntered(IntConsumer action) {
+		entered = action;
+	}
+
+	@Override
+	public void setOnCellExited(IntConsumer action) {
+		exited = action;
+	}
+
+	/**
+	 * Turns a state of an element on or off
+	 *
+	 * @param pos
+	 *            the location of the element
+	 * @param state
+	 *            the bit of the state
+	 * @param on
+	 *            true to turn the state on, false otherwise
+	 */
+	private void setState(int pos, int state, boolean on) {
+		int states = on ? this.states[pos] | state : this.states[pos] & ~state;
+
+		if (this.states[pos] != states) {
+			this.states[pos] = states;
+			invalidate(pos);
+		}
+	}
+
+	/**
+	 * Reports the mouse entering and exiting the elements
+	 *
+	 * @param pos
+	 *            the element under the mouse, -1 if none
+	 */
+	private void hover(int pos) {
+		if (pos != hovered) {
+			int previous = hovered;
+			hovered = pos;
+
+			if (previous != -1) {
+				exited.accept(previous);
+			}
+			if (pos != -1) {
+				entered.accept(pos);
+			}
+		}
+	}
+
+	/**
+	 * Marks an element to redraw, the first one schedules the redrawing
+	 *
+	 * @param pos
+	 *            the location of the element
+	 */
+	private void invalidate(int pos) {
+		if (!dirty[pos]) {
+			dirty[pos] = true;
+			queue[size++] = pos;
+
+			if (size == 1) {
+				Platform.runLater(flush);
+			}
+		}
+	}
+
+	/**
+	 * Redraws the elements marked
+	 */
+	private void flush() {
+		for (int i = 0; i < size; i++) {
+			dirty[queue[i]] = false;
+			draw(queue[i]);
+		}
+		size = 0;
+	}
+
+	/**
+	 * Draws an element: its background from its states, then its value or its
+	 * notes in a 3x3 square
+	 *
+	 * @param pos
+	 *            the location of the element
+	 */
+	private void draw(int pos) {
+		double x = BoardLayout.offset(pos % 9), y = BoardLayout.offset(pos / 9), cell = BoardLayout.CELL;
+		int state = states[pos], value = values[pos];
+
+		// Same precedence as the pseudo-classes of the CSS
+		Color background = (state & PRESET) != 0 ? GIVEN : BASE, text = Color.BLACK;
+		if ((state & NUMBER) != 0) {
+			background = SELECTED;
+			text = Color.WHITE;
+		}
+		if ((state & HELPER) != 0) {
+			if ((state & NUMBER) != 0) {
+				background = HELPER_SELECTED;
+			} else {
+				background = value == 0 ? HELPER_EMPTY : HELPER_VALUE;
+			}
+		}
+		if ((state & HINT) != 0) {
+			background = HINTED;
+		}
+
+		g.clearRect(x, y, cell, cell);
+		g.setFill(background);
+		g.fillRoundRect(x, y, cell, cell, 6, 6);
+		g.strokeRoundRect(x + 0.5, y + 0.5, cell - 1, cell - 1, 6, 6);
+
+		if (value != 0) {
+			g.setFont(VALUE);
+			g.setFill(text);
+			g.fillText(DIGITS[value], x + cell / 2, y + cell / 2);
+		} else if (notes[pos] != 0) {
+			g.setFont(NOTES);
+			g.setFill(NOTE);
+			for (int i = 0; i < 9; i++) {
+				if ((notes[pos] & 1 << i) != 0) {
+					g.fillText(DIGITS[i + 1], x + (i % 3 + 0.5) * cell / 3, y + (i / 3 + 0.5) * cell / 3);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package application.gui;
+
+import javafx.css.PseudoClass;
+import javafx.scene.control.Button;
+
+/**
+ * The class <b>CellButton</b> is a Button of the Sudoku board. Its states are
+ * CSS pseudo-classes of the style class <code>cell</code>, toggled only when
+ * they change, so updating a location does not reapply the CSS of the board.
+ *
+ * <pre>
+ * preset  the element was uncovered at the start of the game
+ * zero    the element is empty
+ * number  the element is equal to the selected number
+ * helper  the element is in the row or column under the mouse
+ * hint    the element is part of the last hint
+ * notes   the element is empty and shows the notes of the player
+ * </pre>
+ *
+ * @author Benoît
+ *
+ */
+public class CellButton extends Button {
+
+	private static final PseudoClass PRESET = PseudoClass.getPseudoClass("preset");
+	private static final PseudoClass ZERO = PseudoClass.getPseudoClass("zero");
+	private static final PseudoClass NUMBER = PseudoClass.getPseudoClass("number");
+	private static final PseudoClass HELPER = PseudoClass.getPseudoClass("helper");
+	private static final PseudoClass HINT = PseudoClass.getPseudoClass("hint");
+	private static final PseudoClass NOTES = PseudoClass.getPseudoClass("notes");
+
+	/**
+	 * Space as wide as a digit, keeps the noted numbers aligned
+	 */
+	private static final char BLANK = '\u2007';
+
+	private int value = -1, notes;
+	private boolean preset, number, helper, hint;
+
+	/**
+	 * Constructor for CellButton
+	 *
+	 * @param value
+	 *            the value of the element
+	 * @param preset
+	 *            true if the element was uncovered at the start of the game
+	 */
+	public CellButton(int value, boolean preset) {
+		getStyleClass().add("cell");
+		setValue(value);
+
+		this.preset = preset;
+		pseudoClassStateChanged(PRESET, preset);
+	}
+
+	/**
+	 * Getter method for the value displayed
+	 *
+	 * @return the value, 0 if the element is empty
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * Displays a new value
+	 *
+	 * @param value
+	 *            the value, 0 if the element is empty
+	 */
+	public void setValue(int value) {
+		if (this.value != value) {
+			if (this.value == 0 || value == 0) {
+				pseudoClassStateChanged(ZERO, value == 0);
+			}
+
+			this.value = value;
+			update();
+		}
+	}
+
+	/**
+	 * Displays new notes, shown while the element is empty
+	 *
+	 * @param notes
+	 *            the mask of the numbers noted (see Board)
+	 */
+	public void setNotes(int notes) {
+		if (this.notes != notes) {
+			this.notes = notes;
+			update();
+		}
+	}
+
+	/**
+	 * Displays the value, or the notes in a 3x3 square if the element is empty
+	 */
+	private void update() {
+		pseudoClassStateChanged(NOTES, value == 0 && notes != 0);
+
+		if (value != 0 || notes == 0) {
+			setText(String.valueOf(value));
+			return;
+		}
+
+		StringBuilder sb = new StringBuilder(17);
+		for (int i = 1; i <= 9; i++) {
+			sb.append((notes & 1 << (i - 1)) != 0 ? (char) ('0' + i) : BLANK);
+			if (i < 9) {
+				sb.append(i % 3 == 0 ? '\n' : ' ');
+			}
+		}
+		setText(sb.toString());
+	}
+
+	/**
+	 * Checks if the element was uncovered at the start of the game
+	 *
+	 * @return true if the element cannot be changed, false otherwise
+	 */
+	public boolean isPreset() {
+		return preset;
+	}
+
+	/**
+	 * Highlights the element as equal to the selected number
+	 *
+	 * @param number
+	 *            true to highlight the element, false otherwise
+	 */
+	public void setNumber(boolean number) {
+		if (this.number != number) {
+			this.number = number;
+			pseudoClassStateChanged(NUMBER, number);
+		}
+	}
+
+	/**
+	 * Highlights the element as part of the row or column under the mouse
+	 *
+	 * @param helper
+	 *            true to highlight the element, false otherwise
+	 */
+	public void setHelper(boolean helper) {
+		if (this.helper != helper) {
+			this.helper = helper;
+			pseudoClassStateChanged(HELPER, helper);
+		}
+	}
+
+	/**
+	 * Highlights the element as part of the last hint
+	 *
+	 * @param hint
+	 *            true to highlight the element, false otherwise
+	 */
+	public void setHint(boolean hint) {
+		if (this.hint != hint) {
+			this.hint = hint;
+			pseudoClassStateChanged(HINT, hint);
+		}
+	}
+}
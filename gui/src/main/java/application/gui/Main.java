@@ -0,0 +1,649 @@
+package application.gui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Cursor;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.image.Image;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import application.Board;
+import application.Difficulty;
+import application.EngineMetrics;
+import application.GameState;
+import application.Hint;
+import application.HintService;
+import application.Puzzle;
+import application.PuzzlePool;
+
+/**
+ * The class <b>Main</b> is a Sudoku game that can be played using a GUI
+ * provided by JavaFX.
+ * 
+ * @author Benoît
+ *
+ */
+public class Main extends Application {
+
+	/**
+	 * Number of puzzles generated in advance
+	 */
+	private static final int POOL_SIZE = 8;
+
+	/**
+	 * Choice of the difficulty taking the puzzles of the pool, whatever their
+	 * difficulty
+	 */
+	private static final String ANY = "Any";
+
+	/**
+	 * Game saved when the window is closed, and resumed at the next start
+	 */
+	private static final Path SAVE = Paths.get(System.getProperty("user.home"), ".sudoku-game");
+
+	/**
+	 * Renderer of the board, the Buttons styled by the CSS or a single Canvas
+	 * with -Dsudoku.renderer=canvas
+	 */
+	private static final String RENDERER = System.getProperty("sudoku.renderer", "buttons");
+
+	private int value = 0;
+	private long countUp = 0;
+
+	private BorderPane root;
+	private Scene scene;
+	private PuzzlePool pool;
+
+	private GameState game;
+	private HintService hints;
+	private Hint shown;
+	private BoardView board;
+	private Button[] numButtons;
+	private int hovered = -1;
+
+	private Image applicationIcon;
+	private HBox hbox;
+	private Button clear, newGame, hint, fill, undo, redo;
+	private ToggleButton notes;
+	private HBox tools;
+	private ChoiceBox<String> difficulty;
+	private GridPane num;
+
+	private Date start;
+	private Timeline timeline;
+
+	private Stage stage;
+
+	/**
+	 * Highlights the horizontal and vertical lines of a location, only the
+	 * elements of those lines are updated
+	 * 
+	 * @param pos
+	 *            the location of the element under the mouse
+	 * @param helper
+	 *            true to highlight the lines, false otherwise
+	 */
+	private void setHelper(int pos, boolean helper) {
+		for (int i = 0; i < 9; i++) {
+			board.setHelper(Board.unit(Board.row(pos), i), helper);
+			board.setHelper(Board.unit(Board.column(pos), i), helper);
+		}
+	}
+
+	/**
+	 * Highlights the elements equal to a number, only those elements are updated
+	 * 
+	 * @param num
+	 *            the number
+	 * @param number
+	 *            true to highlight the elements, false otherwise
+	 */
+	private void setNumber(int num, boolean number) {
+		for (int i = 0; i < game.count(num); i++) {
+			board.setNumber(game.position(num, i), number);
+		}
+	}
+
+	/**
+	 * Resets the game
+	 * 
+	 * @param puzzle
+	 *            the puzzle of the new game
+	 */
+	private void reset(Puzzle puzzle) {
+		// Tracks the player's moves on the new board
+		game = new GameState(puzzle);
+		hints.load(puzzle);
+		shown = null;
+		hovered = -1;
+	}
+
+	/**
+	 * Shows the notes of the neighbours of a location, the only notes changed
+	 * when a value is placed there
+	 * 
+	 * @param pos
+	 *            the location of the value placed
+	 */
+	private void setPeerNotes(int pos) {
+		for (int i = 0; i < 20; i++) {
+			int peer = Board.peer(pos, i);
+			board.setNotes(peer, game.getNotes(peer));
+		}
+	}
+
+	/**
+	 * Shows the notes of every location
+	 */
+	private void setNotes() {
+		for (int i = 0; i < 81; i++) {
+			board.setNotes(i, game.getNotes(i));
+		}
+	}
+
+	/**
+	 * Shows every location again after the board changed, by undoing, redoing or
+	 * clearing moves
+	 */
+	private void refresh() {
+		clearHint();
+		for (int i = 0; i < 81; i++) {
+			if (game.get(i) != board.getValue(i)) {
+				hints.set(i, game.get(i));
+				board.setValue(i, game.get(i));
+				board.setNumber(i, value != 0 && game.get(i) == value);
+			}
+		}
+
+		setNotes();
+		setLegend();
+	}
+
+	/**
+	 * Asks the player for a new game once the board is solved
+	 */
+	private void checkSolved() {
+		if (game.isSolved()) {
+			timeline.stop();
+
+			Alert alert = new Alert(AlertType.NONE,
+					"You just completed the sudoku board in " + countUp/1000
+							+ " seconds. Do you want to play again?",
+					ButtonType.YES, ButtonType.NO, ButtonType.CANCEL);
+			alert.showAndWait();
+
+			if (alert.getResult() == ButtonType.YES) {
+				newGame.fire();
+			} else if (alert.getResult() == ButtonType.NO) {
+				stage.close();
+			} else if (alert.getResult() == ButtonType.CANCEL) {
+				clear.fire();
+			}
+		}
+	}
+
+	/**
+	 * Removes the highlight of the last hint
+	 */
+	private void clearHint() {
+		if (shown != null) {
+			for (int i : shown.getCells()) {
+				board.setHint(i, false);
+			}
+			for (int i : shown.getTargets()) {
+				board.setHint(i, false);
+			}
+			shown = null;
+		}
+	}
+
+	/**
+	 * Places the selected number at a location clicked, or notes it in notes mode
+	 * 
+	 * @param pos
+	 *            the location of the element clicked
+	 */
+	private void play(int pos) {
+		if (value != 0 && notes.isSelected() && game.get(pos) == 0) {
+			game.toggleNote(pos, value);
+			board.setNotes(pos, game.getNotes(pos));
+		} else if (value != 0) {
+			if (game.get(pos) == value) {
+				game.play(pos, 0, elapsed());
+				hints.set(pos, 0);
+				board.setValue(pos, 0);
+				board.setNumber(pos, false);
+			} else {
+				game.play(pos, value, elapsed());
+				hints.set(pos, value);
+				board.setValue(pos, value);
+				board.setNotes(pos, 0);
+				board.setNumber(pos, true);
+				setPeerNotes(pos);
+			}
+			clearHint();
+
+			setLegend(value);
+		}
+
+		// Checks if the game is done
+		checkSolved();
+	}
+
+	/**
+	 * Sets up the legend state by checking if any of the number has nine or more
+	 * appearance in the player's Sudoku board
+	 */
+	private void setLegend() {
+		for (int i = 1; i < 10; i++) {
+			setLegend(i);
+		}
+	}
+
+	/**
+	 * Sets up the state of a number of the legend from the number of its
+	 * appearance in the player's Sudoku board, kept by the GameState
+	 * 
+	 * @param i
+	 *            the number of the legend
+	 */
+	private void setLegend(int i) {
+		String id;
+		if (game.count(i) >= 9) {
+			id = "legendFull";
+		} else if (i != value) {
+			id = "";
+		} else {
+			id = "legend";
+		}
+
+		if (!id.equals(numButtons[i - 1].getId())) {
+			numButtons[i - 1].setId(id);
+		}
+	}
+
+	/**
+	 * Counts the time elapsed in seconds from the start of the game, from 0 to
+	 * infinite and display that number in the title bard
+	 * 
+	 * @param elapsed
+	 *            the time already played, in milliseconds, for a resumed game
+	 */
+	private void startTimer(long elapsed) {
+		start = new Date(Calendar.getInstance().getTime().getTime() - elapsed);
+		countUp = elapsed;
+		timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
+			countUp = elapsed();
+			stage.setTitle(
+					"Sudoku - Time: " + String.valueOf(TimeUnit.SECONDS.convert(countUp, TimeUnit.MILLISECONDS)));
+		}));
+
+		timeline.setCycleCount(Animation.INDEFINITE);
+		timeline.play();
+	}
+
+	/**
+	 * Returns the time elapsed from the start of the game
+	 * 
+	 * @return the time in milliseconds
+	 */
+	private long elapsed() {
+		return Calendar.getInstance().getTime().getTime() - start.getTime();
+	}
+
+	/**
+	 * Reports a failure to the player
+	 * 
+	 * @param message
+	 *            what failed
+	 * @param error
+	 *            the cause of the failure, unwrapped if it completed a future
+	 * @return the alert shown
+	 */
+	private static Alert showError(String message, Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+				: error;
+
+		Alert alert = new Alert(AlertType.ERROR, message + ": " + cause);
+		alert.setHeaderText(null);
+		alert.show();
+		return alert;
+	}
+
+	/**
+	 * Starts a new game with the specified puzzle
+	 * 
+	 * @param puzzle
+	 *            the puzzle of the new game
+	 */
+	private void newGame(Puzzle puzzle) {
+		reset(puzzle);
+		board.load(game);
+		startTimer(0);
+		setLegend();
+	}
+
+	@Override
+	public void start(Stage primaryStage) {
+		// Creates a reference to the primaryStage to be
+		// able to manipulate it in other methods
+		stage = primaryStage;
+
+		// Clear button
+		clear = new Button("Clear");
+		clear.setOnAction(e -> {
+			game.clear(elapsed());
+			hints.load(game.getPuzzle());
+			refresh();
+		});
+
+		// Undo and redo buttons, a clear is undone at once
+		undo = new Button("Undo");
+		undo.setOnAction(e -> {
+			if (game.undo()) {
+				refresh();
+			}
+		});
+
+		redo = new Button("Redo");
+		redo.setOnAction(e -> {
+			if (game.redo()) {
+				refresh();
+				checkSolved();
+			}
+		});
+
+		// Notes mode, the selected number is noted in the empty elements clicked
+		notes = new ToggleButton("Notes");
+
+		// Notes every candidate of every empty element
+		fill = new Button("Fill notes");
+		fill.setOnAction(e -> {
+			game.fillNotes();
+			setNotes();
+		});
+
+		// New game button
+		newGame = new Button("New Game");
+		newGame.setOnAction(e -> {
+			if (value != 0) {
+				numButtons[value - 1].setId("");
+				value = 0;
+			}
+			timeline.stop();
+			stage.setTitle("Sudoku - Time: 0");
+
+			// Takes a ready puzzle, or waits for one generated in the background
+			Puzzle puzzle = difficulty.getValue().equals(ANY) ? pool.poll() : null;
+			if (puzzle != null) {
+				newGame(puzzle);
+			} else {
+				newGame.setDisable(true);
+				(difficulty.getValue().equals(ANY) ? pool.generateAsync()
+						: pool.generateAsync(Difficulty.parse(difficulty.getValue())))
+								.whenComplete((p, error) -> Platform.runLater(() -> {
+									newGame.setDisable(false);
+									if (error == null) {
+										newGame(p);
+									} else {
+										// The current game goes on
+										if (!game.isSolved()) {
+											startTimer(countUp);
+										}
+										showError("Cannot generate a new game", error);
+									}
+								}));
+			}
+		});
+
+		// Hint button, shows the next logical step and highlights its elements
+		hint = new Button("Hint");
+		hint.setOnAction(e -> {
+			clearHint();
+			shown = hints.hint();
+
+			Alert alert;
+			if (shown == null) {
+				alert = new Alert(AlertType.INFORMATION, game.isSolved() ? "The board is solved."
+						: "No hint: the next step needs more than the solving techniques.");
+			} else {
+				for (int i : shown.getCells()) {
+					board.setHint(i, true);
+				}
+				for (int i : shown.getTargets()) {
+					board.setHint(i, true);
+				}
+				alert = new Alert(AlertType.INFORMATION, shown.toString());
+			}
+			alert.setHeaderText(null);
+			alert.show();
+		});
+
+		// Difficulty of the new games
+		difficulty = new ChoiceBox<>();
+		difficulty.getItems().add(ANY);
+		for (Difficulty level : Difficulty.values()) {
+			difficulty.getItems().add(level.getName());
+		}
+		difficulty.setValue(ANY);
+
+		// Layout of the board
+		board = RENDERER.equals("canvas") ? new CanvasBoard() : new ButtonBoard();
+		board.setOnCellAction(this::play);
+
+		board.setOnCellEntered(pos -> {
+			if (!game.isSolved() && value != 0) {
+				setHelper(pos, true);
+				hovered = pos;
+				if (game.get(pos) == 0) {
+					scene.setCursor(Cursor.HAND);
+				}
+			}
+		});
+
+		board.setOnCellExited(pos -> {
+			if (hovered == pos) {
+				setHelper(pos, false);
+				hovered = -1;
+				scene.setCursor(Cursor.DEFAULT);
+			}
+		});
+
+		// Layout of the nine numbers at the bottom (legend)
+		num = new GridPane();
+		num.setHgap(2);
+		num.setPadding(new Insets(0, 0, 8, 0));
+		num.setAlignment(Pos.CENTER);
+
+		// Layout of the top buttons and of the difficulty
+		hbox = new HBox();
+		hbox.setSpacing(10);
+		hbox.setPadding(new Insets(16, 0, 0, 0));
+		hbox.setAlignment(Pos.CENTER);
+		hbox.getChildren().addAll(newGame, clear, hint, difficulty);
+
+		// Layout of the notes buttons, under the legend
+		tools = new HBox();
+		tools.setSpacing(10);
+		tools.setPadding(new Insets(0, 0, 16, 0));
+		tools.setAlignment(Pos.CENTER);
+		tools.getChildren().addAll(undo, redo, notes, fill);
+
+		// Main layout of the Game
+		root = new BorderPane();
+		root.setTop(hbox);
+		root.setCenter(board.getNode());
+		root.setBottom(new VBox(num, tools));
+
+		// Starts generating puzzles in the background, the metrics of the engine
+		// being shown in JConsole
+		EngineMetrics.registerMBean();
+		pool = new PuzzlePool(POOL_SIZE);
+
+		// Application icon
+		applicationIcon = new Image(Main.class.getResourceAsStream("/sudoku.png"));
+		primaryStage.getIcons().add(applicationIcon);
+
+		numButtons = new Button[9];
+
+		// Sets up the legend (nine numbers at the bottom)
+		for (int i = 0; i < 9; i++) {
+			numButtons[i] = new Button();
+			numButtons[i].setText(String.valueOf(i + 1));
+			num.add(numButtons[i], i, 0);
+
+			final int lo = i + 1;
+
+			// Only the elements equal to the previous and new numbers are updated
+			numButtons[i].setOnAction(e -> {
+				int previous = value;
+
+				if (previous != 0) {
+					setNumber(previous, false);
+				}
+
+				value = previous == lo ? 0 : lo;
+
+				if (value != 0) {
+					setNumber(value, true);
+				}
+
+				if (previous != 0 && previous != lo) {
+					setLegend(previous);
+				}
+				setLegend(lo);
+			});
+
+			numButtons[i].setOnMouseEntered(e -> {
+				scene.setCursor(Cursor.HAND);
+			});
+
+			numButtons[i].setOnMouseExited(e -> {
+				scene.setCursor(Cursor.DEFAULT);
+			});
+		}
+
+		// Sets the scene to the BorderPane layout and links the CSS file
+		scene = new Scene(root, 420, 510);
+		scene.getStylesheets().add(Main.class.getResource("/application.css").toExternalForm());
+
+		// Sets the stage, sets its title, displays it, and restricts its minimal size
+		primaryStage.setScene(scene);
+		primaryStage.setTitle("Sudoku - Time: 0");
+		primaryStage.show();
+		primaryStage.setMinHeight(primaryStage.getHeight());
+		primaryStage.setMinWidth(primaryStage.getWidth());
+
+		// Resumes the saved game, or waits for the first puzzle generated in the
+		// background without blocking the window
+		game = resume();
+		if (game != null) {
+			load(game.getPuzzle());
+		} else {
+			root.setDisable(true);
+			pool.generateAsync().whenComplete((p, error) -> Platform.runLater(() -> {
+				if (error == null) {
+					load(p);
+				} else {
+					showError("Cannot generate the first game", error).setOnHidden(e -> Platform.exit());
+				}
+			}));
+		}
+	}
+
+	/**
+	 * Starts the game resumed or the first game, once its puzzle is ready
+	 * 
+	 * @param puzzle
+	 *            the puzzle played
+	 */
+	private void load(Puzzle puzzle) {
+		// Tracks the player's moves on the board, and the candidates of the hints
+		if (game == null) {
+			game = new GameState(puzzle);
+		}
+		hints = new HintService(puzzle);
+		for (int i = 0; i < 81; i++) {
+			if (!game.isGiven(i) && game.get(i) != 0) {
+				hints.set(i, game.get(i));
+			}
+		}
+
+		// Starts the timer, from the time of the saved game
+		startTimer(game.getElapsed());
+
+		// Displays the board and sets up the state of the legend (nine numbers at
+		// the bottom) according to the player's Sudoku board
+		board.load(game);
+		setLegend();
+		root.setDisable(false);
+	}
+
+	/**
+	 * Loads the game saved when the window was last closed
+	 * 
+	 * @return the saved game, null if there is none
+	 */
+	private GameState resume() {
+		if (Files.exists(SAVE)) {
+			try {
+				return GameState.load(SAVE);
+			} catch (IOException e) {
+				System.err.println("Cannot resume the saved game: " + e.getMessage());
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void stop() {
+		pool.shutdown();
+
+		// Saves the game being played, to resume it at the next start, if the first
+		// puzzle was ready
+		if (game == null) {
+			return;
+		}
+		try {
+			if (game.isSolved()) {
+				Files.deleteIfExists(SAVE);
+			} else {
+				game.save(SAVE, elapsed());
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot save the game: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Main method for the Sudoku game
+	 */
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
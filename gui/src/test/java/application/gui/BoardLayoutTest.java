@@ -0,0 +1,50 @@
+package application.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the geometry and of the hit-testing of the BoardLayout.
+ *
+ * @author Benoît
+ *
+ */
+class BoardLayoutTest {
+
+	@Test
+	void linesAndGapsSeparateTheElements() {
+		assertEquals(0, BoardLayout.offset(0));
+		assertEquals(BoardLayout.CELL + BoardLayout.LINE, BoardLayout.offset(1));
+		assertEquals(3 * BoardLayout.CELL + 2 * BoardLayout.LINE + BoardLayout.GAP, BoardLayout.offset(3));
+		assertEquals(BoardLayout.SIZE, BoardLayout.offset(8) + BoardLayout.CELL);
+		assertEquals(352, BoardLayout.SIZE);
+	}
+
+	@Test
+	void everyElementIsHitAtItsCorners() {
+		for (int pos = 0; pos < 81; pos++) {
+			double x = BoardLayout.offset(pos % 9), y = BoardLayout.offset(pos / 9);
+
+			assertEquals(pos, BoardLayout.cellAt(x, y));
+			assertEquals(pos, BoardLayout.cellAt(x + BoardLayout.CELL / 2, y + BoardLayout.CELL / 2));
+			assertEquals(pos, BoardLayout.cellAt(x + BoardLayout.CELL - 0.01, y + BoardLayout.CELL - 0.01));
+		}
+	}
+
+	@Test
+	void positionsBetweenElementsHitNothing() {
+		double inside = BoardLayout.CELL / 2;
+
+		// The line after the first element, the gap after the third one
+		assertEquals(-1, BoardLayout.line(BoardLayout.CELL));
+		assertEquals(-1, BoardLayout.line(BoardLayout.offset(2) + BoardLayout.CELL + BoardLayout.GAP / 2));
+		assertEquals(-1, BoardLayout.cellAt(BoardLayout.CELL + BoardLayout.LINE / 2, inside));
+		assertEquals(-1, BoardLayout.cellAt(inside, BoardLayout.offset(3) - 1));
+
+		// Outside of the board
+		assertEquals(-1, BoardLayout.line(-1));
+		assertEquals(-1, BoardLayout.line(BoardLayout.SIZE));
+		assertEquals(-1, BoardLayout.cellAt(BoardLayout.SIZE + 5, inside));
+	}
+}